@@ -26,18 +26,20 @@ package blue.endless.jankson.api;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import javax.annotation.Nullable;
 
 import blue.endless.jankson.api.document.ObjectElement;
 import blue.endless.jankson.api.document.ValueElement;
 import blue.endless.jankson.api.io.ObjectReaderFactory;
 import blue.endless.jankson.api.io.ObjectWriter;
+import blue.endless.jankson.api.io.Projection;
 import blue.endless.jankson.api.io.StructuredDataReader;
 import blue.endless.jankson.api.io.ValueElementWriter;
 import blue.endless.jankson.api.io.json.JsonReader;
@@ -47,6 +49,23 @@ import blue.endless.jankson.api.io.json.JsonWriterOptions;
 
 
 public class Jankson {
+	/**
+	 * The options used for reading json into objects when none are specified.
+	 */
+	private static final JsonReaderOptions.Access OBJECT_DEFAULTS = JsonReaderOptions.builder().setDiscardFormatting(true).build();
+	
+	/*
+	 * Each thread keeps a spare JsonReader and JsonWriter, so that reading and writing lots of small documents doesn't
+	 * allocate new buffers for each one. A spare is taken out while it's in use, so nested calls, and calls with
+	 * different options, just create a new one.
+	 * 
+	 * The reader's code point window alone is about 32 KB, and it stays reachable for as long as the thread lives.
+	 * Threads which only read json once in a while can give it back with releaseThreadBuffers().
+	 */
+	private static final ThreadLocal<JsonReader> SPARE_READER = new ThreadLocal<>();
+	private static final ThreadLocal<JsonWriter> SPARE_WRITER = new ThreadLocal<>();
+	private static final Reader DETACHED_READER = Reader.nullReader();
+	private static final Writer DETACHED_WRITER = Writer.nullWriter();
 	
 	/**
 	 * Reads in json data from a String using the settings provided.
@@ -57,10 +76,14 @@ public class Jankson {
 	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
 	 */
 	public static ValueElement readJson(String s, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
-		JsonReader reader = new JsonReader(new StringReader(s), opts);
-		ValueElementWriter writer = new ValueElementWriter();
-		reader.transferTo(writer);
-		return writer.getResult();
+		JsonReader reader = takeReader(s, opts);
+		try {
+			ValueElementWriter writer = new ValueElementWriter();
+			reader.transferTo(writer);
+			return writer.getResult();
+		} finally {
+			returnReader(reader);
+		}
 	}
 	
 	/**
@@ -73,10 +96,14 @@ public class Jankson {
 	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
 	 */
 	public static ValueElement readJson(Reader r, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
-		JsonReader reader = new JsonReader(r, opts);
-		ValueElementWriter writer = new ValueElementWriter();
-		reader.transferTo(writer);
-		return writer.getResult();
+		JsonReader reader = takeReader(r, opts);
+		try {
+			ValueElementWriter writer = new ValueElementWriter();
+			reader.transferTo(writer);
+			return writer.getResult();
+		} finally {
+			returnReader(reader);
+		}
 	}
 	
 	/**
@@ -90,12 +117,61 @@ public class Jankson {
 	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
 	 */
 	public static ValueElement readJson(InputStream in, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
-		JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8), opts);
+		JsonReader reader = new JsonReader(in, opts);
+		ValueElementWriter writer = new ValueElementWriter();
+		reader.transferTo(writer);
+		return writer.getResult();
+	}
+	
+	/**
+	 * Reads in UTF-8 json data from a byte array, using the settings provided. The bytes are decoded directly, without
+	 * first being copied into a String.
+	 * @param data the UTF-8 encoded json document
+	 * @param opts hints and settings to control the reading process
+	 * @return     a ValueElement representing the document root
+	 * @throws IOException if there was a problem reading the data. This should almost never happen
+	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
+	 */
+	public static ValueElement readJson(byte[] data, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
+		JsonReader reader = new JsonReader(data, opts);
+		ValueElementWriter writer = new ValueElementWriter();
+		reader.transferTo(writer);
+		return writer.getResult();
+	}
+	
+	/**
+	 * Reads in UTF-8 json data from the remaining bytes of a ByteBuffer, using the settings provided. Both heap and direct
+	 * buffers are decoded in place; the buffer's position is not changed.
+	 * @param data a ByteBuffer holding the UTF-8 encoded json document
+	 * @param opts hints and settings to control the reading process
+	 * @return     a ValueElement representing the document root
+	 * @throws IOException if there was a problem reading the data. This should almost never happen
+	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
+	 */
+	public static ValueElement readJson(ByteBuffer data, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
+		JsonReader reader = new JsonReader(data, opts);
 		ValueElementWriter writer = new ValueElementWriter();
 		reader.transferTo(writer);
 		return writer.getResult();
 	}
 	
+	/**
+	 * Reads in a UTF-8 json file using the settings provided. The file is memory-mapped and decoded in place rather
+	 * than being read onto the heap, which makes this the preferred way to load large documents from disk.
+	 * @param path the json file to read
+	 * @param opts hints and settings to control the reading process
+	 * @return     a ValueElement representing the document root
+	 * @throws IOException if the file could not be opened or mapped
+	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document
+	 */
+	public static ValueElement readJson(Path path, JsonReaderOptions.Access opts) throws IOException, SyntaxError {
+		try (JsonReader reader = new JsonReader(path, opts)) {
+			ValueElementWriter writer = new ValueElementWriter();
+			reader.transferTo(writer);
+			return writer.getResult();
+		}
+	}
+	
 	/**
 	 * Reads in json data from a String using the default settings.
 	 * @see #readJson(String, JsonReaderOptions.Access)
@@ -120,6 +196,30 @@ public class Jankson {
 		return readJson(in, JsonReaderOptions.UNSPECIFIED);
 	}
 	
+	/**
+	 * Reads in UTF-8 json data from a byte array, using the default settings.
+	 * @see #readJson(byte[], JsonReaderOptions.Access)
+	 */
+	public static ValueElement readJson(byte[] data) throws IOException, SyntaxError {
+		return readJson(data, JsonReaderOptions.UNSPECIFIED);
+	}
+	
+	/**
+	 * Reads in UTF-8 json data from a ByteBuffer, using the default settings.
+	 * @see #readJson(ByteBuffer, JsonReaderOptions.Access)
+	 */
+	public static ValueElement readJson(ByteBuffer data) throws IOException, SyntaxError {
+		return readJson(data, JsonReaderOptions.UNSPECIFIED);
+	}
+	
+	/**
+	 * Reads in a UTF-8 json file, using the default settings.
+	 * @see #readJson(Path, JsonReaderOptions.Access)
+	 */
+	public static ValueElement readJson(Path path) throws IOException, SyntaxError {
+		return readJson(path, JsonReaderOptions.UNSPECIFIED);
+	}
+	
 	/**
 	 * Reads in a json object from a String using the settings provided.
 	 * @param s    the String to interpret as json
@@ -174,6 +274,49 @@ public class Jankson {
 		}
 	}
 	
+	/**
+	 * Reads in only the parts of a json object which are selected by a Projection. Everything else in the document is
+	 * skipped over without being decoded, so memory use depends on the size of the selection rather than the size of
+	 * the document. The Reader will be read all the way to the end of the stream, but will not be closed.
+	 * @param r          the Reader that is reading json character data
+	 * @param opts       hints and settings to control the reading process
+	 * @param projection the paths to keep
+	 * @return           a sparse ObjectElement containing only the selected values and the objects and arrays that lead to them
+	 * @throws IOException if there was a problem reading the data
+	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document, or if the value is not a json Object element.
+	 */
+	public static ObjectElement readJson(Reader r, JsonReaderOptions.Access opts, Projection projection) throws IOException, SyntaxError {
+		return readProjected(new JsonReader(r, opts), projection);
+	}
+	
+	/**
+	 * Reads in only the parts of a UTF-8 json file which are selected by a Projection. The file is memory-mapped, and
+	 * everything outside the selection is skipped over without being decoded.
+	 * @param path       the json file to read
+	 * @param opts       hints and settings to control the reading process
+	 * @param projection the paths to keep
+	 * @return           a sparse ObjectElement containing only the selected values and the objects and arrays that lead to them
+	 * @throws IOException if the file could not be opened or mapped
+	 * @throws SyntaxError if there was a problem with the syntax or structure of the json document, or if the value is not a json Object element.
+	 * @see #readJson(Reader, JsonReaderOptions.Access, Projection)
+	 */
+	public static ObjectElement readJson(Path path, JsonReaderOptions.Access opts, Projection projection) throws IOException, SyntaxError {
+		try (JsonReader reader = new JsonReader(path, opts)) {
+			return readProjected(reader, projection);
+		}
+	}
+	
+	private static ObjectElement readProjected(StructuredDataReader reader, Projection projection) throws IOException, SyntaxError {
+		ValueElementWriter writer = new ValueElementWriter();
+		projection.apply(reader).transferTo(writer);
+		ValueElement elem = writer.getResult();
+		if (elem instanceof ObjectElement obj) {
+			return obj;
+		} else {
+			throw new SyntaxError("Object expected, but found "+((elem == null) ? "nothing" : elem.getClass().getSimpleName()));
+		}
+	}
+	
 	/**
 	 * Reads in a json object from a String using the default settings.
 	 * @see #readJsonObject(String, JsonReaderOptions.Access)
@@ -203,17 +346,24 @@ public class Jankson {
 	 * cast to T and returned, so it's best if T==type.
 	 * @param <T> the type of object to produce
 	 * @param r a Reader supplying json character data
-	 * @param opts hints and settings to control the reading process
+	 * @param opts hints and settings to control the reading process. If these are equal to
+	 *             {@link JsonReaderOptions#UNSPECIFIED}, comments and formatting are discarded as they're read, since the
+	 *             object has nowhere to keep them.
 	 * @param type the type of object to produce
 	 * @return an object of type Type, cast to T, carrying the data represented in the json input
 	 * @throws IOException if there was a problem reading in data
 	 * @throws SyntaxError if there was a problem with the json data, or if there was a problem creating the object
 	 */
 	public static <T> T readJson(Reader r, JsonReaderOptions.Access opts, Type type) throws IOException, SyntaxError {
-		JsonReader reader = new JsonReader(r);
-		ObjectWriter<T> writer = new ObjectWriter<>(type);
-		reader.transferTo(writer);
-		return writer.toObject();
+		if (opts.equals(JsonReaderOptions.UNSPECIFIED)) opts = OBJECT_DEFAULTS;
+		JsonReader reader = takeReader(r, opts);
+		try {
+			ObjectWriter<T> writer = new ObjectWriter<>(type);
+			reader.transferTo(writer);
+			return writer.toObject();
+		} finally {
+			returnReader(reader);
+		}
 	}
 	
 	/**
@@ -222,7 +372,9 @@ public class Jankson {
 	 * 
 	 * @param <T> The type of object to produce
 	 * @param r a Reader supplying json character data
-	 * @param opts hints and settings to control the reading process
+	 * @param opts hints and settings to control the reading process. If these are equal to
+	 *             {@link JsonReaderOptions#UNSPECIFIED}, comments and formatting are discarded as they're read, since the
+	 *             object has nowhere to keep them.
 	 * @param clazz the Class of the object to produce
 	 * @return an object of the specified Class, configured with the data represented in the json input
 	 * @throws IOException if there was a problem reading in data
@@ -232,10 +384,7 @@ public class Jankson {
 	 * @see #writeJson(Object, Writer)
 	 */
 	public static <T> T readJson(Reader r, JsonReaderOptions.Access opts, Class<T> clazz) throws IOException, SyntaxError {
-		JsonReader reader = new JsonReader(r);
-		ObjectWriter<T> writer = new ObjectWriter<>(clazz);
-		reader.transferTo(writer);
-		return writer.toObject();
+		return readJson(r, opts, (Type) clazz);
 	}
 	
 	public static void writeJson(Object obj, Writer writer) throws SyntaxError, IOException {
@@ -244,36 +393,91 @@ public class Jankson {
 	
 	public static void writeJson(Object obj, ObjectReaderFactory factory, Writer writer, JsonWriterOptions.Access options) throws SyntaxError, IOException {
 		StructuredDataReader r = factory.getReader(obj);
-		JsonWriter w = new JsonWriter(writer, options);
-		r.transferTo(w);
+		JsonWriter w = takeWriter(writer, options);
+		try {
+			r.transferTo(w);
+		} finally {
+			returnWriter(w);
+		}
 		writer.flush();
 	}
 	
 	public static String writeJsonString(Object obj, ObjectReaderFactory factory, JsonWriterOptions.Access options) throws SyntaxError, IOException {
 		try(StringWriter sw = new StringWriter()) {
-			StructuredDataReader r = factory.getReader(obj);
-			JsonWriter w = new JsonWriter(sw, options);
-			r.transferTo(w);
-			sw.flush();
+			writeJson(obj, factory, sw, options);
 			return sw.toString();
 		}
 	}
 	
 	public static void writeJson(ValueElement elem, Writer writer) throws SyntaxError, IOException {
-		JsonWriter out = new JsonWriter(writer);
-		elem.write(out);
+		writeJson(elem, writer, JsonWriterOptions.DEFAULTS);
 	}
 
 	public static void writeJson(ValueElement elem, Writer writer, JsonWriterOptions.Access options) throws SyntaxError, IOException {
-		JsonWriter out = new JsonWriter(writer, options);
-		elem.write(out);
+		JsonWriter out = takeWriter(writer, options);
+		try {
+			elem.write(out);
+		} finally {
+			returnWriter(out);
+		}
 	}
 	
 	public static String toJsonString(ValueElement elem, JsonWriterOptions.Access options) throws SyntaxError, IOException {
 		try(StringWriter sw = new StringWriter()) {
-			JsonWriter out = new JsonWriter(sw, options);
-			elem.write(out);
+			writeJson(elem, sw, options);
 			return sw.toString();
 		}
 	}
+	
+	/**
+	 * Drops the JsonReader and JsonWriter that the static read and write methods keep around for the current thread.
+	 * Each thread which has used them holds on to roughly 32 KB of buffers, so long-lived threads in a large pool which
+	 * rarely touch json may want to call this when they're done. The next call on this thread just creates new ones.
+	 */
+	public static void releaseThreadBuffers() {
+		SPARE_READER.remove();
+		SPARE_WRITER.remove();
+	}
+	
+	/**
+	 * Gets a JsonReader for s, reusing this thread's spare if it has matching options. Readers obtained this way should
+	 * be handed back to {@link #returnReader(JsonReader)} afterwards.
+	 */
+	private static JsonReader takeReader(String s, JsonReaderOptions.Access opts) {
+		JsonReader reader = takeSpareReader(opts);
+		return (reader == null) ? new JsonReader(s, opts) : reader.reset(s);
+	}
+	
+	/**
+	 * Gets a JsonReader for r, reusing this thread's spare if it has matching options.
+	 * @see #takeReader(String, JsonReaderOptions.Access)
+	 */
+	private static JsonReader takeReader(Reader r, JsonReaderOptions.Access opts) {
+		JsonReader reader = takeSpareReader(opts);
+		return (reader == null) ? new JsonReader(r, opts) : reader.reset(r);
+	}
+	
+	private static @Nullable JsonReader takeSpareReader(JsonReaderOptions.Access opts) {
+		JsonReader reader = SPARE_READER.get();
+		if (reader == null || !reader.getOptions().equals(opts)) return null;
+		SPARE_READER.set(null);
+		return reader;
+	}
+	
+	private static void returnReader(JsonReader reader) {
+		reader.reset(DETACHED_READER); // Don't hold on to the document
+		SPARE_READER.set(reader);
+	}
+	
+	private static JsonWriter takeWriter(Writer writer, JsonWriterOptions.Access options) {
+		JsonWriter out = SPARE_WRITER.get();
+		if (out == null || !out.getOptions().equals(options)) return new JsonWriter(writer, options);
+		SPARE_WRITER.set(null);
+		return out.reset(writer);
+	}
+	
+	private static void returnWriter(JsonWriter out) {
+		out.reset(DETACHED_WRITER);
+		SPARE_WRITER.set(out);
+	}
 }
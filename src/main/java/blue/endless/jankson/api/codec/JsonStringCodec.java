@@ -88,7 +88,8 @@ public class JsonStringCodec implements StructuredDataCodec {
 			if (!data.type().isSemantic()) return;
 			if (!data.isPrimitive()) throw new SyntaxError("Required: String, found "+data.type());
 			
-			result = (data.value() instanceof String str) ? str : data.value().toString();
+			Object value = data.value();
+			result = (value instanceof String str) ? str : String.valueOf(value);
 		}
 
 		@Override
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.api.document;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataWriter;
+
+/**
+ * A number which was written out too large or too precise for a long or a double, held exactly as a BigInteger or a
+ * BigDecimal. Unlike {@link PrimitiveElement#of(BigInteger)}, which stores its value as a String, this element is
+ * written back out as a bare number.
+ */
+public final class BigNumberElement extends PrimitiveElement {
+	private final Number value;
+	
+	public BigNumberElement(BigInteger value) {
+		if (value==null) throw new IllegalArgumentException();
+		this.value = value;
+	}
+	
+	public BigNumberElement(BigDecimal value) {
+		if (value==null) throw new IllegalArgumentException();
+		this.value = value;
+	}
+	
+	@Override
+	public BigNumberElement copy() {
+		BigNumberElement result = (value instanceof BigInteger v) ? new BigNumberElement(v) : new BigNumberElement((BigDecimal) value);
+		result.copyNonValueElementsFrom(this);
+		return result;
+	}
+
+	@Override
+	public void write(StructuredDataWriter writer) throws SyntaxError, IOException {
+		writeFormatted(writer, StructuredData.primitive(this));
+	}
+
+	/**
+	 * Gets the exact value, which is either a BigInteger or a BigDecimal.
+	 */
+	@Override
+	public Optional<Object> getValue() {
+		return Optional.of(value);
+	}
+
+	@Override
+	public Optional<String> asString() {
+		return Optional.of(value.toString());
+	}
+
+	@Override
+	public Optional<Boolean> asBoolean() {
+		return Optional.empty();
+	}
+
+	@Override
+	public OptionalDouble asDouble() {
+		return OptionalDouble.of(value.doubleValue());
+	}
+
+	@Override
+	public OptionalLong asLong() {
+		try {
+			return OptionalLong.of((value instanceof BigInteger v) ? v.longValueExact() : ((BigDecimal) value).longValueExact());
+		} catch (ArithmeticException ex) {
+			return OptionalLong.empty();
+		}
+	}
+
+	@Override
+	public OptionalInt asInt() {
+		try {
+			return OptionalInt.of((value instanceof BigInteger v) ? v.intValueExact() : ((BigDecimal) value).intValueExact());
+		} catch (ArithmeticException ex) {
+			return OptionalInt.empty();
+		}
+	}
+	
+	@Override
+	public boolean orElse(boolean value) {
+		return signum() != 0;
+	}
+	
+	@Override
+	public double orElse(double value) {
+		return this.value.doubleValue();
+	}
+	
+	@Override
+	public long orElse(long value) {
+		return asLong().orElse(value);
+	}
+	
+	@Override
+	public String orElse(String value) {
+		return this.value.toString();
+	}
+	
+	@Override
+	public Optional<BigInteger> asBigInteger() {
+		if (value instanceof BigInteger v) return Optional.of(v);
+		
+		try {
+			return Optional.of(((BigDecimal) value).toBigIntegerExact());
+		} catch (ArithmeticException ex) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public Optional<BigDecimal> asBigDecimal() {
+		if (value instanceof BigInteger v) return Optional.of(new BigDecimal(v));
+		return Optional.of((BigDecimal) value);
+	}
+	
+	private int signum() {
+		return (value instanceof BigInteger v) ? v.signum() : ((BigDecimal) value).signum();
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof BigNumberElement v) {
+			return super.equals(obj) && v.value.equals(this.value);
+		} else {
+			return false;
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return value.toString();
+	}
+}
@@ -37,35 +37,50 @@ import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.io.StructuredData;
 import blue.endless.jankson.api.io.StructuredDataWriter;
 
-public final class DoubleElement extends PrimitiveElement {
-	private final double value;
+public sealed class DoubleElement extends PrimitiveElement {
+	private double value;
 	
 	public DoubleElement(double value) {
 		this.value = value;
 	}
 	
+	/**
+	 * Creates a DoubleElement for a decimal number literal in some retained source text, which isn't converted until its
+	 * value is first asked for. Only the position of the literal is kept, so the source must not change.
+	 * @param source the text holding the literal
+	 * @param start  the index of the first character of the literal
+	 * @param end    the index just past the end of the literal, which must be a plain decimal number (digits, then a
+	 *               fraction and/or exponent) that's well inside the range of a double
+	 */
+	public static DoubleElement lazy(CharSequence source, int start, int end) {
+		if (source==null) throw new IllegalArgumentException();
+		return new Span(source, start, end);
+	}
+	
+	double value() {
+		return value;
+	}
+	
 	@Override
 	public DoubleElement copy() {
-		DoubleElement result = new DoubleElement(value);
+		DoubleElement result = new DoubleElement(value());
 		result.copyNonValueElementsFrom(this);
 		return result;
 	}
 
 	@Override
 	public void write(StructuredDataWriter writer) throws SyntaxError, IOException {
-		for(NonValueElement elem : prologue) elem.write(writer);
-		writer.write(StructuredData.primitive(this));
-		for(NonValueElement elem : epilogue) elem.write(writer);
+		writeFormatted(writer, StructuredData.primitive(this));
 	}
 
 	@Override
 	public Optional<Object> getValue() {
-		return Optional.of(value);
+		return Optional.of(value());
 	}
 
 	@Override
 	public Optional<String> asString() {
-		return Optional.of(Double.toString(value));
+		return Optional.of(Double.toString(value()));
 	}
 
 	@Override
@@ -75,13 +90,13 @@ public final class DoubleElement extends PrimitiveElement {
 
 	@Override
 	public OptionalDouble asDouble() {
-		return OptionalDouble.of(value);
+		return OptionalDouble.of(value());
 	}
 
 	@Override
 	public OptionalLong asLong() {
-		long result = (long) value;
-		if (((double) result) == value) return OptionalLong.of(result);
+		long result = (long) value();
+		if (((double) result) == value()) return OptionalLong.of(result);
 		
 		return OptionalLong.empty();
 	}
@@ -95,8 +110,8 @@ public final class DoubleElement extends PrimitiveElement {
 		 * it as an integer as desired. If there is any uncertainty, we must accurately report that there
 		 * is no integer here.
 		 */
-		int result = (int) value;
-		if (((double) result) == value) return OptionalInt.of(result);
+		int result = (int) value();
+		if (((double) result) == value()) return OptionalInt.of(result);
 		
 		return OptionalInt.empty();
 	}
@@ -108,39 +123,41 @@ public final class DoubleElement extends PrimitiveElement {
 
 	@Override
 	public Optional<BigDecimal> asBigDecimal() {
-		return Optional.of(BigDecimal.valueOf(value));
+		// BigDecimal has no way to represent Infinity or NaN
+		if (!Double.isFinite(value())) return Optional.empty();
+		return Optional.of(BigDecimal.valueOf(value()));
 	}
 	
 	@Override
 	public boolean orElse(boolean value) {
-		return Double.doubleToLongBits(this.value) != 0L;
+		return Double.doubleToLongBits(value()) != 0L;
 	}
 	
 	@Override
 	public double orElse(double value) {
-		return this.value;
+		return value();
 	}
 	
 	@Override
 	public long orElse(long value) {
-		long result = (long) this.value;
-		if (result == this.value) return result;
+		long result = (long) value();
+		if (result == value()) return result;
 		return value;
 	}
 	
 	@Override
 	public String orElse(String value) {
-		return Double.toString(this.value);
+		return Double.toString(value());
 	}
 	
 	public <T> Optional<T> mapAsDouble(DoubleFunction<T> d) {
-		return Optional.of(d.apply(value));
+		return Optional.of(d.apply(value()));
 	}
 	
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof DoubleElement v) {
-			return super.equals(obj) && v.value == this.value;
+			return super.equals(obj) && v.value() == this.value();
 		} else {
 			return false;
 		}
@@ -148,6 +165,33 @@ public final class DoubleElement extends PrimitiveElement {
 	
 	@Override
 	public String toString() {
-		return Double.toString(value);
+		return Double.toString(value());
+	}
+	
+	/**
+	 * A DoubleElement which refers to its literal by position, and caches the value the first time it's converted.
+	 */
+	private static final class Span extends DoubleElement {
+		private volatile CharSequence source;
+		private final int start;
+		private final int end;
+		
+		private Span(CharSequence source, int start, int end) {
+			super(0.0);
+			this.source = source;
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		double value() {
+			CharSequence text = source;
+			if (text != null) {
+				// Threads which race here convert the same literal, so it doesn't matter whose value is kept
+				super.value = Double.parseDouble(text.subSequence(start, end).toString());
+				source = null;
+			}
+			return super.value;
+		}
 	}
 }
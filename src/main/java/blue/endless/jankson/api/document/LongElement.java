@@ -53,9 +53,7 @@ public final class LongElement extends PrimitiveElement {
 
 	@Override
 	public void write(StructuredDataWriter writer) throws SyntaxError, IOException {
-		for(NonValueElement elem : prologue) elem.write(writer);
-		writer.write(StructuredData.primitive(this));
-		for(NonValueElement elem : epilogue) elem.write(writer);
+		writeFormatted(writer, StructuredData.primitive(this));
 	}
 
 	@Override
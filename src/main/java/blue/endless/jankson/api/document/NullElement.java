@@ -131,9 +131,7 @@ public final class NullElement extends PrimitiveElement {
 
 	@Override
 	public void write(StructuredDataWriter writer) throws SyntaxError, IOException {
-		for(NonValueElement elem : prologue) elem.write(writer);
-		writer.write(StructuredData.NULL);
-		for(NonValueElement elem : epilogue) elem.write(writer);
+		writeFormatted(writer, StructuredData.NULL);
 	}
 	
 	@Override
@@ -24,6 +24,7 @@
 
 package blue.endless.jankson.api.document;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -37,22 +38,46 @@ import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.LongFunction;
 
-public abstract sealed class PrimitiveElement implements ValueElement permits BooleanElement, DoubleElement, LongElement, StringElement, NullElement {
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataWriter;
+
+public abstract sealed class PrimitiveElement implements ValueElement permits BooleanElement, DoubleElement, LongElement, BigNumberElement, StringElement, NullElement {
 	
 	protected boolean isDefault = false;
-	protected List<NonValueElement> prologue = new ArrayList<>();
-	protected List<NonValueElement> epilogue = new ArrayList<>();
+	
+	/*
+	 * Most primitives never have any comments or formatting attached, and deserializers create one for every scalar
+	 * they receive, so these lists are only allocated when something asks for them.
+	 */
+	protected List<NonValueElement> prologue = null;
+	protected List<NonValueElement> epilogue = null;
 	
 	@Override
 	public List<NonValueElement> getPrologue() {
+		if (prologue == null) prologue = new ArrayList<>();
 		return prologue;
 	}
 	
 	@Override
 	public List<NonValueElement> getEpilogue() {
+		if (epilogue == null) epilogue = new ArrayList<>();
 		return epilogue;
 	}
 	
+	private static List<NonValueElement> orEmpty(List<NonValueElement> list) {
+		return (list == null) ? List.of() : list;
+	}
+	
+	/**
+	 * Writes this element to writer, surrounded by its prologue and epilogue.
+	 */
+	protected void writeFormatted(StructuredDataWriter writer, StructuredData data) throws SyntaxError, IOException {
+		if (prologue != null) for(NonValueElement elem : prologue) elem.write(writer);
+		writer.write(data);
+		if (epilogue != null) for(NonValueElement elem : epilogue) elem.write(writer);
+	}
+	
 	/**
 	 * Gets the value represented by this element, or empty if this element is a null literal or a synthetic missing-key element.
 	 */
@@ -177,21 +202,22 @@ public abstract sealed class PrimitiveElement implements ValueElement permits Bo
 	
 	/**
 	 * If this value is a base-16 String which can be parsed as a valid BigInteger, this method returns that value.
-	 * If this is a long value, its BigInteger representation will be returned. Otherwise, the result will be empty.
+	 * If this is a long value, or a {@link BigNumberElement} holding a whole number, its BigInteger representation will
+	 * be returned. Otherwise, the result will be empty.
 	 */
 	public abstract Optional<BigInteger> asBigInteger();
 	
 	/**
 	 * If this value is String whose contents conform to BigDecimal's canonical String representation, its corresponding
-	 * BigDecimal value will be returned. If this is a long or double value, it will be wrapped and returned as a
-	 * BigDecimal. Otherwise, the result will be empty.
+	 * BigDecimal value will be returned. If this is a long, double, or {@link BigNumberElement} value, it will be wrapped
+	 * and returned as a BigDecimal. Otherwise, the result will be empty.
 	 * @see BigDecimal#toString()
 	 */
 	public abstract Optional<BigDecimal> asBigDecimal();
 	
 	protected void copyNonValueElementsFrom(PrimitiveElement elem) {
-		for(NonValueElement nv : elem.prologue) this.prologue.add(nv);
-		for(NonValueElement nv : elem.epilogue) this.epilogue.add(nv);
+		if (elem.prologue != null && !elem.prologue.isEmpty()) getPrologue().addAll(elem.prologue);
+		if (elem.epilogue != null && !elem.epilogue.isEmpty()) getEpilogue().addAll(elem.epilogue);
 	}
 	
 	public static PrimitiveElement ofNull() {
@@ -244,6 +270,7 @@ public abstract sealed class PrimitiveElement implements ValueElement permits Bo
 	public static PrimitiveElement box(Object value) throws IllegalArgumentException {
 		if (value == null) return ofNull();
 		
+		if (value instanceof PrimitiveElement v) return v;
 		if (value instanceof String v)     return of(v);
 		if (value instanceof Boolean v)    return of(v.booleanValue());
 		if (value instanceof Character v)  return of(""+v); // We could have chosen Long but 1-character String is semantically closer
@@ -276,8 +303,8 @@ public abstract sealed class PrimitiveElement implements ValueElement permits Bo
 	public boolean equals(Object obj) {
 		if (obj instanceof PrimitiveElement prim) {
 			return
-					prologue.equals(prim.prologue) &&
-					epilogue.equals(prim.epilogue);
+					orEmpty(prologue).equals(orEmpty(prim.prologue)) &&
+					orEmpty(epilogue).equals(orEmpty(prim.epilogue));
 		} else {
 			return false;
 		}
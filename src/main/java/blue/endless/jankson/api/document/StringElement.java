@@ -36,37 +36,57 @@ import java.util.function.Function;
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.io.StructuredData;
 import blue.endless.jankson.api.io.StructuredDataWriter;
+import blue.endless.jankson.impl.io.context.StringValueParser;
 
-public final class StringElement extends PrimitiveElement {
-	private final String value;
+public sealed class StringElement extends PrimitiveElement {
+	private String value;
 	
 	public StringElement(String value) {
 		if (value==null) throw new IllegalArgumentException();
 		this.value = value;
 	}
 	
+	private StringElement() {
+		this.value = null;
+	}
+	
+	/**
+	 * Creates a StringElement for a quoted String literal in some retained source text, which isn't unescaped until its
+	 * value is first asked for. Only the position of the literal is kept, so the source must not change.
+	 * @param source the text holding the literal
+	 * @param start  the index of the literal's opening quote
+	 * @param end    the index just past the literal's closing quote. Any escape sequences in between must already
+	 *               have been checked, since decoding them later has no way to report a SyntaxError.
+	 */
+	public static StringElement lazy(CharSequence source, int start, int end) {
+		if (source==null) throw new IllegalArgumentException();
+		return new Span(source, start, end);
+	}
+	
+	String value() {
+		return value;
+	}
+	
 	@Override
 	public StringElement copy() {
-		StringElement result = new StringElement(value);
+		StringElement result = new StringElement(value());
 		result.copyNonValueElementsFrom(this);
 		return result;
 	}
 
 	@Override
 	public void write(StructuredDataWriter writer) throws SyntaxError, IOException {
-		for(NonValueElement elem : prologue) elem.write(writer);
-		writer.write(StructuredData.primitive(this));
-		for(NonValueElement elem : epilogue) elem.write(writer);
+		writeFormatted(writer, StructuredData.primitive(this));
 	}
 
 	@Override
 	public Optional<Object> getValue() {
-		return Optional.of(value);
+		return Optional.of(value());
 	}
 
 	@Override
 	public Optional<String> asString() {
-		return Optional.of(value);
+		return Optional.of(value());
 	}
 
 	@Override
@@ -77,7 +97,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public OptionalDouble asDouble() {
 		try {
-			return OptionalDouble.of(Double.parseDouble(value));
+			return OptionalDouble.of(Double.parseDouble(value()));
 		} catch (NumberFormatException nfe) {}
 		
 		return OptionalDouble.empty();
@@ -86,7 +106,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public OptionalLong asLong() {
 		try {
-			return OptionalLong.of(Long.parseLong(value));
+			return OptionalLong.of(Long.parseLong(value()));
 		} catch (NumberFormatException nfe) {}
 		
 		return OptionalLong.empty();
@@ -95,7 +115,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public OptionalInt asInt() {
 		try {
-			return OptionalInt.of(Integer.parseInt(value));
+			return OptionalInt.of(Integer.parseInt(value()));
 		} catch (NumberFormatException nfe) {}
 		
 		return OptionalInt.empty();
@@ -103,13 +123,13 @@ public final class StringElement extends PrimitiveElement {
 	
 	@Override
 	public boolean orElse(boolean value) {
-		return Boolean.parseBoolean(this.value);
+		return Boolean.parseBoolean(value());
 	}
 	
 	@Override
 	public double orElse(double value) {
 		try {
-			return Double.parseDouble(this.value);
+			return Double.parseDouble(value());
 		} catch (NumberFormatException nfe) {}
 		
 		return value;
@@ -118,7 +138,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public long orElse(long value) {
 		try {
-			return Long.parseLong(this.value);
+			return Long.parseLong(value());
 		} catch (NumberFormatException nfe) {}
 		
 		return value;
@@ -126,18 +146,18 @@ public final class StringElement extends PrimitiveElement {
 	
 	@Override
 	public String orElse(String value) {
-		return this.value;
+		return value();
 	}
 	
 	@Override
 	public <T> Optional<T> mapAsString(Function<String, T> mapper) {
-		return Optional.of(mapper.apply(value));
+		return Optional.of(mapper.apply(value()));
 	}
 	
 	@Override
 	public Optional<BigInteger> asBigInteger() {
 		try {
-			return Optional.of(new BigInteger(value, 16));
+			return Optional.of(new BigInteger(value(), 16));
 		} catch (NumberFormatException ex) {
 			return Optional.empty();
 		}
@@ -146,7 +166,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public Optional<BigDecimal> asBigDecimal() {
 		try {
-			return Optional.of(new BigDecimal(value));
+			return Optional.of(new BigDecimal(value()));
 		} catch (NumberFormatException ex) {
 			return Optional.empty();
 		}
@@ -155,7 +175,7 @@ public final class StringElement extends PrimitiveElement {
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof StringElement v) {
-			return super.equals(obj) && v.value.equals(this.value);
+			return super.equals(obj) && v.value().equals(this.value());
 		} else {
 			return false;
 		}
@@ -163,6 +183,32 @@ public final class StringElement extends PrimitiveElement {
 	
 	@Override
 	public String toString() {
-		return "\"" + value + "\"";
+		return "\"" + value() + "\"";
+	}
+	
+	/**
+	 * A StringElement which refers to its literal by position, and caches the value the first time it's unescaped.
+	 */
+	private static final class Span extends StringElement {
+		private volatile CharSequence source;
+		private final int start;
+		private final int end;
+		
+		private Span(CharSequence source, int start, int end) {
+			this.source = source;
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		String value() {
+			CharSequence text = source;
+			if (text != null) {
+				// Threads which race here decode the same literal, so it doesn't matter whose String is kept
+				super.value = StringValueParser.unescape(text, start, end);
+				source = null;
+			}
+			return super.value;
+		}
 	}
 }
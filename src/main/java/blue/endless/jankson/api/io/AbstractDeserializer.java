@@ -29,13 +29,18 @@ import static blue.endless.jankson.api.io.StructuredData.Type.*;
 import java.io.IOException;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.CommentElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
 
 /**
  * A helper class which keeps track of when we've consumed a single ValueElement in order to automatically report
  * completion.
+ * 
+ * <p>Scalar values written through the StructuredDataSink methods arrive at {@link #processPrimitive(PrimitiveElement)}
+ * as a PrimitiveElement, without being wrapped in StructuredData.
  * @param <T> The type of object this Deserializer produces.
  */
-public abstract class AbstractDeserializer<T> implements Deserializer<T> {
+public abstract class AbstractDeserializer<T> implements Deserializer<T>, StructuredDataSink {
 	private int nestingLevel = 0;
 	private boolean complete = false;
 	
@@ -74,6 +79,107 @@ public abstract class AbstractDeserializer<T> implements Deserializer<T> {
 	
 	protected abstract void process(StructuredData data) throws SyntaxError, IOException;
 	
+	@Override
+	public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (complete) return;
+		
+		processPrimitive(value);
+		
+		if (nestingLevel == 0) complete = true;
+	}
+	
+	/**
+	 * Processes a scalar value. Deserializers which hand values to a delegate should override this and pass the value
+	 * on with {@link #writePrimitive(Deserializer, PrimitiveElement)}, so that it is never wrapped in StructuredData.
+	 */
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		process(StructuredData.primitive(value));
+	}
+	
+	/**
+	 * Writes a scalar value to a Deserializer, through {@link StructuredDataSink#writePrimitive(PrimitiveElement)} or
+	 * {@link Deserializer.Mapper#writePrimitive(PrimitiveElement)} if it has one.
+	 */
+	protected static void writePrimitive(Deserializer<?> target, PrimitiveElement value) throws SyntaxError, IOException {
+		if (target instanceof StructuredDataSink sink) {
+			sink.writePrimitive(value);
+		} else if (target instanceof Deserializer.Mapper<?, ?> mapper) {
+			mapper.writePrimitive(value);
+		} else {
+			target.write(StructuredData.primitive(value));
+		}
+	}
+	
+	@Override
+	public void startObject() throws SyntaxError, IOException {
+		write(StructuredData.OBJECT_START);
+	}
+	
+	@Override
+	public void endObject() throws SyntaxError, IOException {
+		write(StructuredData.OBJECT_END);
+	}
+	
+	@Override
+	public void startArray() throws SyntaxError, IOException {
+		write(StructuredData.ARRAY_START);
+	}
+	
+	@Override
+	public void endArray() throws SyntaxError, IOException {
+		write(StructuredData.ARRAY_END);
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws SyntaxError, IOException {
+		write(StructuredData.objectKey(key.toString()));
+	}
+	
+	@Override
+	public void writeString(CharSequence value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value.toString()));
+	}
+	
+	@Override
+	public void writeLong(long value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeDouble(double value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeBoolean(boolean value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeNull() throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.ofNull());
+	}
+	
+	@Override
+	public void comment(CommentElement comment) throws SyntaxError, IOException {
+		write(new StructuredData(COMMENT, comment));
+	}
+	
+	@Override
+	public void newline() throws SyntaxError, IOException {
+		write(StructuredData.NEWLINE);
+	}
+	
+	@Override
+	public void whitespace(String value) throws SyntaxError, IOException {
+		write(StructuredData.whitespace(value));
+	}
+	
+	@Override
+	public void endOfInput() throws SyntaxError, IOException {
+		write(StructuredData.EOF);
+	}
+	
 	public static <T> AbstractDeserializer<T> discard() {
 		return new Discard<T>();
 	}
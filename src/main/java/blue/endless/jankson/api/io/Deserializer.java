@@ -27,6 +27,7 @@ package blue.endless.jankson.api.io;
 import java.io.IOException;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.function.CheckedFunction;
 
 /**
@@ -63,6 +64,25 @@ public interface Deserializer<T> extends StructuredDataWriter {
 			function.write(data);
 			if (function.isComplete()) result = mapper.apply(function.getResult());
 		}
+		
+		/**
+		 * Hands a scalar value straight to the mapped function, without wrapping it in StructuredData.
+		 */
+		public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+			AbstractDeserializer.writePrimitive(function, value);
+			if (function.isComplete()) result = mapper.apply(function.getResult());
+		}
+		
+		@Override
+		public boolean shouldSkipNextValue() {
+			return function.shouldSkipNextValue();
+		}
+		
+		@Override
+		public void nextValueSkipped() throws SyntaxError, IOException {
+			function.nextValueSkipped();
+			if (function.isComplete()) result = mapper.apply(function.getResult());
+		}
 
 		@Override
 		public T getResult() {
@@ -46,6 +46,7 @@ import java.util.Set;
 import javax.annotation.Nullable;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.CommentElement;
 import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.function.CheckedFunction;
 import blue.endless.jankson.impl.io.objectwriter.ArrayDeserializer;
@@ -57,7 +58,7 @@ import blue.endless.jankson.impl.io.objectwriter.PrimitiveDeserializer;
 import blue.endless.jankson.impl.magic.ClassHierarchy;
 
 @SuppressWarnings("unchecked")
-public class ObjectWriter<T> implements StructuredDataWriter {
+public class ObjectWriter<T> implements StructuredDataSink {
 	private final Type type;
 	private T subject;
 	private boolean complete = false;
@@ -278,6 +279,115 @@ public class ObjectWriter<T> implements StructuredDataWriter {
 		}
 	}
 	
+	@Override
+	public void writePrimitive(PrimitiveElement value) throws IOException {
+		try {
+			if (delegate == null) {
+				Deserializer<?> function = getObjectWriter(type, StructuredData.NULL, subject);
+				if (function == null) return;
+				delegate = (Deserializer<Object>) function;
+			}
+			
+			AbstractDeserializer.writePrimitive(delegate, value);
+			if (delegate.isComplete()) {
+				commitResult();
+			}
+		} catch (SyntaxError err) {
+			throw new IOException(err);
+		}
+	}
+	
+	@Override
+	public void startObject() throws IOException {
+		write(StructuredData.OBJECT_START);
+	}
+	
+	@Override
+	public void endObject() throws IOException {
+		write(StructuredData.OBJECT_END);
+	}
+	
+	@Override
+	public void startArray() throws IOException {
+		write(StructuredData.ARRAY_START);
+	}
+	
+	@Override
+	public void endArray() throws IOException {
+		write(StructuredData.ARRAY_END);
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws IOException {
+		if (delegate instanceof StructuredDataSink sink) {
+			try {
+				sink.objectKey(key);
+			} catch (SyntaxError err) {
+				throw new IOException(err);
+			}
+		} else {
+			write(StructuredData.objectKey(key.toString()));
+		}
+	}
+	
+	@Override
+	public void writeString(CharSequence value) throws IOException {
+		writePrimitive(PrimitiveElement.of(value.toString()));
+	}
+	
+	@Override
+	public void writeLong(long value) throws IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeDouble(double value) throws IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeBoolean(boolean value) throws IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeNull() throws IOException {
+		writePrimitive(PrimitiveElement.ofNull());
+	}
+	
+	@Override
+	public void comment(CommentElement comment) throws IOException {
+		if (delegate != null) write(new StructuredData(StructuredData.Type.COMMENT, comment));
+	}
+	
+	@Override
+	public void newline() throws IOException {
+		if (delegate != null) write(StructuredData.NEWLINE);
+	}
+	
+	@Override
+	public void endOfInput() throws IOException {
+		write(StructuredData.EOF);
+	}
+	
+	@Override
+	public boolean shouldSkipNextValue() {
+		return delegate != null && delegate.shouldSkipNextValue();
+	}
+	
+	@Override
+	public void nextValueSkipped() throws IOException {
+		if (delegate == null) return;
+		try {
+			delegate.nextValueSkipped();
+			if (delegate.isComplete()) {
+				commitResult();
+			}
+		} catch (SyntaxError err) {
+			throw new IOException(err);
+		}
+	}
+	
 	/**
 	 * Returns true if this ObjectWriter has consumed an entire value from the stream
 	 * @return true if this ObjectWriter is complete
@@ -329,9 +439,8 @@ public class ObjectWriter<T> implements StructuredDataWriter {
 		});
 		
 		// PrimitiveElement has convenience methods for these two, so let's set consistent expectations
-		// It's truly unfortunate that Java can't tell that e.g. Optional<BigInteger> is castable to Optional<Object>
-		primitiveMappers.put(BigInteger.class, (prim) -> (Optional<Object>) (Object) prim.asBigInteger().orElseThrow(()->new SyntaxError("Required: BigInteger")));
-		primitiveMappers.put(BigDecimal.class, (prim) -> (Optional<Object>) (Object) prim.asBigDecimal().orElseThrow(()->new SyntaxError("Required: BigDecimal")));
+		primitiveMappers.put(BigInteger.class, (prim) -> prim.asBigInteger().orElseThrow(()->new SyntaxError("Required: BigInteger")));
+		primitiveMappers.put(BigDecimal.class, (prim) -> prim.asBigDecimal().orElseThrow(()->new SyntaxError("Required: BigDecimal")));
 		
 		primitiveMappers.put(LocalDate.class, (prim) -> prim.mapAsString(LocalDate::parse).orElseThrow(() -> new SyntaxError("Required: LocalDate")));
 		primitiveMappers.put(LocalTime.class, (prim) -> prim.mapAsString(LocalTime::parse).orElseThrow(() -> new SyntaxError("Required: LocalTime")));
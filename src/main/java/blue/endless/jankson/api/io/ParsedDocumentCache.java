@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.api.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.function.CheckedFunction;
+
+/**
+ * Keeps the parsed StructuredData of files in a directory on disk, so that a file which hasn't changed can be replayed
+ * into a ValueElementWriter or ObjectWriter without being lexed again. Entries are {@link StructuredDataTape tapes} in
+ * binary form, and each is checked against the path, size, modification time and SHA-256 hash of its source before it
+ * is used.
+ * 
+ * <p>Every call names a namespace, which stands for the parser and options used to read the file. The same file read
+ * with different options can produce different data (or fail in strict mode), so callers should use a distinct
+ * namespace for each configuration, for example {@code "json5"} and {@code "strict"}.
+ * 
+ * <p>When the entries in the directory add up to more than the maximum size, the ones which were used least recently
+ * are deleted. The cache is only an optimization: if an entry can't be read it's treated as a miss, and if one can't be
+ * written the freshly parsed document is still returned.
+ */
+public class ParsedDocumentCache {
+	private static final int MAGIC = 0x4A544150; // "JTAP"
+	private static final int VERSION = 3;
+	private static final String EXTENSION = ".jtape";
+	
+	private final Path directory;
+	private final long maxSize;
+	
+	/**
+	 * Creates a cache which keeps its entries in directory. The directory is created when the first entry is written.
+	 * @param directory the directory to keep entries in. Files in it which don't end in ".jtape" are left alone.
+	 * @param maxSize the most bytes that entries may take up in total
+	 */
+	public ParsedDocumentCache(Path directory, long maxSize) {
+		if (maxSize < 0) throw new IllegalArgumentException("Maximum cache size cannot be negative: "+maxSize);
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+	
+	/**
+	 * Gets the parsed contents of source, from the cache if they're there and still current, or else by parsing the
+	 * file and storing the result.
+	 * @param source the file to read
+	 * @param namespace identifies the parser and options, so that entries made with one configuration aren't used for another
+	 * @param parser creates a reader for the file's contents, for example {@code in -> new JsonReader(in, options)}
+	 * @return a tape holding everything the reader produced
+	 * @throws SyntaxError if the file had to be parsed, and it wasn't valid
+	 * @throws IOException if the file couldn't be read
+	 */
+	public StructuredDataTape load(Path source, String namespace, CheckedFunction<InputStream, StructuredDataReader, IOException> parser) throws SyntaxError, IOException {
+		String key = keyFor(source, namespace);
+		long modified = Files.readAttributes(source, BasicFileAttributes.class).lastModifiedTime().toMillis();
+		byte[] content = Files.readAllBytes(source);
+		byte[] hash = digest(content);
+		Path entry = entryFor(key);
+		
+		StructuredDataTape cached = readEntry(entry, key, content.length, modified, hash);
+		if (cached != null) {
+			touch(entry);
+			return cached;
+		}
+		
+		// Parse exactly the bytes that were hashed, so the entry can't describe a different version of the file
+		StructuredDataTape result = StructuredDataTape.of(parser.apply(new ByteArrayInputStream(content)));
+		if (writeEntry(entry, key, content.length, modified, hash, result)) evict(entry);
+		return result;
+	}
+	
+	/**
+	 * Reads source through the cache, as in {@link #load(Path, String, CheckedFunction)}, and writes everything to writer.
+	 */
+	public void transferTo(Path source, String namespace, CheckedFunction<InputStream, StructuredDataReader, IOException> parser, StructuredDataWriter writer) throws SyntaxError, IOException {
+		load(source, namespace, parser).replay(writer);
+	}
+	
+	/**
+	 * Removes the entry for source in the given namespace, if there is one.
+	 */
+	public void invalidate(Path source, String namespace) throws IOException {
+		Files.deleteIfExists(entryFor(keyFor(source, namespace)));
+	}
+	
+	/**
+	 * Paths can't contain NUL, so putting the namespace after one keeps every (path, namespace) pair distinct.
+	 */
+	private static String keyFor(Path source, String namespace) {
+		return source.toAbsolutePath().normalize().toString() + '\0' + namespace;
+	}
+	
+	/**
+	 * Removes every entry in this cache.
+	 */
+	public void clear() throws IOException {
+		for(Path entry : listEntries()) {
+			Files.deleteIfExists(entry);
+		}
+	}
+	
+	/**
+	 * Gets the total size of the entries in this cache, in bytes.
+	 */
+	public long size() throws IOException {
+		long total = 0L;
+		for(Path entry : listEntries()) {
+			total += Files.size(entry);
+		}
+		return total;
+	}
+	
+	private Path entryFor(String key) {
+		return directory.resolve(HexFormat.of().formatHex(digest(key.getBytes(StandardCharsets.UTF_8))) + EXTENSION);
+	}
+	
+	/**
+	 * Reads the tape from entry if it exists and its header matches. Returns null if it doesn't, and deletes it if it
+	 * can't be read.
+	 */
+	private StructuredDataTape readEntry(Path entry, String key, long size, long modified, byte[] hash) {
+		if (!Files.isRegularFile(entry)) return null;
+		
+		try {
+			ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(entry));
+			if (in.getInt() != MAGIC || in.getInt() != VERSION) return null;
+			
+			byte[] entryKey = new byte[in.getInt()];
+			in.get(entryKey);
+			if (!Arrays.equals(entryKey, key.getBytes(StandardCharsets.UTF_8))) return null;
+			if (in.getLong() != size || in.getLong() != modified) return null;
+			
+			byte[] entryHash = new byte[hash.length];
+			in.get(entryHash);
+			if (!MessageDigest.isEqual(hash, entryHash)) return null;
+			
+			return StructuredDataTape.readFrom(in);
+		} catch (IOException | RuntimeException ex) {
+			// RuntimeExceptions here come from ByteBuffer, when the header is truncated or has a nonsensical length
+			try {
+				Files.deleteIfExists(entry);
+			} catch (IOException ex2) {}
+			return null;
+		}
+	}
+	
+	/**
+	 * Writes an entry to a temporary file and moves it into place, so that a reader never sees half of one. Returns
+	 * false if the entry couldn't be written.
+	 */
+	private boolean writeEntry(Path entry, String key, long size, long modified, byte[] hash, StructuredDataTape tape) {
+		Path temp = null;
+		try {
+			Files.createDirectories(directory);
+			temp = Files.createTempFile(directory, "entry", ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(keyBytes.length);
+				out.write(keyBytes);
+				out.writeLong(size);
+				out.writeLong(modified);
+				out.write(hash);
+				tape.writeTo(out);
+			}
+			
+			try {
+				Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} catch (IOException ex) {
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ex2) {}
+			}
+			return false;
+		}
+	}
+	
+	/**
+	 * Marks entry as recently used, so that it's evicted after entries which haven't been.
+	 */
+	private void touch(Path entry) {
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException ex) {}
+	}
+	
+	/**
+	 * Deletes the least recently used entries until the rest fit in maxSize. The entry which was just written is always
+	 * considered the most recently used, since timestamps are often too coarse to tell it apart from the others.
+	 */
+	private void evict(Path newest) {
+		try {
+			record Entry(Path path, long size, long lastUsed) {}
+			
+			List<Entry> entries = new ArrayList<>();
+			long total = 0L;
+			for(Path path : listEntries()) {
+				BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+				entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+				total += attributes.size();
+			}
+			if (total <= maxSize) return;
+			
+			entries.sort(Comparator.comparing((Entry it) -> it.path().equals(newest)).thenComparingLong(Entry::lastUsed));
+			for(Entry entry : entries) {
+				if (total <= maxSize) break;
+				Files.deleteIfExists(entry.path());
+				total -= entry.size();
+			}
+		} catch (IOException ex) {
+			// Another process may be evicting the same entries; whatever is left will be handled next time
+		}
+	}
+	
+	private List<Path> listEntries() throws IOException {
+		List<Path> result = new ArrayList<>();
+		if (!Files.isDirectory(directory)) return result;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+			for(Path path : stream) {
+				result.add(path);
+			}
+		}
+		return result;
+	}
+	
+	private static byte[] digest(byte[] data) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(data);
+		} catch (NoSuchAlgorithmException ex) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,355 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.api.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.CommentElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+
+/**
+ * Transfers data from a reader to a writer with the reader running on its own thread, so that lexing one part of a
+ * document overlaps with writing the part before it. This is worthwhile for large transcoding jobs, where both sides
+ * do a comparable amount of work, like TOML to json or json to objects.
+ * 
+ * <p>The reader records events onto {@link StructuredDataTape tapes} of a fixed size, and hands each full tape to the
+ * calling thread, which replays it into the writer. A fixed number of tapes is passed back and forth, so the reader
+ * waits whenever it gets that far ahead of the writer. Values the writer asks to skip are still skipped, but since the
+ * reader is ahead of the writer, they are read and then dropped instead of being skipped in the source.
+ * 
+ * <p>Any exception from the reader is thrown from {@link #transfer(StructuredDataReader, StructuredDataWriter)} once
+ * the writer has received everything which was read before it. If the writer throws, the reader's thread is
+ * interrupted, so that a reader which is waiting on a slow source such as a pipe or socket can give up. If it hasn't
+ * stopped within {@link #STOP_TIMEOUT_MILLIS}, it's abandoned, and an exception saying so is added to the writer's
+ * exception as a suppressed exception.
+ */
+public final class PipelinedTransfer {
+	public static final int DEFAULT_BATCH_SIZE = 4096;
+	public static final int DEFAULT_BATCH_COUNT = 4;
+	/** How long to wait for the reader's thread to stop after the writer fails. */
+	public static final long STOP_TIMEOUT_MILLIS = 1000L;
+	
+	private static final ThreadFactory DEFAULT_THREADS = Thread.ofVirtual().name("jankson-pipeline-", 0).factory();
+	
+	/** Thrown on the reader's thread to unwind it when the transfer is cancelled. */
+	private static final class Cancelled extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		
+		public Cancelled() {
+			super(null, null, false, false);
+		}
+	}
+	
+	private final StructuredDataReader reader;
+	private final int batchSize;
+	/** Tapes with events on them, travelling from the reader to the writer. */
+	private final Ring full;
+	/** Cleared tapes, travelling back from the writer to the reader. */
+	private final Ring empty;
+	
+	private volatile boolean finished = false;
+	private volatile boolean cancelled = false;
+	private volatile @Nullable Throwable failure = null;
+	
+	private PipelinedTransfer(StructuredDataReader reader, int batchSize, int batchCount) {
+		this.reader = reader;
+		this.batchSize = batchSize;
+		this.full = new Ring(batchCount);
+		this.empty = new Ring(batchCount);
+		for(int i=0; i<batchCount; i++) {
+			empty.put(new StructuredDataTape(batchSize + 16));
+		}
+	}
+	
+	/**
+	 * Transfers everything remaining in reader to writer, reading on a virtual thread.
+	 */
+	public static void transfer(StructuredDataReader reader, StructuredDataWriter writer) throws SyntaxError, IOException {
+		transfer(reader, writer, DEFAULT_BATCH_SIZE, DEFAULT_BATCH_COUNT, DEFAULT_THREADS);
+	}
+	
+	/**
+	 * Transfers everything remaining in reader to writer, reading on a thread from threads.
+	 * @param batchSize the number of events which are handed to the writer at a time
+	 * @param batchCount the number of batches which can be in flight at once. The reader can get at most this many
+	 *                   batches ahead of the writer.
+	 * @param threads the factory to create the reader's thread with
+	 */
+	public static void transfer(StructuredDataReader reader, StructuredDataWriter writer, int batchSize, int batchCount, ThreadFactory threads) throws SyntaxError, IOException {
+		if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1. Found: "+batchSize);
+		if (batchCount < 2) throw new IllegalArgumentException("Batch count must be at least 2. Found: "+batchCount);
+		
+		new PipelinedTransfer(reader, batchSize, batchCount).run(writer, threads);
+	}
+	
+	private void run(StructuredDataWriter writer, ThreadFactory threads) throws SyntaxError, IOException {
+		StructuredDataSink sink = StructuredDataSink.of(writer);
+		Thread producer = threads.newThread(this::produce);
+		producer.start();
+		
+		try {
+			int skip = 0;
+			while(true) {
+				StructuredDataTape batch = full.take(() -> finished);
+				if (batch == null) break;
+				skip = batch.replayContinued(sink, skip);
+				batch.clear();
+				empty.put(batch);
+			}
+		} catch (Throwable t) {
+			// The reader is still running, and may be waiting on its source rather than on us
+			cancelled = true;
+			empty.wake();
+			producer.interrupt();
+			if (!joinUninterruptibly(producer, STOP_TIMEOUT_MILLIS)) {
+				t.addSuppressed(new IllegalStateException("The reader's thread did not stop within "+STOP_TIMEOUT_MILLIS+"ms of being cancelled, and was abandoned."));
+			}
+			throw t;
+		}
+		
+		// The reader has already set finished, so it's about to end
+		joinUninterruptibly(producer, 0L);
+		
+		Throwable t = failure;
+		if (t == null) return;
+		if (t instanceof SyntaxError e) throw e;
+		if (t instanceof IOException e) throw e;
+		if (t instanceof RuntimeException e) throw e;
+		if (t instanceof Error e) throw e;
+		throw new IOException(t);
+	}
+	
+	private void produce() {
+		Batcher batcher = new Batcher();
+		try {
+			batcher.current = empty.take(() -> cancelled);
+			if (batcher.current == null) return;
+			reader.transferTo(batcher);
+			if (batcher.current.size() > 0) full.put(batcher.current);
+		} catch (Cancelled ex) {
+			// The writer has stopped listening
+		} catch (Throwable t) {
+			// Whatever was read before the error still goes to the writer
+			if (batcher.current != null && batcher.current.size() > 0) full.put(batcher.current);
+			failure = t;
+		} finally {
+			finished = true;
+			full.wake();
+		}
+	}
+	
+	/**
+	 * Waits up to timeoutMillis for thread to end, or forever if timeoutMillis is 0, and returns true if it did.
+	 */
+	private static boolean joinUninterruptibly(Thread thread, long timeoutMillis) {
+		boolean interrupted = false;
+		long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+		while(thread.isAlive()) {
+			long remaining = (timeoutMillis == 0L) ? 0L : (deadline - System.nanoTime()) / 1_000_000L;
+			if (timeoutMillis != 0L && remaining <= 0L) break;
+			try {
+				thread.join(remaining);
+			} catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+		return !thread.isAlive();
+	}
+	
+	/**
+	 * A bounded queue with one thread putting and one thread taking. It never holds more than the total number of
+	 * tapes, so put never needs to wait; take parks until a tape arrives or it's told to give up.
+	 */
+	private static final class Ring {
+		private final StructuredDataTape[] slots;
+		private volatile long head = 0;
+		private volatile long tail = 0;
+		private volatile @Nullable Thread waiting = null;
+		
+		public Ring(int capacity) {
+			slots = new StructuredDataTape[capacity];
+		}
+		
+		public void put(StructuredDataTape tape) {
+			long t = tail;
+			slots[(int) (t % slots.length)] = tape;
+			tail = t + 1;
+			wake();
+		}
+		
+		/**
+		 * Takes the next tape, or returns null if there are none and giveUp is true.
+		 */
+		public @Nullable StructuredDataTape take(BooleanSupplier giveUp) throws InterruptedIOException {
+			while(true) {
+				// Check giveUp before tail, so that a tape put just before giving up is never missed
+				boolean done = giveUp.getAsBoolean();
+				long h = head;
+				if (h != tail) {
+					int index = (int) (h % slots.length);
+					StructuredDataTape result = slots[index];
+					slots[index] = null;
+					head = h + 1;
+					return result;
+				}
+				if (done) return null;
+				
+				waiting = Thread.currentThread();
+				if (head == tail && !giveUp.getAsBoolean()) LockSupport.park(this);
+				waiting = null;
+				if (Thread.interrupted()) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for data");
+				}
+			}
+		}
+		
+		public void wake() {
+			Thread t = waiting;
+			if (t != null) LockSupport.unpark(t);
+		}
+	}
+	
+	/**
+	 * Records events onto the current tape, and passes it along to the writer whenever it fills up.
+	 */
+	private final class Batcher implements StructuredDataSink {
+		private @Nullable StructuredDataTape current;
+		
+		private void recorded() throws InterruptedIOException {
+			if (current.size() < batchSize) return;
+			
+			// Once it's in the ring the tape belongs to the writer, so it mustn't be put again if take fails
+			StructuredDataTape batch = current;
+			current = null;
+			full.put(batch);
+			current = empty.take(() -> cancelled);
+			if (current == null) throw new Cancelled();
+		}
+		
+		@Override
+		public void write(StructuredData data) throws SyntaxError, IOException {
+			current.write(data);
+			recorded();
+		}
+		
+		@Override
+		public void startObject() throws IOException {
+			current.startObject();
+			recorded();
+		}
+		
+		@Override
+		public void endObject() throws IOException {
+			current.endObject();
+			recorded();
+		}
+		
+		@Override
+		public void startArray() throws IOException {
+			current.startArray();
+			recorded();
+		}
+		
+		@Override
+		public void endArray() throws IOException {
+			current.endArray();
+			recorded();
+		}
+		
+		@Override
+		public void objectKey(CharSequence key) throws IOException {
+			current.objectKey(key);
+			recorded();
+		}
+		
+		@Override
+		public void writeString(CharSequence value) throws IOException {
+			current.writeString(value);
+			recorded();
+		}
+		
+		@Override
+		public void writeLong(long value) throws IOException {
+			current.writeLong(value);
+			recorded();
+		}
+		
+		@Override
+		public void writeDouble(double value) throws IOException {
+			current.writeDouble(value);
+			recorded();
+		}
+		
+		@Override
+		public void writeBoolean(boolean value) throws IOException {
+			current.writeBoolean(value);
+			recorded();
+		}
+		
+		@Override
+		public void writeNull() throws IOException {
+			current.writeNull();
+			recorded();
+		}
+		
+		@Override
+		public void writePrimitive(PrimitiveElement value) throws IOException {
+			current.writePrimitive(value);
+			recorded();
+		}
+		
+		@Override
+		public void comment(CommentElement comment) throws IOException {
+			current.comment(comment);
+			recorded();
+		}
+		
+		@Override
+		public void newline() throws IOException {
+			current.newline();
+			recorded();
+		}
+		
+		@Override
+		public void whitespace(String value) throws IOException {
+			current.whitespace(value);
+			recorded();
+		}
+		
+		@Override
+		public void endOfInput() throws IOException {
+			current.endOfInput();
+			recorded();
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.api.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import blue.endless.jankson.impl.io.ProjectingStructuredDataReader;
+
+/**
+ * A compiled set of paths into a document, such as {@code meta.version} or {@code servers[*].host}. Applying a
+ * Projection to a StructuredDataReader produces a reader which only reports the selected values, along with the
+ * objects and arrays that lead to them. Everything else is skipped with {@link StructuredDataReader#skipValue()}, so
+ * with a JsonReader underneath, unselected object members are never decoded.
+ * 
+ * <p>Paths are made of:
+ * <ul>
+ *   <li>Object keys, separated by dots: {@code meta.version}
+ *   <li>Quoted object keys, for keys containing dots or brackets: {@code ["server.name"]}
+ *   <li>Every element of an array: {@code servers[*]}
+ *   <li>A single element of an array: {@code servers[0]}
+ * </ul>
+ * 
+ * <p>Arrays in the projected data only contain the elements which were selected, so indices are not preserved.
+ * Elements which are not selected still need to be read past, so prefer keys and {@code [*]} over indices when
+ * projecting very large arrays.
+ */
+public class Projection {
+	private final Node root;
+	
+	private Projection(Node root) {
+		this.root = root;
+	}
+	
+	/**
+	 * Compiles a set of paths into a Projection.
+	 * @param paths the paths to select
+	 * @return a Projection which selects each of the paths provided
+	 * @throws IllegalArgumentException if any of the paths is malformed
+	 */
+	public static Projection of(String... paths) throws IllegalArgumentException {
+		Node root = new Node();
+		for(String path : paths) {
+			compile(root, path);
+		}
+		resolve(root);
+		return new Projection(root);
+	}
+	
+	/**
+	 * Wraps a reader so that only the data selected by this Projection is reported.
+	 */
+	public StructuredDataReader apply(StructuredDataReader reader) {
+		return new ProjectingStructuredDataReader(reader, root);
+	}
+	
+	private static void compile(Node root, String path) throws IllegalArgumentException {
+		Node cur = root;
+		int i = 0;
+		while(i < path.length()) {
+			char ch = path.charAt(i);
+			if (ch == '[') {
+				int start = i + 1;
+				while(start < path.length() && Character.isWhitespace(path.charAt(start))) start++;
+				
+				int end;
+				if (start < path.length() && (path.charAt(start) == '"' || path.charAt(start) == '\'')) {
+					// Quoted keys may contain ']' themselves, so find the closing quote before the closing bracket
+					char quote = path.charAt(start);
+					int closeQuote = path.indexOf(quote, start + 1);
+					if (closeQuote == -1) throw new IllegalArgumentException("Unclosed quote in path \""+path+"\"");
+					end = closeQuote + 1;
+					while(end < path.length() && Character.isWhitespace(path.charAt(end))) end++;
+					if (end == path.length() || path.charAt(end) != ']') throw new IllegalArgumentException("Expected ']' after quoted key in path \""+path+"\"");
+					
+					cur = cur.keys.computeIfAbsent(path.substring(start + 1, closeQuote), (it) -> new Node());
+				} else {
+					end = path.indexOf(']', i);
+					if (end == -1) throw new IllegalArgumentException("Unclosed '[' in path \""+path+"\"");
+					String selector = path.substring(i+1, end).trim();
+					
+					if (selector.equals("*")) {
+						if (cur.anyElement == null) cur.anyElement = new Node();
+						cur = cur.anyElement;
+					} else {
+						try {
+							int index = Integer.parseInt(selector);
+							if (index < 0) throw new NumberFormatException();
+							cur = cur.elements.computeIfAbsent(index, (it) -> new Node());
+						} catch (NumberFormatException ex) {
+							throw new IllegalArgumentException("Invalid selector \"["+selector+"]\" in path \""+path+"\"");
+						}
+					}
+				}
+				i = end + 1;
+				if (i < path.length() && path.charAt(i) == '.') {
+					i++;
+					if (i == path.length()) throw new IllegalArgumentException("Path \""+path+"\" ends with a '.'");
+				}
+			} else {
+				int end = i;
+				while(end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+				if (end == i) throw new IllegalArgumentException("Empty key in path \""+path+"\"");
+				
+				cur = cur.keys.computeIfAbsent(path.substring(i, end), (it) -> new Node());
+				i = end;
+				if (i < path.length() && path.charAt(i) == '.') {
+					i++;
+					if (i == path.length()) throw new IllegalArgumentException("Path \""+path+"\" ends with a '.'");
+				}
+			}
+		}
+		
+		cur.selected = true;
+	}
+	
+	/**
+	 * Makes sure that an element selected by index is also matched by the paths which go through {@code [*]}.
+	 */
+	private static void resolve(Node node) {
+		if (node.anyElement != null) {
+			for(Node element : node.elements.values()) merge(element, node.anyElement);
+		}
+		
+		for(Node child : node.keys.values()) resolve(child);
+		for(Node child : node.elements.values()) resolve(child);
+		if (node.anyElement != null) resolve(node.anyElement);
+	}
+	
+	private static void merge(Node target, Node source) {
+		target.selected |= source.selected;
+		for(Map.Entry<String, Node> entry : source.keys.entrySet()) {
+			merge(target.keys.computeIfAbsent(entry.getKey(), (it) -> new Node()), entry.getValue());
+		}
+		for(Map.Entry<Integer, Node> entry : source.elements.entrySet()) {
+			merge(target.elements.computeIfAbsent(entry.getKey(), (it) -> new Node()), entry.getValue());
+		}
+		if (source.anyElement != null) {
+			if (target.anyElement == null) target.anyElement = new Node();
+			merge(target.anyElement, source.anyElement);
+		}
+	}
+	
+	/**
+	 * One step of a compiled path. A selected Node selects its entire subtree, regardless of its children.
+	 */
+	public static final class Node {
+		private boolean selected = false;
+		private final Map<String, Node> keys = new HashMap<>();
+		private final Map<Integer, Node> elements = new HashMap<>();
+		private @Nullable Node anyElement = null;
+		
+		public boolean isSelected() {
+			return selected;
+		}
+		
+		public boolean hasKeys() {
+			return !keys.isEmpty();
+		}
+		
+		public boolean hasElements() {
+			return anyElement != null || !elements.isEmpty();
+		}
+		
+		public @Nullable Node getKey(String key) {
+			return keys.get(key);
+		}
+		
+		public @Nullable Node getElement(int index) {
+			Node result = elements.get(index);
+			return (result != null) ? result : anyElement;
+		}
+	}
+}
@@ -24,8 +24,12 @@
 
 package blue.endless.jankson.api.io;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 import javax.annotation.Nullable;
 
+import blue.endless.jankson.api.document.BigNumberElement;
 import blue.endless.jankson.api.document.CommentElement;
 import blue.endless.jankson.api.document.CommentType;
 import blue.endless.jankson.api.document.PrimitiveElement;
@@ -46,9 +50,28 @@ public record StructuredData(Type type, @Nullable Object value) {
 		return new StructuredData(Type.PRIMITIVE, value.getValue().get());
 	}
 	
-	public static StructuredData primitive(Object value) {
-		Object sanitized = PrimitiveElement.box(value).getValue().get();
-		return new StructuredData(Type.PRIMITIVE, sanitized);
+	/**
+	 * Creates a PRIMITIVE holding any java value that a PrimitiveElement can hold. The value is converted the same way
+	 * {@link PrimitiveElement#box(Object)} would convert it, but without creating the element.
+	 * @throws IllegalArgumentException if the value cannot be held in a PrimitiveElement
+	 */
+	public static StructuredData primitive(@Nullable Object value) {
+		return new StructuredData(Type.PRIMITIVE, sanitize(value));
+	}
+	
+	private static @Nullable Object sanitize(@Nullable Object value) {
+		if (value == null || value instanceof String || value instanceof Long || value instanceof Double || value instanceof Boolean) return value;
+		
+		if (value instanceof PrimitiveElement v) return v.getValue().orElse(null);
+		if (value instanceof Integer v)    return v.longValue();
+		if (value instanceof Short v)      return v.longValue();
+		if (value instanceof Byte v)       return v.longValue();
+		if (value instanceof Float v)      return v.doubleValue();
+		if (value instanceof Character v)  return v.toString();
+		if (value instanceof BigInteger v) return v.toString(16);
+		if (value instanceof BigDecimal v) return v.toString();
+		
+		throw new IllegalArgumentException("Objects of type "+value.getClass().getCanonicalName()+" cannot be boxed as a PrimitiveElement.");
 	}
 	
 	public static StructuredData objectKey(String name) {
@@ -78,6 +101,8 @@ public record StructuredData(Type type, @Nullable Object value) {
 	
 	public PrimitiveElement asPrimitive() {
 		if (type != Type.PRIMITIVE) throw new IllegalStateException();
+		if (value instanceof BigInteger v) return new BigNumberElement(v);
+		if (value instanceof BigDecimal v) return new BigNumberElement(v);
 		return PrimitiveElement.box(value);
 	}
 	
@@ -94,6 +119,9 @@ public record StructuredData(Type type, @Nullable Object value) {
 	public static enum Type {
 		/**
 		 * A PrimitiveElement. StructuredData of this type describes the entire value - a null value indicates the 'null' literal.
+		 * The value is always a plain java value, never a PrimitiveElement; lazily-decoded elements only travel through
+		 * {@link StructuredDataSink#writePrimitive(PrimitiveElement)}. A BigInteger or BigDecimal value is a number which was too large or too precise for a Long or Double, and should be written out as a
+		 * number; java BigIntegers and BigDecimals passed to {@link StructuredData#primitive(Object)} become Strings.
 		 */
 		PRIMITIVE(true, true),
 		
@@ -80,6 +80,13 @@ public class StructuredDataBuffer implements StructuredDataWriter, StructuredDat
 		return Optional.of(data.pop());
 	}
 	
+	/**
+	 * Discards all the data in this pipe.
+	 */
+	public void clear() {
+		data.clear();
+	}
+	
 	public void push(StructuredData.Type elem, Object value) {
 		data.addLast(new StructuredData(elem, value));
 	}
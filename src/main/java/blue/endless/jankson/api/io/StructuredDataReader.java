@@ -42,13 +42,51 @@ public interface StructuredDataReader {
 	
 	public boolean hasNext();
 	
+	/**
+	 * Fast-forwards past the next value in the stream, including everything nested inside it, without reporting it.
+	 * This must only be called where a value is expected, such as right after an OBJECT_KEY. Non-semantic data ahead
+	 * of the value is skipped too.
+	 * 
+	 * <p>The default implementation simply reads and drops StructuredData until the value is done. Readers which can
+	 * scan their source without decoding it should override this.
+	 */
+	public default void skipValue() throws SyntaxError, IOException {
+		int depth = 0;
+		while(hasNext()) {
+			StructuredData d = next();
+			switch(d.type()) {
+				case OBJECT_START, ARRAY_START -> depth++;
+				case OBJECT_END, ARRAY_END -> {
+					depth--;
+					if (depth <= 0) return;
+				}
+				case PRIMITIVE -> {
+					if (depth == 0) return;
+				}
+				default -> {}
+			}
+		}
+	}
+	
 	public default void transferTo(StructuredDataWriter writer) throws SyntaxError, IOException {
 		while(hasNext()) {
 			var d = next();
 			writer.write(d);
+			if (d.type() == StructuredData.Type.OBJECT_KEY && writer.shouldSkipNextValue()) {
+				skipValue();
+				writer.nextValueSkipped();
+			}
 		}
 	}
 	
+	/**
+	 * Transfers everything remaining to writer like {@link #transferTo(StructuredDataWriter)}, but reads on a separate
+	 * thread so that reading overlaps with writing. See {@link PipelinedTransfer}.
+	 */
+	public default void pipelinedTransferTo(StructuredDataWriter writer) throws SyntaxError, IOException {
+		PipelinedTransfer.transfer(this, writer);
+	}
+	
 	public static StructuredDataReader of(StructuredData data) {
 		return new SingleStructuredDataReader(data);
 	}
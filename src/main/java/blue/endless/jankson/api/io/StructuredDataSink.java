@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.api.io;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.annotation.Nullable;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.BigNumberElement;
+import blue.endless.jankson.api.document.CommentElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+
+/**
+ * A StructuredDataWriter with one callback for each kind of StructuredData. Readers which know they are writing into a
+ * StructuredDataSink can call these methods directly, so that scalar values are handed over as plain longs, doubles,
+ * and booleans, and no StructuredData needs to be created for them.
+ * 
+ * <p>A sink can still be written to one StructuredData at a time; {@link #write(StructuredData)} just calls the matching
+ * method. To drive an ordinary StructuredDataWriter through this interface, use {@link #of(StructuredDataWriter)}.
+ */
+public interface StructuredDataSink extends StructuredDataWriter {
+	
+	public void startObject() throws SyntaxError, IOException;
+	
+	public void endObject() throws SyntaxError, IOException;
+	
+	public void startArray() throws SyntaxError, IOException;
+	
+	public void endArray() throws SyntaxError, IOException;
+	
+	public void objectKey(CharSequence key) throws SyntaxError, IOException;
+	
+	public void writeString(CharSequence value) throws SyntaxError, IOException;
+	
+	public void writeLong(long value) throws SyntaxError, IOException;
+	
+	public void writeDouble(double value) throws SyntaxError, IOException;
+	
+	public void writeBoolean(boolean value) throws SyntaxError, IOException;
+	
+	public void writeNull() throws SyntaxError, IOException;
+	
+	/**
+	 * Writes a value which is already held in a PrimitiveElement, such as a lazily-decoded value from a reader. Sinks
+	 * which build elements should keep the element as-is; by default, it's decoded and passed to the matching method.
+	 * A {@link BigNumberElement} has no matching method, so sinks which write numbers out should override this to keep
+	 * it a number; by default its digits are written as a String.
+	 */
+	public default void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (value instanceof BigNumberElement) {
+			writeString(value.toString());
+		} else {
+			writeValue(value.getValue().orElse(null));
+		}
+	}
+	
+	/**
+	 * Writes any java value that a PrimitiveElement can hold, using the matching method. Integer types are written as
+	 * longs, floats as doubles, and Characters, BigIntegers and BigDecimals as Strings, just like
+	 * {@link PrimitiveElement#box(Object)}.
+	 * @throws IllegalArgumentException if the value cannot be held in a PrimitiveElement
+	 */
+	public default void writeValue(@Nullable Object value) throws SyntaxError, IOException {
+		if (value == null) {
+			writeNull();
+		} else if (value instanceof String v) {
+			writeString(v);
+		} else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			writeLong(((Number) value).longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Boolean v) {
+			writeBoolean(v);
+		} else if (value instanceof PrimitiveElement v) {
+			writePrimitive(v);
+		} else {
+			writeValue(StructuredData.primitive(value).value());
+		}
+	}
+	
+	public default void comment(CommentElement comment) throws SyntaxError, IOException {}
+	
+	public default void newline() throws SyntaxError, IOException {}
+	
+	public default void whitespace(String value) throws SyntaxError, IOException {}
+	
+	public default void endOfInput() throws SyntaxError, IOException {}
+	
+	@Override
+	public default void write(StructuredData data) throws SyntaxError, IOException {
+		switch(data.type()) {
+			case PRIMITIVE -> {
+				if (data.value() instanceof PrimitiveElement prim) {
+					writePrimitive(prim);
+				} else if (data.value() instanceof BigInteger || data.value() instanceof BigDecimal) {
+					writePrimitive(data.asPrimitive());
+				} else {
+					writeValue(data.value());
+				}
+			}
+			case OBJECT_START -> startObject();
+			case OBJECT_END -> endObject();
+			case ARRAY_START -> startArray();
+			case ARRAY_END -> endArray();
+			case OBJECT_KEY -> objectKey(data.value().toString());
+			case COMMENT -> comment(data.asComment());
+			case NEWLINE -> newline();
+			case WHITESPACE -> whitespace((data.value() == null) ? " " : data.value().toString());
+			case EOF -> endOfInput();
+		}
+	}
+	
+	/**
+	 * Gets a StructuredDataSink which turns each call into a StructuredData and writes it to writer. If writer is
+	 * already a StructuredDataSink, it is returned as-is.
+	 */
+	public static StructuredDataSink of(StructuredDataWriter writer) {
+		if (writer instanceof StructuredDataSink sink) return sink;
+		return new Adapter(writer);
+	}
+	
+	public class Adapter implements StructuredDataSink {
+		private final StructuredDataWriter writer;
+		
+		public Adapter(StructuredDataWriter writer) {
+			this.writer = writer;
+		}
+		
+		@Override
+		public void write(StructuredData data) throws SyntaxError, IOException {
+			writer.write(data);
+		}
+		
+		@Override
+		public void startObject() throws SyntaxError, IOException {
+			writer.write(StructuredData.OBJECT_START);
+		}
+		
+		@Override
+		public void endObject() throws SyntaxError, IOException {
+			writer.write(StructuredData.OBJECT_END);
+		}
+		
+		@Override
+		public void startArray() throws SyntaxError, IOException {
+			writer.write(StructuredData.ARRAY_START);
+		}
+		
+		@Override
+		public void endArray() throws SyntaxError, IOException {
+			writer.write(StructuredData.ARRAY_END);
+		}
+		
+		@Override
+		public void objectKey(CharSequence key) throws SyntaxError, IOException {
+			writer.write(StructuredData.objectKey(key.toString()));
+		}
+		
+		@Override
+		public void writeString(CharSequence value) throws SyntaxError, IOException {
+			writer.write(new StructuredData(StructuredData.Type.PRIMITIVE, value.toString()));
+		}
+		
+		@Override
+		public void writeLong(long value) throws SyntaxError, IOException {
+			writer.write(new StructuredData(StructuredData.Type.PRIMITIVE, value));
+		}
+		
+		@Override
+		public void writeDouble(double value) throws SyntaxError, IOException {
+			writer.write(new StructuredData(StructuredData.Type.PRIMITIVE, value));
+		}
+		
+		@Override
+		public void writeBoolean(boolean value) throws SyntaxError, IOException {
+			writer.write(new StructuredData(StructuredData.Type.PRIMITIVE, value));
+		}
+		
+		@Override
+		public void writeNull() throws SyntaxError, IOException {
+			writer.write(StructuredData.NULL);
+		}
+		
+		@Override
+		public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+			writer.write(StructuredData.primitive(value));
+		}
+		
+		@Override
+		public void writeValue(@Nullable Object value) throws SyntaxError, IOException {
+			writer.write(StructuredData.primitive(value));
+		}
+		
+		@Override
+		public void comment(CommentElement comment) throws SyntaxError, IOException {
+			writer.write(new StructuredData(StructuredData.Type.COMMENT, comment));
+		}
+		
+		@Override
+		public void newline() throws SyntaxError, IOException {
+			writer.write(StructuredData.NEWLINE);
+		}
+		
+		@Override
+		public void whitespace(String value) throws SyntaxError, IOException {
+			writer.write(StructuredData.whitespace(value));
+		}
+		
+		@Override
+		public void endOfInput() throws SyntaxError, IOException {
+			writer.write(StructuredData.EOF);
+		}
+		
+		@Override
+		public boolean shouldSkipNextValue() {
+			return writer.shouldSkipNextValue();
+		}
+		
+		@Override
+		public void nextValueSkipped() throws SyntaxError, IOException {
+			writer.nextValueSkipped();
+		}
+	}
+}
@@ -0,0 +1,623 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.api.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.BigNumberElement;
+import blue.endless.jankson.api.document.CommentElement;
+import blue.endless.jankson.api.document.CommentType;
+import blue.endless.jankson.api.document.PrimitiveElement;
+
+/**
+ * Records StructuredData in a few flat arrays, so that a whole document can be held in memory and replayed into any
+ * number of writers. Each event takes one byte for its kind and one long for its payload: numbers and booleans are
+ * stored in the long itself, and Strings, comments and other objects are kept in a side table which the long indexes
+ * into. Nothing is stored for a scalar beyond that, which makes a tape a fraction of the size of the equivalent
+ * ValueElement tree or list of StructuredData.
+ * 
+ * <p>Events are appended by writing to the tape, either as StructuredData or through the {@link StructuredDataSink}
+ * methods. {@link #replay(StructuredDataWriter)} writes them back out, through the typed methods if the destination is
+ * a sink. Any event can also be read at random with {@link #get(int)}, and {@link #reader()} reads the tape as a
+ * StructuredDataReader which can seek. {@link #writeTo(DataOutput)} and {@link #readFrom(ByteBuffer)} store a tape in
+ * binary form.
+ */
+public class StructuredDataTape implements StructuredDataSink {
+	private static final byte OBJECT_START = 0;
+	private static final byte OBJECT_END   = 1;
+	private static final byte ARRAY_START  = 2;
+	private static final byte ARRAY_END    = 3;
+	private static final byte OBJECT_KEY   = 4;
+	private static final byte STRING       = 5;
+	private static final byte LONG         = 6;
+	private static final byte DOUBLE       = 7;
+	private static final byte BOOLEAN      = 8;
+	private static final byte NULL         = 9;
+	/** A PrimitiveElement, such as a lazily-decoded value, which is kept whole in the side table. */
+	private static final byte ELEMENT      = 10;
+	private static final byte COMMENT      = 11;
+	private static final byte NEWLINE      = 12;
+	private static final byte WHITESPACE   = 13;
+	private static final byte EOF          = 14;
+	/* These two only appear in binary tapes, where a BigNumberElement's digits are written as a String */
+	private static final byte BIG_INTEGER  = 15;
+	private static final byte BIG_DECIMAL  = 16;
+	
+	private byte[] types;
+	/** The value of a scalar, the side-table index of an object, or the index of the end matching an object or array start. */
+	private long[] payloads;
+	private int size = 0;
+	
+	private Object[] objects;
+	private int objectCount = 0;
+	
+	/** Indices of the objects and arrays which have been started but not yet ended. */
+	private int[] openContainers = new int[16];
+	private int depth = 0;
+	
+	public StructuredDataTape() {
+		this(64);
+	}
+	
+	public StructuredDataTape(int initialCapacity) {
+		initialCapacity = Math.max(initialCapacity, 4);
+		types = new byte[initialCapacity];
+		payloads = new long[initialCapacity];
+		objects = new Object[Math.max(initialCapacity / 4, 4)];
+	}
+	
+	/**
+	 * Records everything remaining in reader onto a new tape.
+	 */
+	public static StructuredDataTape of(StructuredDataReader reader) throws SyntaxError, IOException {
+		StructuredDataTape result = new StructuredDataTape();
+		reader.transferTo(result);
+		return result;
+	}
+	
+	/**
+	 * Gets the number of events on this tape.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Discards every event on this tape. The arrays are kept, so the tape can record another document without growing
+	 * them again.
+	 */
+	public void clear() {
+		Arrays.fill(objects, 0, objectCount, null);
+		size = 0;
+		objectCount = 0;
+		depth = 0;
+	}
+	
+	/**
+	 * Gets the kind of event at index.
+	 */
+	public StructuredData.Type type(int index) {
+		checkIndex(index);
+		return switch(types[index]) {
+			case OBJECT_START -> StructuredData.Type.OBJECT_START;
+			case OBJECT_END -> StructuredData.Type.OBJECT_END;
+			case ARRAY_START -> StructuredData.Type.ARRAY_START;
+			case ARRAY_END -> StructuredData.Type.ARRAY_END;
+			case OBJECT_KEY -> StructuredData.Type.OBJECT_KEY;
+			case COMMENT -> StructuredData.Type.COMMENT;
+			case NEWLINE -> StructuredData.Type.NEWLINE;
+			case WHITESPACE -> StructuredData.Type.WHITESPACE;
+			case EOF -> StructuredData.Type.EOF;
+			default -> StructuredData.Type.PRIMITIVE;
+		};
+	}
+	
+	/**
+	 * Gets the event at index as StructuredData.
+	 */
+	public StructuredData get(int index) {
+		checkIndex(index);
+		long payload = payloads[index];
+		return switch(types[index]) {
+			case OBJECT_START -> StructuredData.OBJECT_START;
+			case OBJECT_END -> StructuredData.OBJECT_END;
+			case ARRAY_START -> StructuredData.ARRAY_START;
+			case ARRAY_END -> StructuredData.ARRAY_END;
+			case OBJECT_KEY -> StructuredData.objectKey((String) objects[(int) payload]);
+			case STRING -> new StructuredData(StructuredData.Type.PRIMITIVE, objects[(int) payload]);
+			case LONG -> new StructuredData(StructuredData.Type.PRIMITIVE, payload);
+			case DOUBLE -> new StructuredData(StructuredData.Type.PRIMITIVE, Double.longBitsToDouble(payload));
+			case BOOLEAN -> new StructuredData(StructuredData.Type.PRIMITIVE, payload != 0L);
+			case NULL -> StructuredData.NULL;
+			case ELEMENT -> StructuredData.primitive((PrimitiveElement) objects[(int) payload]);
+			case COMMENT -> new StructuredData(StructuredData.Type.COMMENT, objects[(int) payload]);
+			case NEWLINE -> StructuredData.NEWLINE;
+			case WHITESPACE -> StructuredData.whitespace((String) objects[(int) payload]);
+			default -> StructuredData.EOF;
+		};
+	}
+	
+	/**
+	 * Gets the index of the last event belonging to the value which starts at index. For an OBJECT_START or
+	 * ARRAY_START, this is the index of the matching end, or -1 if it hasn't been written yet. For anything else, it's
+	 * index itself.
+	 */
+	public int endOf(int index) {
+		checkIndex(index);
+		byte type = types[index];
+		return (type == OBJECT_START || type == ARRAY_START) ? (int) payloads[index] : index;
+	}
+	
+	/**
+	 * Writes every event on this tape to writer.
+	 */
+	public void replay(StructuredDataWriter writer) throws SyntaxError, IOException {
+		replay(writer, 0, size);
+	}
+	
+	/**
+	 * Writes the events from index {@code from}, inclusive, to index {@code to}, exclusive, to writer. If writer is a
+	 * StructuredDataSink, scalars are written with its typed methods and no StructuredData is created for them. Values
+	 * which the writer asks to skip are jumped over without being visited.
+	 */
+	public void replay(StructuredDataWriter writer, int from, int to) throws SyntaxError, IOException {
+		if (from < 0 || to > size || from > to) throw new IndexOutOfBoundsException("Range "+from+" to "+to+" is outside a tape of size "+size);
+		
+		StructuredDataSink sink = StructuredDataSink.of(writer);
+		int i = from;
+		while(i < to) {
+			replayEvent(sink, i);
+			if (types[i] == OBJECT_KEY && sink.shouldSkipNextValue()) {
+				i = skipValue(i + 1, to);
+				sink.nextValueSkipped();
+			} else {
+				i++;
+			}
+		}
+	}
+	
+	/**
+	 * Replays this whole tape into sink, as one of a series of tapes which together hold a single stream of events. A
+	 * value which the sink asks to skip may carry on into the tapes after this one, so the progress of the skip is
+	 * passed in and returned: 0 when nothing is being skipped, -1 when the next value is to be skipped, or else how
+	 * deeply nested the skipped value is at the point the tape ends.
+	 */
+	int replayContinued(StructuredDataSink sink, int skip) throws SyntaxError, IOException {
+		int i = 0;
+		while(i < size) {
+			byte type = types[i];
+			if (skip == 0) {
+				replayEvent(sink, i);
+				if (type == OBJECT_KEY && sink.shouldSkipNextValue()) skip = -1;
+				i++;
+			} else if (type == EOF) {
+				// The stream ended partway through the value; let the sink see the end
+				skip = 0;
+			} else if (skip == -1) {
+				switch(type) {
+					case COMMENT, NEWLINE, WHITESPACE -> i++;
+					case OBJECT_START, ARRAY_START -> {
+						int end = (int) payloads[i];
+						if (end == -1) {
+							skip = 1;
+							i++;
+						} else {
+							skip = 0;
+							i = end + 1;
+							sink.nextValueSkipped();
+						}
+					}
+					default -> {
+						skip = 0;
+						i++;
+						sink.nextValueSkipped();
+					}
+				}
+			} else {
+				switch(type) {
+					case OBJECT_START, ARRAY_START -> skip++;
+					case OBJECT_END, ARRAY_END -> {
+						skip--;
+						if (skip == 0) sink.nextValueSkipped();
+					}
+					default -> {}
+				}
+				i++;
+			}
+		}
+		return skip;
+	}
+	
+	/**
+	 * Gets a StructuredDataReader which reads this tape from the start. Each reader keeps its own position, so a tape
+	 * can be read by several at once as long as nothing more is written to it.
+	 */
+	public TapeReader reader() {
+		return new TapeReader();
+	}
+	
+	/**
+	 * Writes this tape in a compact binary form, which {@link #readFrom(ByteBuffer)} can read back. Each distinct String
+	 * is written once, and later uses refer back to it. PrimitiveElements are written as the value they hold, so they
+	 * are read back as typed scalars.
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		Map<String, Integer> strings = new HashMap<>();
+		out.writeInt(size);
+		for(int i=0; i<size; i++) {
+			byte type = types[i];
+			long payload = payloads[i];
+			switch(type) {
+				case OBJECT_KEY, STRING, WHITESPACE -> {
+					out.writeByte(type);
+					writeString(out, (String) objects[(int) payload], strings);
+				}
+				case LONG, DOUBLE -> {
+					out.writeByte(type);
+					out.writeLong(payload);
+				}
+				case BOOLEAN -> {
+					out.writeByte(type);
+					out.writeBoolean(payload != 0L);
+				}
+				case ELEMENT -> {
+					Object value = StructuredData.primitive(objects[(int) payload]).value();
+					if (value == null) {
+						out.writeByte(NULL);
+					} else if (value instanceof Long l) {
+						out.writeByte(LONG);
+						out.writeLong(l);
+					} else if (value instanceof Double d) {
+						out.writeByte(DOUBLE);
+						out.writeLong(Double.doubleToRawLongBits(d));
+					} else if (value instanceof Boolean b) {
+						out.writeByte(BOOLEAN);
+						out.writeBoolean(b);
+					} else if (value instanceof BigInteger big) {
+						out.writeByte(BIG_INTEGER);
+						writeString(out, big.toString(), strings);
+					} else if (value instanceof BigDecimal d) {
+						out.writeByte(BIG_DECIMAL);
+						writeString(out, d.toString(), strings);
+					} else {
+						out.writeByte(STRING);
+						writeString(out, value.toString(), strings);
+					}
+				}
+				case COMMENT -> {
+					CommentElement comment = (CommentElement) objects[(int) payload];
+					out.writeByte(type);
+					out.writeByte(comment.getCommentType().ordinal());
+					writeString(out, comment.getValue(), strings);
+				}
+				default -> out.writeByte(type);
+			}
+		}
+	}
+	
+	/**
+	 * Reads a tape written by {@link #writeTo(DataOutput)}, starting at the buffer's position. When this method returns,
+	 * the position is just past the end of the tape.
+	 * @throws IOException if the data is not a tape
+	 */
+	public static StructuredDataTape readFrom(ByteBuffer in) throws IOException {
+		try {
+			int count = in.getInt();
+			if (count < 0) throw new IOException("Invalid tape size "+count);
+			
+			// Don't trust the size enough to allocate all of it up front
+			StructuredDataTape result = new StructuredDataTape(Math.min(count, 1 << 16));
+			List<String> strings = new ArrayList<>();
+			CommentType[] commentTypes = CommentType.values();
+			for(int i=0; i<count; i++) {
+				byte type = in.get();
+				switch(type) {
+					case OBJECT_START -> result.startObject();
+					case OBJECT_END -> result.endObject();
+					case ARRAY_START -> result.startArray();
+					case ARRAY_END -> result.endArray();
+					case OBJECT_KEY -> result.objectKey(readString(in, strings));
+					case STRING -> result.writeString(readString(in, strings));
+					case LONG -> result.writeLong(in.getLong());
+					case DOUBLE -> result.writeDouble(Double.longBitsToDouble(in.getLong()));
+					case BOOLEAN -> result.writeBoolean(in.get() != 0);
+					case NULL -> result.writeNull();
+					case BIG_INTEGER -> result.writePrimitive(new BigNumberElement(new BigInteger(readString(in, strings))));
+					case BIG_DECIMAL -> result.writePrimitive(new BigNumberElement(new BigDecimal(readString(in, strings))));
+					case COMMENT -> {
+						int commentType = in.get() & 0xFF;
+						if (commentType >= commentTypes.length) throw new IOException("Invalid comment type "+commentType);
+						result.comment(new CommentElement(readString(in, strings), commentTypes[commentType]));
+					}
+					case NEWLINE -> result.newline();
+					case WHITESPACE -> result.whitespace(readString(in, strings));
+					case EOF -> result.endOfInput();
+					default -> throw new IOException("Invalid event type "+type+" at index "+i);
+				}
+			}
+			
+			return result;
+		} catch (BufferUnderflowException ex) {
+			throw new IOException("Tape ended early", ex);
+		} catch (NumberFormatException ex) {
+			throw new IOException("Invalid number in tape", ex);
+		}
+	}
+	
+	/*
+	 * Strings are written as a single int. A string which was already written is referred to by its index, and a new one
+	 * is written as (-1 - byteLength) followed by its UTF-8 bytes.
+	 */
+	
+	private static void writeString(DataOutput out, String value, Map<String, Integer> strings) throws IOException {
+		Integer index = strings.get(value);
+		if (index != null) {
+			out.writeInt(index);
+		} else {
+			strings.put(value, strings.size());
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(-1 - bytes.length);
+			out.write(bytes);
+		}
+	}
+	
+	private static String readString(ByteBuffer in, List<String> strings) throws IOException {
+		int index = in.getInt();
+		if (index >= 0) {
+			if (index >= strings.size()) throw new IOException("Invalid string reference "+index);
+			return strings.get(index);
+		}
+		
+		int length = -1 - index;
+		if (length > in.remaining()) throw new IOException("String of length "+length+" runs past the end of the tape");
+		String result;
+		if (in.hasArray()) {
+			result = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+			in.position(in.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			in.get(bytes);
+			result = new String(bytes, StandardCharsets.UTF_8);
+		}
+		strings.add(result);
+		return result;
+	}
+	
+	private void replayEvent(StructuredDataSink sink, int index) throws SyntaxError, IOException {
+		long payload = payloads[index];
+		switch(types[index]) {
+			case OBJECT_START -> sink.startObject();
+			case OBJECT_END -> sink.endObject();
+			case ARRAY_START -> sink.startArray();
+			case ARRAY_END -> sink.endArray();
+			case OBJECT_KEY -> sink.objectKey((String) objects[(int) payload]);
+			case STRING -> sink.writeString((String) objects[(int) payload]);
+			case LONG -> sink.writeLong(payload);
+			case DOUBLE -> sink.writeDouble(Double.longBitsToDouble(payload));
+			case BOOLEAN -> sink.writeBoolean(payload != 0L);
+			case NULL -> sink.writeNull();
+			case ELEMENT -> sink.writePrimitive((PrimitiveElement) objects[(int) payload]);
+			case COMMENT -> sink.comment((CommentElement) objects[(int) payload]);
+			case NEWLINE -> sink.newline();
+			case WHITESPACE -> sink.whitespace((String) objects[(int) payload]);
+			case EOF -> sink.endOfInput();
+		}
+	}
+	
+	/**
+	 * Finds the first value at or after index, and returns the index just past it. Never returns more than limit.
+	 */
+	private int skipValue(int index, int limit) {
+		while(index < limit) {
+			byte type = types[index];
+			switch(type) {
+				case COMMENT, NEWLINE, WHITESPACE -> index++;
+				case OBJECT_START, ARRAY_START -> {
+					int end = (int) payloads[index];
+					return (end == -1) ? limit : Math.min(end + 1, limit);
+				}
+				case EOF -> {
+					return index;
+				}
+				default -> {
+					return index + 1;
+				}
+			}
+		}
+		return limit;
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index "+index+" is outside a tape of size "+size);
+	}
+	
+	private void append(byte type, long payload) {
+		if (size == types.length) {
+			int capacity = types.length * 2;
+			types = Arrays.copyOf(types, capacity);
+			payloads = Arrays.copyOf(payloads, capacity);
+		}
+		types[size] = type;
+		payloads[size] = payload;
+		size++;
+	}
+	
+	private void appendObject(byte type, Object value) {
+		if (objectCount == objects.length) objects = Arrays.copyOf(objects, objects.length * 2);
+		objects[objectCount] = value;
+		append(type, objectCount);
+		objectCount++;
+	}
+	
+	private void open(byte type) {
+		if (depth == openContainers.length) openContainers = Arrays.copyOf(openContainers, depth * 2);
+		openContainers[depth++] = size;
+		append(type, -1L);
+	}
+	
+	private void close(byte type) {
+		// An unbalanced end is recorded as-is; it's up to whoever replays the tape to object to it
+		if (depth > 0) payloads[openContainers[--depth]] = size;
+		append(type, 0L);
+	}
+	
+	// implements StructuredDataSink {
+		@Override
+		public void startObject() {
+			open(OBJECT_START);
+		}
+		
+		@Override
+		public void endObject() {
+			close(OBJECT_END);
+		}
+		
+		@Override
+		public void startArray() {
+			open(ARRAY_START);
+		}
+		
+		@Override
+		public void endArray() {
+			close(ARRAY_END);
+		}
+		
+		@Override
+		public void objectKey(CharSequence key) {
+			appendObject(OBJECT_KEY, key.toString());
+		}
+		
+		@Override
+		public void writeString(CharSequence value) {
+			appendObject(STRING, value.toString());
+		}
+		
+		@Override
+		public void writeLong(long value) {
+			append(LONG, value);
+		}
+		
+		@Override
+		public void writeDouble(double value) {
+			append(DOUBLE, Double.doubleToRawLongBits(value));
+		}
+		
+		@Override
+		public void writeBoolean(boolean value) {
+			append(BOOLEAN, (value) ? 1L : 0L);
+		}
+		
+		@Override
+		public void writeNull() {
+			append(NULL, 0L);
+		}
+		
+		@Override
+		public void writePrimitive(PrimitiveElement value) {
+			appendObject(ELEMENT, value);
+		}
+		
+		@Override
+		public void comment(CommentElement comment) {
+			appendObject(COMMENT, comment);
+		}
+		
+		@Override
+		public void newline() {
+			append(NEWLINE, 0L);
+		}
+		
+		@Override
+		public void whitespace(String value) {
+			appendObject(WHITESPACE, value);
+		}
+		
+		@Override
+		public void endOfInput() {
+			append(EOF, 0L);
+		}
+	// }
+	
+	/**
+	 * Reads a StructuredDataTape from any position. Reading never changes the tape.
+	 */
+	public class TapeReader implements StructuredDataReader {
+		private int position = 0;
+		
+		/**
+		 * Gets the index of the event which the next call to {@link #next()} will return.
+		 */
+		public int position() {
+			return position;
+		}
+		
+		/**
+		 * Moves this reader so that the next call to {@link #next()} returns the event at index. Seeking to the size of
+		 * the tape moves to the end.
+		 */
+		public TapeReader seek(int index) {
+			if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index "+index+" is outside a tape of size "+size);
+			position = index;
+			return this;
+		}
+		
+		@Override
+		public StructuredData next() {
+			if (!hasNext()) return StructuredData.EOF;
+			return get(position++);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return position < size && types[position] != EOF;
+		}
+		
+		/**
+		 * Skips the next value in constant time, using the end index which the tape keeps for each object and array.
+		 */
+		@Override
+		public void skipValue() {
+			position = StructuredDataTape.this.skipValue(position, size);
+		}
+		
+		@Override
+		public void transferTo(StructuredDataWriter writer) throws SyntaxError, IOException {
+			int from = position;
+			position = size;
+			replay(writer, from, size);
+		}
+	}
+}
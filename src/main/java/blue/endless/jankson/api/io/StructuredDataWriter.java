@@ -31,4 +31,18 @@ import blue.endless.jankson.api.SyntaxError;
 public interface StructuredDataWriter {
 	
 	public void write(StructuredData data) throws SyntaxError, IOException;
+	
+	/**
+	 * Returns true if this writer has no use for the value belonging to the OBJECT_KEY it was most recently given. A
+	 * reader which sees this may fast-forward past the value with {@link StructuredDataReader#skipValue()} instead of
+	 * writing it, and then call {@link #nextValueSkipped()}.
+	 */
+	public default boolean shouldSkipNextValue() {
+		return false;
+	}
+	
+	/**
+	 * Called in place of writing a value, after {@link #shouldSkipNextValue()} returned true and the reader skipped it.
+	 */
+	public default void nextValueSkipped() throws SyntaxError, IOException {}
 }
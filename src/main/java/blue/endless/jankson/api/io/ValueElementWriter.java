@@ -29,7 +29,9 @@ import java.util.ArrayList;
 
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.document.NonValueElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.impl.io.value.AbstractElementWriter;
 import blue.endless.jankson.impl.io.value.ArrayElementWriter;
 import blue.endless.jankson.impl.io.value.ObjectElementWriter;
 import blue.endless.jankson.impl.io.value.PrimitiveElementWriter;
@@ -38,9 +40,9 @@ import blue.endless.jankson.impl.io.value.PrimitiveElementWriter;
  * StructuredDataWriter that assembles a ValueElement. Much like StringWriter, this "captures" data
  * that would normally be serialized and assembles it into intermediate state.
  */
-public class ValueElementWriter implements Deserializer<ValueElement> {
+public class ValueElementWriter extends AbstractElementWriter {
 	
-	private Deserializer<ValueElement> delegate = null;
+	private AbstractElementWriter delegate = null;
 	private ValueElement result = null;
 	private ArrayList<NonValueElement> bufferedComments = new ArrayList<>();
 	
@@ -49,12 +51,7 @@ public class ValueElementWriter implements Deserializer<ValueElement> {
 		if (delegate != null && !delegate.isComplete()) {
 			// After we've completed our data, we could potentially consume a trailer
 			delegate.write(data);
-			if (delegate.isComplete()) {
-				result = delegate.getResult();
-				result.getPrologue().addAll(bufferedComments);
-				bufferedComments.clear();
-				delegate = null;
-			}
+			checkDelegate();
 		} else {
 			if (delegate != null && delegate.isComplete()) {
 				result = delegate.getResult();
@@ -93,6 +90,34 @@ public class ValueElementWriter implements Deserializer<ValueElement> {
 		
 	}
 	
+	@Override
+	public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (delegate != null && !delegate.isComplete()) {
+			delegate.writePrimitive(value);
+			checkDelegate();
+		} else {
+			super.writePrimitive(value);
+		}
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws SyntaxError, IOException {
+		if (delegate != null && !delegate.isComplete()) {
+			delegate.objectKey(key);
+		} else {
+			super.objectKey(key);
+		}
+	}
+	
+	private void checkDelegate() {
+		if (delegate.isComplete()) {
+			result = delegate.getResult();
+			result.getPrologue().addAll(bufferedComments);
+			bufferedComments.clear();
+			delegate = null;
+		}
+	}
+	
 	@Override
 	public boolean isComplete() {
 		return delegate == null && result != null;
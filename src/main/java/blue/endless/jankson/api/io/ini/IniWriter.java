@@ -50,7 +50,7 @@ public class IniWriter implements StructuredDataWriter {
 			case OBJECT_END -> {}
 			case OBJECT_KEY -> { out.write(data.value().toString()); out.write(" = "); }
 			case OBJECT_START -> {}
-			case PRIMITIVE -> out.write(data.value().toString());
+			case PRIMITIVE -> out.write(String.valueOf(data.value()));
 			case WHITESPACE -> {}
 			default -> throw new IllegalArgumentException("Unexpected value: " + data.type());
 		}
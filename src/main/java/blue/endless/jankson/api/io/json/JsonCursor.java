@@ -0,0 +1,304 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.api.io.json;
+
+import java.io.IOException;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.BigNumberElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataReader;
+import blue.endless.jankson.api.io.StructuredDataSink;
+
+/**
+ * Pulls a document one token at a time, and exposes the current token through accessors instead of creating an object
+ * for it. Comments and formatting are skipped.
+ * 
+ * <p>Over a {@link JsonReader}, objects and arrays are parsed straight into the cursor, so stepping through structure,
+ * numbers, booleans and nulls allocates nothing. Keys are free too if the reader has a key cache (see
+ * {@link JsonReaderOptions.Builder#setKeyCacheSize(int)}); only String values are always created. Any other
+ * StructuredDataReader, such as a TomlReader, can be read the same way, but its tokens are still unpacked from
+ * StructuredData.
+ * 
+ * <pre>
+ * JsonCursor cursor = new JsonCursor(new JsonReader(json, JsonReaderOptions.UNSPECIFIED));
+ * cursor.nextToken(); // START_OBJECT
+ * while(cursor.nextToken() == JsonCursor.Token.KEY) {
+ *     if (cursor.keyEquals("id")) {
+ *         cursor.nextToken();
+ *         id = cursor.longValue();
+ *     } else {
+ *         cursor.skipValue();
+ *     }
+ * }
+ * </pre>
+ */
+public class JsonCursor {
+	public static enum Token {
+		START_OBJECT,
+		END_OBJECT,
+		START_ARRAY,
+		END_ARRAY,
+		KEY,
+		STRING,
+		LONG,
+		DOUBLE,
+		/** A number too large or too precise for a LONG or a DOUBLE. {@link JsonCursor#numberValue()} gets it exactly. */
+		BIG_NUMBER,
+		BOOLEAN,
+		NULL,
+		/** There are no more tokens. Once this is reached, every call to nextToken will return it again. */
+		END_DOCUMENT;
+	}
+	
+	private final StructuredDataReader reader;
+	private final JsonReader jsonReader;
+	private final TokenSink sink = new TokenSink();
+	
+	private Token token = null;
+	private int depth = 0;
+	private int tokenDepth = 0;
+	private CharSequence text;
+	private long longValue;
+	private double doubleValue;
+	private Number bigValue;
+	private boolean booleanValue;
+	
+	public JsonCursor(StructuredDataReader reader) {
+		this.reader = reader;
+		this.jsonReader = (reader instanceof JsonReader json) ? json : null;
+	}
+	
+	/**
+	 * Advances to the next token.
+	 * @return the new current token
+	 */
+	public Token nextToken() throws IOException, SyntaxError {
+		if (token == Token.END_DOCUMENT) return token;
+		
+		token = null;
+		while(token == null) {
+			if (jsonReader != null && jsonReader.parseInto(sink)) continue;
+			
+			if (!reader.hasNext()) {
+				set(Token.END_DOCUMENT);
+			} else {
+				StructuredData data = reader.next();
+				if (data.type() == StructuredData.Type.EOF) {
+					set(Token.END_DOCUMENT);
+				} else {
+					sink.write(data);
+				}
+			}
+		}
+		return token;
+	}
+	
+	/**
+	 * Gets the current token, or null if {@link #nextToken()} hasn't been called yet.
+	 */
+	public Token currentToken() {
+		return token;
+	}
+	
+	/**
+	 * Gets the number of objects and arrays the current token is nested in. The root value, and the brackets which start
+	 * and end it, are at depth zero, and the keys and values directly inside the root are at depth one.
+	 */
+	public int currentDepth() {
+		return tokenDepth;
+	}
+	
+	/**
+	 * Gets the current LONG, DOUBLE, or BIG_NUMBER token as a long. Doubles are truncated, and big numbers are
+	 * narrowed like {@link Number#longValue()}.
+	 * @throws IllegalStateException if the current token is not a number
+	 */
+	public long longValue() {
+		return switch(token) {
+			case LONG -> longValue;
+			case DOUBLE -> (long) doubleValue;
+			case BIG_NUMBER -> bigValue.longValue();
+			default -> throw wrongToken("a number");
+		};
+	}
+	
+	/**
+	 * Gets the current LONG, DOUBLE, or BIG_NUMBER token as a double. Big numbers are rounded to the nearest double.
+	 * @throws IllegalStateException if the current token is not a number
+	 */
+	public double doubleValue() {
+		return switch(token) {
+			case LONG -> longValue;
+			case DOUBLE -> doubleValue;
+			case BIG_NUMBER -> bigValue.doubleValue();
+			default -> throw wrongToken("a number");
+		};
+	}
+	
+	/**
+	 * Gets the current number token exactly, as a Long, a Double, or the BigInteger or BigDecimal of a BIG_NUMBER.
+	 * @throws IllegalStateException if the current token is not a number
+	 */
+	public Number numberValue() {
+		return switch(token) {
+			case LONG -> longValue;
+			case DOUBLE -> doubleValue;
+			case BIG_NUMBER -> bigValue;
+			default -> throw wrongToken("a number");
+		};
+	}
+	
+	/**
+	 * @throws IllegalStateException if the current token is not a BOOLEAN
+	 */
+	public boolean booleanValue() {
+		if (token != Token.BOOLEAN) throw wrongToken("a boolean");
+		return booleanValue;
+	}
+	
+	/**
+	 * Gets the current STRING token, or the name of the current KEY.
+	 * @throws IllegalStateException if the current token is not a STRING or KEY
+	 */
+	public String stringValue() {
+		if (token != Token.STRING && token != Token.KEY) throw wrongToken("a string or key");
+		return text.toString();
+	}
+	
+	/**
+	 * Returns true if the current token is a KEY with exactly this name. Nothing is allocated to check.
+	 */
+	public boolean keyEquals(String key) {
+		return token == Token.KEY && key.contentEquals(text);
+	}
+	
+	/**
+	 * Skips a whole value. If the current token is a KEY, the value belonging to it is skipped; over a JsonReader this
+	 * scans past the source text without decoding it. If the current token is START_OBJECT or START_ARRAY, everything up
+	 * to and including the matching end token is skipped. Either way, the next call to {@link #nextToken()} returns
+	 * whatever follows the skipped value. For any other token, this does nothing.
+	 */
+	public void skipValue() throws IOException, SyntaxError {
+		if (token == Token.KEY) {
+			reader.skipValue();
+		} else if (token == Token.START_OBJECT || token == Token.START_ARRAY) {
+			int startDepth = tokenDepth;
+			while(true) {
+				Token cur = nextToken();
+				if (cur == Token.END_DOCUMENT) return;
+				if ((cur == Token.END_OBJECT || cur == Token.END_ARRAY) && tokenDepth == startDepth) return;
+			}
+		}
+	}
+	
+	private IllegalStateException wrongToken(String expected) {
+		return new IllegalStateException("Expected "+expected+" but the current token is "+token);
+	}
+	
+	private void set(Token token) {
+		this.token = token;
+		this.tokenDepth = depth;
+	}
+	
+	/**
+	 * Receives exactly one token for each step a JsonReader takes inside an object or array.
+	 */
+	private class TokenSink implements StructuredDataSink {
+		@Override
+		public void startObject() {
+			set(Token.START_OBJECT);
+			depth++;
+		}
+		
+		@Override
+		public void endObject() {
+			depth--;
+			set(Token.END_OBJECT);
+		}
+		
+		@Override
+		public void startArray() {
+			set(Token.START_ARRAY);
+			depth++;
+		}
+		
+		@Override
+		public void endArray() {
+			depth--;
+			set(Token.END_ARRAY);
+		}
+		
+		@Override
+		public void objectKey(CharSequence key) {
+			text = key;
+			set(Token.KEY);
+		}
+		
+		@Override
+		public void writeString(CharSequence value) {
+			text = value;
+			set(Token.STRING);
+		}
+		
+		@Override
+		public void writeLong(long value) {
+			longValue = value;
+			set(Token.LONG);
+		}
+		
+		@Override
+		public void writeDouble(double value) {
+			doubleValue = value;
+			set(Token.DOUBLE);
+		}
+		
+		@Override
+		public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+			if (value instanceof BigNumberElement) {
+				bigValue = (Number) value.getValue().get();
+				set(Token.BIG_NUMBER);
+			} else {
+				StructuredDataSink.super.writePrimitive(value);
+			}
+		}
+		
+		@Override
+		public void writeBoolean(boolean value) {
+			booleanValue = value;
+			set(Token.BOOLEAN);
+		}
+		
+		@Override
+		public void writeNull() {
+			set(Token.NULL);
+		}
+		
+		@Override
+		public void endOfInput() {
+			set(Token.END_DOCUMENT);
+		}
+	}
+}
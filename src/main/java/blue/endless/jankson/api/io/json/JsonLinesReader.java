@@ -0,0 +1,331 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.api.io.json;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.api.function.CheckedFunction;
+import blue.endless.jankson.api.io.JsonIOException;
+import blue.endless.jankson.api.io.ObjectWriter;
+import blue.endless.jankson.api.io.StructuredDataWriter;
+import blue.endless.jankson.api.io.ValueElementWriter;
+
+/**
+ * Reads newline-delimited json (JSON Lines / NDJSON), where each line holds one complete json document. Blank lines
+ * are skipped. Each line is read by its own {@link JsonReader}, so lines can be parsed in parallel.
+ * 
+ * <p>By default, a line which fails to parse stops the stream with an UncheckedIOException. An error handler can be
+ * set to report the failure and carry on with the next line instead:
+ * 
+ * <pre>
+ * try(JsonLinesReader lines = new JsonLinesReader(reader)) {
+ *     lines.onError((line, err) -&gt; log.warn("Skipping line "+line, err))
+ *          .parallel(ForkJoinPool.commonPool(), false)
+ *          .stream(LogEntry.class)
+ *          .forEach(this::ingest);
+ * }
+ * </pre>
+ */
+public class JsonLinesReader implements Closeable {
+	private final BufferedReader in;
+	private final JsonReaderOptions.Access options;
+	private ErrorHandler errorHandler = JsonLinesReader::rethrow;
+	private @Nullable ForkJoinPool pool = null;
+	private boolean ordered = true;
+	private long lineNumber = 0;
+	/*
+	 * JsonReaders which aren't parsing a line right now. Each line resets one of these instead of building a new reader
+	 * with fresh buffers; in parallel mode there is at most one per line in flight.
+	 */
+	private final Queue<JsonReader> spareReaders = new ConcurrentLinkedQueue<>();
+	
+	public JsonLinesReader(Reader in) {
+		this(in, JsonReaderOptions.UNSPECIFIED);
+	}
+	
+	public JsonLinesReader(Reader in, JsonReaderOptions.Access options) {
+		this.in = (in instanceof BufferedReader buffered) ? buffered : new BufferedReader(in);
+		this.options = options;
+	}
+	
+	/**
+	 * Sets what happens to lines which can't be parsed. If the handler returns normally, the line is left out of the
+	 * stream and reading continues.
+	 */
+	public JsonLinesReader onError(ErrorHandler handler) {
+		this.errorHandler = handler;
+		return this;
+	}
+	
+	/**
+	 * Parses lines on the supplied pool instead of on the thread consuming the stream. Lines are still read from the
+	 * underlying Reader in order, and only a bounded number of them are in flight at once.
+	 * @param pool    the pool to parse lines on
+	 * @param ordered if true, values come out of the stream in the same order as their lines. If false, each value is
+	 *                delivered as soon as it's ready.
+	 */
+	public JsonLinesReader parallel(ForkJoinPool pool, boolean ordered) {
+		this.pool = pool;
+		this.ordered = ordered;
+		return this;
+	}
+	
+	/**
+	 * Gets a Stream of the documents in this reader, as ValueElements. Closing the Stream closes this reader.
+	 */
+	public Stream<ValueElement> stream() {
+		return stream((line) -> {
+			ValueElementWriter writer = new ValueElementWriter();
+			readLine(line, writer);
+			return writer.getResult();
+		});
+	}
+	
+	/**
+	 * Gets a Stream of the documents in this reader, unpacked into objects of the specified type. Closing the Stream
+	 * closes this reader.
+	 */
+	public <T> Stream<T> stream(Class<T> clazz) {
+		return stream((Type) clazz);
+	}
+	
+	/**
+	 * Gets a Stream of the documents in this reader, unpacked into objects of the specified type. Closing the Stream
+	 * closes this reader.
+	 */
+	public <T> Stream<T> stream(Type type) {
+		return stream((line) -> {
+			ObjectWriter<T> writer = new ObjectWriter<>(type);
+			readLine(line, writer);
+			return writer.toObject();
+		});
+	}
+	
+	private <T> Stream<T> stream(LineParser<T> parser) {
+		Iterator<T> iterator = (pool == null) ? new SequentialIterator<>(parser) : new ParallelIterator<>(parser, pool, ordered);
+		int characteristics = (pool == null || ordered) ? Spliterator.ORDERED : 0;
+		
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+				.onClose(() -> {
+					try {
+						close();
+					} catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+	}
+	
+	private void readLine(String line, StructuredDataWriter writer) throws SyntaxError, IOException {
+		JsonReader reader = spareReaders.poll();
+		reader = (reader == null) ? new JsonReader(line, options) : reader.reset(line);
+		try {
+			reader.transferTo(writer);
+		} finally {
+			reader.reset(""); // Don't hold on to the line
+			spareReaders.offer(reader);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+	
+	/**
+	 * Reads the next line which isn't blank.
+	 * @return the line, or null at the end of the input
+	 */
+	private @Nullable String nextLine() {
+		try {
+			while(true) {
+				String line = in.readLine();
+				if (line == null) return null;
+				lineNumber++;
+				if (!line.isBlank()) return line;
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+	
+	private static <T> Parsed<T> parse(LineParser<T> parser, long lineNumber, String line) {
+		try {
+			return new Parsed<>(lineNumber, parser.apply(line), null);
+		} catch (Exception ex) {
+			return new Parsed<>(lineNumber, null, ex);
+		}
+	}
+	
+	private static void rethrow(long lineNumber, Exception ex) {
+		throw new UncheckedIOException(new JsonIOException("Could not read line "+lineNumber, ex));
+	}
+	
+	@FunctionalInterface
+	private static interface LineParser<T> extends CheckedFunction<String, T, Exception> {}
+	
+	/**
+	 * Receives lines which could not be parsed.
+	 */
+	@FunctionalInterface
+	public static interface ErrorHandler {
+		/**
+		 * Called with each line that can't be parsed. Throw a RuntimeException to stop the stream.
+		 * @param lineNumber the line number, starting from one
+		 * @param cause      what went wrong. This is usually an IOException wrapping a SyntaxError.
+		 */
+		void onError(long lineNumber, Exception cause);
+	}
+	
+	private static record Parsed<T>(long lineNumber, @Nullable T value, @Nullable Exception error) {}
+	
+	/**
+	 * Base for iterators which skip over failed lines after reporting them.
+	 */
+	private abstract class LineIterator<T> implements Iterator<T> {
+		private Parsed<T> next = null;
+		
+		/**
+		 * Gets the next parsed line, or null if there are no more.
+		 */
+		protected abstract @Nullable Parsed<T> advance();
+		
+		@Override
+		public boolean hasNext() {
+			while(next == null) {
+				Parsed<T> parsed = advance();
+				if (parsed == null) return false;
+				if (parsed.error() == null) {
+					next = parsed;
+				} else {
+					errorHandler.onError(parsed.lineNumber(), parsed.error());
+				}
+			}
+			return true;
+		}
+		
+		@Override
+		public T next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			T result = next.value();
+			next = null;
+			return result;
+		}
+	}
+	
+	private class SequentialIterator<T> extends LineIterator<T> {
+		private final LineParser<T> parser;
+		
+		public SequentialIterator(LineParser<T> parser) {
+			this.parser = parser;
+		}
+		
+		@Override
+		protected @Nullable Parsed<T> advance() {
+			String line = nextLine();
+			if (line == null) return null;
+			return parse(parser, lineNumber, line);
+		}
+	}
+	
+	private class ParallelIterator<T> extends LineIterator<T> {
+		private final LineParser<T> parser;
+		private final ForkJoinPool pool;
+		private final boolean ordered;
+		private final int maxInFlight;
+		
+		/** Used when ordered: tasks in line order. */
+		private final Deque<ForkJoinTask<Parsed<T>>> pending = new ArrayDeque<>();
+		/** Used when unordered: results in the order they were finished. */
+		private final LinkedBlockingQueue<Parsed<T>> finished = new LinkedBlockingQueue<>();
+		private int inFlight = 0;
+		private boolean endOfInput = false;
+		
+		public ParallelIterator(LineParser<T> parser, ForkJoinPool pool, boolean ordered) {
+			this.parser = parser;
+			this.pool = pool;
+			this.ordered = ordered;
+			this.maxInFlight = Math.max(4, pool.getParallelism() * 4);
+		}
+		
+		private void submitLines() {
+			while(!endOfInput && inFlight < maxInFlight) {
+				String line = nextLine();
+				if (line == null) {
+					endOfInput = true;
+					return;
+				}
+				
+				long number = lineNumber;
+				inFlight++;
+				if (ordered) {
+					pending.add(pool.submit(() -> parse(parser, number, line)));
+				} else {
+					pool.execute(() -> finished.add(parse(parser, number, line)));
+				}
+			}
+		}
+		
+		@Override
+		protected @Nullable Parsed<T> advance() {
+			submitLines();
+			if (inFlight == 0) return null;
+			
+			inFlight--;
+			if (ordered) {
+				return pending.removeFirst().join();
+			} else {
+				try {
+					return finished.take();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for a line to be parsed", ex);
+				}
+			}
+		}
+	}
+}
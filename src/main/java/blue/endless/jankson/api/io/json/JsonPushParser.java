@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.api.io.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nullable;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataWriter;
+import blue.endless.jankson.impl.io.FeedableCodePointSource;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.context.TokenBoundaryScanner;
+
+/**
+ * Non-blocking json parser which is pushed input as it arrives, for example from an NIO event loop. Chunks can be
+ * split anywhere, even in the middle of a token or a UTF-8 sequence. After each chunk, {@link #poll()} or
+ * {@link #drainTo(StructuredDataWriter)} report whatever StructuredData can be completed so far, and never wait for
+ * input that hasn't been fed yet.
+ * 
+ * <p>The parser only steps forward when the input it will touch has fully arrived, so the last few tokens of a
+ * document are held back until either more input arrives or {@link #endOfInput()} is called.
+ * 
+ * <pre>
+ * JsonPushParser parser = new JsonPushParser();
+ * parser.feed(chunk);
+ * parser.drainTo(writer); // Returns once more input is needed
+ * ...
+ * parser.endOfInput();
+ * parser.drainTo(writer); // Writes the rest, including EOF
+ * </pre>
+ */
+public class JsonPushParser {
+	/** Steps need this much input past the tokens they consume, so that any lookahead stays within what has arrived. */
+	private static final int LOOKAHEAD_UNITS = LookaheadCodePointReader.DEFAULT_LOOKAHEAD * 2;
+	
+	private final TokenBoundaryScanner scanner = new TokenBoundaryScanner();
+	private final FeedableCodePointSource source = new FeedableCodePointSource(scanner);
+	private final JsonReader reader;
+	private boolean complete = false;
+	
+	public JsonPushParser() {
+		this(JsonReaderOptions.UNSPECIFIED);
+	}
+	
+	public JsonPushParser(JsonReaderOptions.Access options) {
+		this.reader = new JsonReader(source, options);
+	}
+	
+	/**
+	 * Feeds all the remaining bytes of a buffer into the parser as UTF-8. The buffer's position is moved to its limit.
+	 */
+	public void feed(ByteBuffer bytes) {
+		source.feed(bytes);
+	}
+	
+	/**
+	 * Feeds characters into the parser.
+	 */
+	public void feed(char[] chars, int offset, int length) {
+		source.feed(chars, offset, length);
+	}
+	
+	public void feed(char[] chars) {
+		source.feed(chars, 0, chars.length);
+	}
+	
+	/**
+	 * Signals that no more input will be fed. Anything held back waiting for more input can now be reported.
+	 */
+	public void endOfInput() {
+		source.finish();
+	}
+	
+	/**
+	 * Reports the next piece of StructuredData if it can be completed with the input fed so far.
+	 * @return the next StructuredData, or null if more input is needed. Once the document is finished, EOF is returned.
+	 * @throws IOException if the input is malformed
+	 */
+	public @Nullable StructuredData poll() throws SyntaxError, IOException {
+		while(!reader.hasQueuedOutput()) {
+			if (!canStep()) return null;
+			reader.step();
+		}
+		
+		StructuredData result = reader.next();
+		if (result.type() == StructuredData.Type.EOF) complete = true;
+		return result;
+	}
+	
+	/**
+	 * Writes all the StructuredData which can be completed with the input fed so far.
+	 * @return the number of StructuredData written
+	 */
+	public int drainTo(StructuredDataWriter writer) throws SyntaxError, IOException {
+		int written = 0;
+		while(!complete) {
+			StructuredData data = poll();
+			if (data == null) break;
+			writer.write(data);
+			written++;
+		}
+		return written;
+	}
+	
+	/**
+	 * Returns true if nothing more can be reported until more input is fed.
+	 */
+	public boolean needsInput() {
+		return !complete && !reader.hasQueuedOutput() && !canStep();
+	}
+	
+	/**
+	 * Returns true once EOF has been reported.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+	
+	private boolean canStep() {
+		if (source.isFinished()) return true;
+		
+		// No parser step consumes more than two tokens
+		long end = scanner.getTokenEnd(reader.getPosition(), 2);
+		return end != -1 && scanner.getPosition() - end >= LOOKAHEAD_UNITS;
+	}
+}
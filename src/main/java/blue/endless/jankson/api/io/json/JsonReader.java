@@ -26,30 +26,233 @@ package blue.endless.jankson.api.io.json;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
+import blue.endless.jankson.api.io.StructuredDataWriter;
 import blue.endless.jankson.impl.io.AbstractStructuredDataReader;
+import blue.endless.jankson.impl.io.CodePointSource;
+import blue.endless.jankson.impl.io.FeedableCodePointSource;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.MappedFileCodePointSource;
+import blue.endless.jankson.impl.io.StringPool;
+import blue.endless.jankson.impl.io.Utf8CodePointSource;
 import blue.endless.jankson.impl.io.context.ParserContext;
 import blue.endless.jankson.impl.io.context.RootParserContext;
+import blue.endless.jankson.impl.io.context.SinkParserContext;
+import blue.endless.jankson.impl.io.context.SkippingParserContext;
+import blue.endless.jankson.impl.io.context.StrictParserContext;
 
 public class JsonReader extends AbstractStructuredDataReader {
 	private final JsonReaderOptions.Access options;
+	// Held onto so that a new method reference isn't created for every parse step
+	private final Consumer<StructuredData> output = this::enqueueOutput;
+	private final Consumer<ParserContext> pusher = this::pushContext;
 	
 	public JsonReader(Reader source) {
 		this(source, JsonReaderOptions.UNSPECIFIED);
 	}
 	
 	public JsonReader(Reader source, JsonReaderOptions.Access options) {
-		super(source);
-		this.options = options;
-		pushContext(new RootParserContext(options));
+		this(new LookaheadCodePointReader(source, LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE), options, StrictParserContext.BATCH_SIZE);
+	}
+	
+	/**
+	 * Creates a JsonReader over json text which is already in memory. If lazy primitives are enabled in the options,
+	 * Strings and decimals which are read hold their position in this String instead of a copy of their value, so the
+	 * String is kept in memory until they've all been decoded.
+	 */
+	public JsonReader(String source, JsonReaderOptions.Access options) {
+		this(withSourceText(new LookaheadCodePointReader(new StringReader(source), LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE), source, options), options, StrictParserContext.BATCH_SIZE);
 	}
 	
+	/**
+	 * Creates a JsonReader which decodes UTF-8 bytes from an InputStream directly, without an InputStreamReader.
+	 */
 	public JsonReader(InputStream source, JsonReaderOptions.Access options) {
-		this(new InputStreamReader(source), options);
+		this(new Utf8CodePointSource(source, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE), options);
+	}
+	
+	/**
+	 * Creates a JsonReader which decodes UTF-8 json data straight out of a byte array.
+	 */
+	public JsonReader(byte[] source, JsonReaderOptions.Access options) {
+		this(new Utf8CodePointSource(source), options);
+	}
+	
+	/**
+	 * Creates a JsonReader which decodes UTF-8 json data from the remaining bytes of a heap or direct ByteBuffer. The
+	 * buffer's position is not changed.
+	 */
+	public JsonReader(ByteBuffer source, JsonReaderOptions.Access options) {
+		this(new Utf8CodePointSource(source), options);
+	}
+	
+	/**
+	 * Creates a JsonReader which decodes a UTF-8 json file through a read-only memory mapping, instead of copying the
+	 * file's contents onto the heap.
+	 */
+	public JsonReader(Path source, JsonReaderOptions.Access options) throws IOException {
+		this(MappedFileCodePointSource.open(source), options);
+	}
+	
+	private JsonReader(CodePointSource source, JsonReaderOptions.Access options) {
+		this(new LookaheadCodePointReader(source, LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE), options, StrictParserContext.BATCH_SIZE);
+	}
+	
+	/**
+	 * Creates a JsonReader for {@link JsonPushParser}, which only ever takes single-token steps.
+	 */
+	JsonReader(FeedableCodePointSource source, JsonReaderOptions.Access options) {
+		this(new LookaheadCodePointReader(source, LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE), options, 1);
+	}
+	
+	/*
+	 * Every constructor ends up here. The root context is built by a static method and handed to the superclass, so
+	 * no instance methods are called before this object is fully constructed.
+	 */
+	private JsonReader(LookaheadCodePointReader src, JsonReaderOptions.Access options, int strictBatchSize) {
+		super(src, rootContext(src, options, strictBatchSize));
+		this.options = options;
+	}
+	
+	/**
+	 * Starts reading a new document from source, with the same options. The buffers, queues, and key cache belonging to
+	 * this reader are kept, so reusing one JsonReader for many small documents allocates much less than creating a new
+	 * one for each. Anything left unread from the previous document is discarded, and the previous source is not
+	 * closed.
+	 * @param source the Reader to read the next document from
+	 * @return this JsonReader
+	 */
+	public JsonReader reset(Reader source) {
+		super.resetState(source);
+		pushContext(rootContext(src, options, StrictParserContext.BATCH_SIZE));
+		return this;
+	}
+	
+	/**
+	 * Starts reading a new document which is already in memory, with the same options. If lazy primitives are enabled,
+	 * values which are read hold their position in this String instead of a copy of their value.
+	 * @see #reset(Reader)
+	 */
+	public JsonReader reset(String source) {
+		super.resetState(new StringReader(source));
+		withSourceText(src, source, options);
+		pushContext(rootContext(src, options, StrictParserContext.BATCH_SIZE));
+		return this;
+	}
+	
+	public JsonReaderOptions.Access getOptions() {
+		return options;
+	}
+	
+	private static LookaheadCodePointReader withSourceText(LookaheadCodePointReader src, String source, JsonReaderOptions.Access options) {
+		if (options.isLazyPrimitives() && !options.isStrict()) src.setSourceText(source);
+		return src;
+	}
+	
+	/**
+	 * Applies the options to src, and creates the context that a new document starts in. Lazy values need text to
+	 * refer back to, so unless the document was handed over as a String, src records the text as it's decoded.
+	 */
+	private static ParserContext rootContext(LookaheadCodePointReader src, JsonReaderOptions.Access options, int strictBatchSize) {
+		if (options.getKeyCacheSize() > 0 && src.getStringPool() == null) src.setStringPool(new StringPool(options.getKeyCacheSize()));
+		src.setLineTracking(options.isLineTracking());
+		if (options.isLazyPrimitives() && !options.isStrict() && src.getSourceText() == null) src.recordSourceText();
+		if (options.isStrict()) {
+			return new StrictParserContext(strictBatchSize);
+		} else {
+			return new RootParserContext(options);
+		}
+	}
+	
+	/**
+	 * Skips the next value. If the value belongs to an object key which was just read, the source text is scanned
+	 * past without decoding any Strings or numbers, and without creating any StructuredData.
+	 */
+	@Override
+	public void skipValue() throws IOException, SyntaxError {
+		if (readQueue.isEmpty() && getContext() instanceof SkippingParserContext context && context.canSkipValue()) {
+			try {
+				context.skipValue(src);
+			} catch (SyntaxError err) {
+				throw new IOException(err);
+			}
+		} else {
+			super.skipValue();
+		}
+	}
+	
+	/**
+	 * Writes the rest of the document to writer. If writer is a {@link StructuredDataSink}, objects and arrays are
+	 * parsed straight into it: scalar values are handed over through its typed methods, and no StructuredData is
+	 * created for them.
+	 */
+	@Override
+	public void transferTo(StructuredDataWriter writer) throws SyntaxError, IOException {
+		if (!(writer instanceof StructuredDataSink sink)) {
+			super.transferTo(writer);
+			return;
+		}
+		
+		while(hasNext()) {
+			if (parseInto(sink)) {
+				if (canSkipValue() && sink.shouldSkipNextValue()) {
+					skipValue();
+					sink.nextValueSkipped();
+				}
+				continue;
+			}
+			
+			StructuredData data = next();
+			sink.write(data);
+			if (data.type() == StructuredData.Type.OBJECT_KEY && sink.shouldSkipNextValue()) {
+				skipValue();
+				sink.nextValueSkipped();
+			}
+		}
+	}
+	
+	/**
+	 * If the next step of parsing is inside an object or array, or anywhere in a strict document, parses it straight
+	 * into sink and returns true. Otherwise returns false, and the caller should fall back to {@link #next()}.
+	 */
+	boolean parseInto(StructuredDataSink sink) throws IOException {
+		if (readQueue.isEmpty() && getContext() instanceof SinkParserContext context && !context.isComplete(src)) {
+			try {
+				context.parse(src, sink);
+			} catch (SyntaxError err) {
+				throw new IOException(err);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if an object key was just read, and its value can be skipped in the source text by
+	 * {@link #skipValue()}.
+	 */
+	boolean canSkipValue() {
+		return readQueue.isEmpty() && getContext() instanceof SkippingParserContext context && context.canSkipValue();
+	}
+	
+	boolean hasQueuedOutput() {
+		return !readQueue.isEmpty();
+	}
+	
+	long getPosition() {
+		return src.getPosition();
+	}
+	
+	void step() throws IOException {
+		readNext();
 	}
 	
 	@Override
@@ -67,8 +270,8 @@ public class JsonReader extends AbstractStructuredDataReader {
 			try {
 			context.parse(
 					src,
-					this::enqueueOutput,
-					this::pushContext
+					output,
+					pusher
 					);
 			} catch (SyntaxError err) {
 				throw new IOException(err);
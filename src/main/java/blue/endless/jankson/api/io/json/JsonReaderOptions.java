@@ -24,6 +24,8 @@
 
 package blue.endless.jankson.api.io.json;
 
+import java.util.Objects;
+
 public sealed abstract class JsonReaderOptions permits JsonReaderOptions.Builder, JsonReaderOptions.Access {
 	/**
 	 * This is the set of options configured when there are no options specified. Effectively this is the "default
@@ -35,10 +37,20 @@ public sealed abstract class JsonReaderOptions permits JsonReaderOptions.Builder
 	protected boolean bareRootObject = false;
 	protected boolean unquotedKeys = false;
 	protected char keyValueSeparator = ':';
+	protected int keyCacheSize = 0;
+	protected boolean lazyPrimitives = false;
+	protected boolean strict = false;
+	protected boolean lineTracking = true;
+	protected boolean discardFormatting = false;
 	
 	public boolean isBareRootObject() { return bareRootObject; }
 	public boolean isUnquotedKeys() { return unquotedKeys; }
 	public char getKeyValueSeparator() { return keyValueSeparator; }
+	public int getKeyCacheSize() { return keyCacheSize; }
+	public boolean isLazyPrimitives() { return lazyPrimitives; }
+	public boolean isStrict() { return strict; }
+	public boolean isLineTracking() { return lineTracking; }
+	public boolean isDiscardFormatting() { return discardFormatting; }
 	
 	public JsonReaderOptions() {}
 	
@@ -46,6 +58,11 @@ public sealed abstract class JsonReaderOptions permits JsonReaderOptions.Builder
 		this.bareRootObject = opts.bareRootObject;
 		this.unquotedKeys = opts.unquotedKeys;
 		this.keyValueSeparator = opts.keyValueSeparator;
+		this.keyCacheSize = opts.keyCacheSize;
+		this.lazyPrimitives = opts.lazyPrimitives;
+		this.strict = opts.strict;
+		this.lineTracking = opts.lineTracking;
+		this.discardFormatting = opts.discardFormatting;
 	}
 	
 	public static Builder builder() {
@@ -70,6 +87,48 @@ public sealed abstract class JsonReaderOptions permits JsonReaderOptions.Builder
 			return this;
 		}
 		
+		/**
+		 * Sets how many distinct object keys each reader will remember, so that repeated keys come back as the same
+		 * shared String instance. Keys are matched against the input before anything is allocated, and when the cache
+		 * is full, newer keys evict older ones. Zero, the default, disables the cache.
+		 */
+		public Builder setKeyCacheSize(int entries) {
+			if (entries < 0) throw new IllegalArgumentException("Key cache size cannot be negative.");
+			this.keyCacheSize = entries;
+			return this;
+		}
+		
+		/**
+		 * Sets whether Strings and decimal numbers should be read lazily. Lazy values only hold the position of their
+		 * literal in the input text, and are unescaped or converted the first time they're asked for, which makes
+		 * reading a large document to pick out a handful of values much cheaper. The input text is kept in memory for
+		 * as long as any undecoded value refers to it: a String input is used as it is, and any other source is copied
+		 * into memory as it's read.
+		 */
+		public Builder setLazyPrimitives(boolean value) { lazyPrimitives = value; return this; }
+		
+		/**
+		 * Sets whether only strict RFC 8259 json is accepted. Strict documents are read by a much tighter parse loop:
+		 * comments, unquoted keys, single-quoted Strings, trailing commas, and special numbers like Infinity and hex
+		 * are all rejected, and no comments, newlines, or other formatting are reported. Bare root objects, custom
+		 * key-value separators, and lazy primitives do not apply in strict mode. Use this for machine-generated json.
+		 */
+		public Builder setStrict(boolean value) { strict = value; return this; }
+		
+		/**
+		 * Sets whether line and column numbers are kept for error messages. They're cheap, since they are only counted
+		 * up in bulk when a location is asked for, but for trusted input they can be switched off entirely.
+		 * SyntaxErrors will then be reported without a location.
+		 */
+		public Builder setLineTracking(boolean value) { lineTracking = value; return this; }
+		
+		/**
+		 * Sets whether comments and line breaks should be skipped over instead of reported. When they're discarded,
+		 * they are consumed without creating any CommentElements or COMMENT and NEWLINE events, so documents read this
+		 * way lose their comments and formatting. Strict mode never reports formatting, so this has no effect there.
+		 */
+		public Builder setDiscardFormatting(boolean value) { discardFormatting = value; return this; }
+		
 		public Access build() { return new Access(this); }
 	}
 	
@@ -82,5 +141,28 @@ public sealed abstract class JsonReaderOptions permits JsonReaderOptions.Builder
 		public Builder asBuilder() {
 			return new Builder(this);
 		}
+		
+		/**
+		 * Access objects can't be changed, so two of them are equal if every option has the same value.
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Access other)) return false;
+			return
+					bareRootObject == other.bareRootObject &&
+					unquotedKeys == other.unquotedKeys &&
+					keyValueSeparator == other.keyValueSeparator &&
+					keyCacheSize == other.keyCacheSize &&
+					lazyPrimitives == other.lazyPrimitives &&
+					strict == other.strict &&
+					lineTracking == other.lineTracking &&
+					discardFormatting == other.discardFormatting;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(bareRootObject, unquotedKeys, keyValueSeparator, keyCacheSize, lazyPrimitives, strict, lineTracking, discardFormatting);
+		}
 	}
 }
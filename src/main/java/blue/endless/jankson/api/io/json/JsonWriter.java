@@ -27,15 +27,23 @@ package blue.endless.jankson.api.io.json;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.Character.UnicodeBlock;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import blue.endless.jankson.api.Escaper;
 import blue.endless.jankson.api.document.CommentElement;
 import blue.endless.jankson.api.document.CommentType;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
 import blue.endless.jankson.impl.io.AbstractStructuredDataWriter;
 
-public class JsonWriter extends AbstractStructuredDataWriter {
+public class JsonWriter extends AbstractStructuredDataWriter implements StructuredDataSink {
+	private static final Set<UnicodeBlock> UNESCAPED_BLOCKS = Set.of(UnicodeBlock.BASIC_LATIN);
+	
 	private final JsonWriterOptions.Access options;
 	private int indentLevel = 0;
 	
@@ -53,6 +61,25 @@ public class JsonWriter extends AbstractStructuredDataWriter {
 		this.options = options;
 	}
 	
+	/**
+	 * Starts writing a new document to destination, with the same options. The previous destination is not flushed or
+	 * closed.
+	 * @param destination the Writer to write the next document to
+	 * @return this JsonWriter
+	 */
+	public JsonWriter reset(Writer destination) {
+		super.resetState(destination);
+		indentLevel = 0;
+		line = 0;
+		column = 0;
+		skipNewline = false;
+		return this;
+	}
+	
+	public JsonWriterOptions.Access getOptions() {
+		return options;
+	}
+	
 	private void write(char ch) throws IOException {
 		if (ch == '\n') {
 			line++;
@@ -80,21 +107,7 @@ public class JsonWriter extends AbstractStructuredDataWriter {
 	@Override
 	public void write(StructuredData data) throws IOException {
 		switch(data.type()) {
-			case PRIMITIVE -> {
-				if (data.value() == null) {
-					writeNullLiteral();
-				} else if (data.value() instanceof String val) {
-					writeStringLiteral(val);
-				} else if (data.value() instanceof Long val) {
-					writeLongLiteral(val);
-				} else if (data.value() instanceof Double val) {
-					writeDoubleLiteral(val);
-				} else if (data.value() instanceof Boolean val) {
-					writeBooleanLiteral(val);
-				} else {
-					throw new IOException("Found illegal value in a PRIMITIVE StructuredData element");
-				}
-			}
+			case PRIMITIVE -> writePrimitiveValue(data.value());
 			case ARRAY_START -> writeArrayStart();
 			case ARRAY_END -> writeArrayEnd();
 			case OBJECT_START -> writeObjectStart();
@@ -121,6 +134,71 @@ public class JsonWriter extends AbstractStructuredDataWriter {
 		}
 	}
 	
+	@Override
+	public void startObject() throws IOException {
+		writeObjectStart();
+	}
+	
+	@Override
+	public void endObject() throws IOException {
+		writeObjectEnd();
+	}
+	
+	@Override
+	public void startArray() throws IOException {
+		writeArrayStart();
+	}
+	
+	@Override
+	public void endArray() throws IOException {
+		writeArrayEnd();
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws IOException {
+		writeKey(key.toString());
+	}
+	
+	@Override
+	public void writeString(CharSequence value) throws IOException {
+		writeStringLiteral(value.toString());
+	}
+	
+	@Override
+	public void writeLong(long value) throws IOException {
+		writeLongLiteral(value);
+	}
+	
+	@Override
+	public void writeDouble(double value) throws IOException {
+		writeDoubleLiteral(value);
+	}
+	
+	@Override
+	public void writeBoolean(boolean value) throws IOException {
+		writeBooleanLiteral(value);
+	}
+	
+	@Override
+	public void writeNull() throws IOException {
+		writeNullLiteral();
+	}
+	
+	@Override
+	public void writePrimitive(PrimitiveElement value) throws IOException {
+		writePrimitiveValue(value.getValue().orElse(null));
+	}
+	
+	@Override
+	public void comment(CommentElement comment) throws IOException {
+		writeComment(comment.getValue(), comment.getCommentType());
+	}
+	
+	@Override
+	public void newline() throws IOException {
+		writeNewline();
+	}
+	
 	private void writeComment(String value, CommentType type) throws IOException {
 		switch(type) {
 		case LINE_END:
@@ -287,7 +365,7 @@ public class JsonWriter extends AbstractStructuredDataWriter {
 		assertValue();
 		
 		write('"');
-		String escaped = Escaper.escapeString(value, '"', Set.of(UnicodeBlock.BASIC_LATIN));
+		String escaped = Escaper.escapeString(value, '"', UNESCAPED_BLOCKS);
 		//System.out.println(escaped);
 		write(escaped);
 		write('"');
@@ -311,6 +389,32 @@ public class JsonWriter extends AbstractStructuredDataWriter {
 		valueWritten();
 	}
 	
+	private void writePrimitiveValue(@Nullable Object value) throws IOException {
+		if (value == null) {
+			writeNullLiteral();
+		} else if (value instanceof String val) {
+			writeStringLiteral(val);
+		} else if (value instanceof Long val) {
+			writeLongLiteral(val);
+		} else if (value instanceof Double val) {
+			writeDoubleLiteral(val);
+		} else if (value instanceof Boolean val) {
+			writeBooleanLiteral(val);
+		} else if (value instanceof BigInteger || value instanceof BigDecimal) {
+			writeBigNumberLiteral((Number) value);
+		} else {
+			throw new IOException("Found illegal value in a PRIMITIVE StructuredData element");
+		}
+	}
+	
+	private void writeBigNumberLiteral(Number value) throws IOException {
+		addCommas();
+		
+		assertValue();
+		write(value.toString());
+		valueWritten();
+	}
+	
 	private void writeBooleanLiteral(boolean value) throws IOException {
 		addCommas();
 		
@@ -24,6 +24,8 @@
 
 package blue.endless.jankson.api.io.json;
 
+import java.util.Objects;
+
 import blue.endless.jankson.api.io.style.CommentStyle;
 import blue.endless.jankson.api.io.style.WhitespaceStyle;
 
@@ -155,5 +157,27 @@ public sealed abstract class JsonWriterOptions permits JsonWriterOptions.Builder
 		public Builder asBuilder() {
 			return new Builder(this);
 		}
+		
+		/**
+		 * Access objects can't be changed, so two of them are equal if every option has the same value.
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) return true;
+			if (!(obj instanceof Access other)) return false;
+			return
+					bareRootObject == other.bareRootObject &&
+					unquotedKeys == other.unquotedKeys &&
+					ommitCommas == other.ommitCommas &&
+					comments == other.comments &&
+					whitespace == other.whitespace &&
+					keyValueSeparator == other.keyValueSeparator &&
+					Objects.equals(indentValue, other.indentValue);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(bareRootObject, unquotedKeys, ommitCommas, comments, whitespace, keyValueSeparator, indentValue);
+		}
 	}
 }
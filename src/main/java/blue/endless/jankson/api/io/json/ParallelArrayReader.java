@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.api.io.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ArrayElement;
+import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.api.function.CheckedFunction;
+import blue.endless.jankson.api.io.ObjectWriter;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.impl.io.context.ArrayElementScanner;
+
+/**
+ * Reads a json document which is one large array, parsing its elements concurrently. A quick pre-scan finds where each
+ * element starts and ends, tracking only brackets, quotes, and comments; then the elements are split among the threads
+ * of a ForkJoinPool and each one is read by its own {@link JsonReader}. Results are always assembled in array order.
+ * 
+ * <p>The whole document is held in memory. Comments and whitespace between elements are not kept, since they don't
+ * belong to any one element.
+ */
+public class ParallelArrayReader {
+	/** Arrays with fewer elements than this are read on the calling thread. */
+	public static final int MINIMUM_PARALLEL_ELEMENTS = 64;
+	
+	/**
+	 * Reads an array of json values.
+	 * @param json the json text, which must consist of a single array
+	 * @param opts hints and settings to control the reading process
+	 * @param pool the pool to parse elements on
+	 * @return an ArrayElement holding the elements in order
+	 * @throws IOException if there was a problem reading the data
+	 * @throws SyntaxError if the document is not an array, or if any element could not be read. The error is located at
+	 *                     the start of the element which failed.
+	 */
+	public static ArrayElement readArray(String json, JsonReaderOptions.Access opts, ForkJoinPool pool) throws IOException, SyntaxError {
+		Object[] elements = read(json, opts, pool, text -> {
+			JsonReader reader = new JsonReader(text, opts);
+			ValueElementWriter writer = new ValueElementWriter();
+			reader.transferTo(writer);
+			return writer.getResult();
+		});
+		
+		ArrayElement result = new ArrayElement();
+		for(Object elem : elements) result.add((ValueElement) elem);
+		return result;
+	}
+	
+	/**
+	 * Reads an array of json values from a Reader. The Reader will be read all the way to the end of the stream, but will
+	 * not be closed.
+	 * @see #readArray(String, JsonReaderOptions.Access, ForkJoinPool)
+	 */
+	public static ArrayElement readArray(Reader r, JsonReaderOptions.Access opts, ForkJoinPool pool) throws IOException, SyntaxError {
+		return readArray(readFully(r), opts, pool);
+	}
+	
+	/**
+	 * Reads an array of json values into a List of objects of the specified Type.
+	 * @param <T> the type of object to produce
+	 * @param json the json text, which must consist of a single array
+	 * @param opts hints and settings to control the reading process
+	 * @param elementType the type of each element
+	 * @param pool the pool to parse elements on
+	 * @return a modifiable List holding the elements in order
+	 * @throws IOException if there was a problem reading the data
+	 * @throws SyntaxError if the document is not an array, or if any element could not be read or mapped to elementType
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<T> readList(String json, JsonReaderOptions.Access opts, Type elementType, ForkJoinPool pool) throws IOException, SyntaxError {
+		Object[] elements = read(json, opts, pool, text -> {
+			JsonReader reader = new JsonReader(text, opts);
+			ObjectWriter<T> writer = new ObjectWriter<>(elementType);
+			reader.transferTo(writer);
+			return writer.toObject();
+		});
+		
+		return new ArrayList<>((List<T>) Arrays.asList(elements));
+	}
+	
+	/**
+	 * Reads an array of json values into a List of objects of the specified Class.
+	 * @see #readList(String, JsonReaderOptions.Access, Type, ForkJoinPool)
+	 */
+	public static <T> List<T> readList(String json, JsonReaderOptions.Access opts, Class<T> elementClass, ForkJoinPool pool) throws IOException, SyntaxError {
+		return readList(json, opts, (Type) elementClass, pool);
+	}
+	
+	/**
+	 * Reads an array of json values from a Reader into a List of objects of the specified Type. The Reader will be read
+	 * all the way to the end of the stream, but will not be closed.
+	 * @see #readList(String, JsonReaderOptions.Access, Type, ForkJoinPool)
+	 */
+	public static <T> List<T> readList(Reader r, JsonReaderOptions.Access opts, Type elementType, ForkJoinPool pool) throws IOException, SyntaxError {
+		return readList(readFully(r), opts, elementType, pool);
+	}
+	
+	/**
+	 * Reads an array of json values from a Reader into a List of objects of the specified Class. The Reader will be read
+	 * all the way to the end of the stream, but will not be closed.
+	 * @see #readList(String, JsonReaderOptions.Access, Type, ForkJoinPool)
+	 */
+	public static <T> List<T> readList(Reader r, JsonReaderOptions.Access opts, Class<T> elementClass, ForkJoinPool pool) throws IOException, SyntaxError {
+		return readList(readFully(r), opts, (Type) elementClass, pool);
+	}
+	
+	private static String readFully(Reader r) throws IOException {
+		StringWriter out = new StringWriter();
+		r.transferTo(out);
+		return out.toString();
+	}
+	
+	private static Object[] read(String json, JsonReaderOptions.Access opts, ForkJoinPool pool, ElementParser parser) throws IOException, SyntaxError {
+		int[] ranges = ArrayElementScanner.scan(json, opts.isStrict());
+		int count = ranges.length / 2;
+		Object[] results = new Object[count];
+		
+		if (count < MINIMUM_PARALLEL_ELEMENTS || pool.getParallelism() < 2) {
+			for(int i=0; i<count; i++) {
+				results[i] = parseElement(json, ranges, i, parser);
+			}
+		} else {
+			// Several chunks per thread, so that a few slow elements don't leave the other threads idle
+			int chunkSize = Math.max(1, count / (pool.getParallelism() * 8));
+			ParseTask task = new ParseTask(json, ranges, results, parser, 0, count, chunkSize);
+			pool.invoke(task);
+			if (task.failure != null) throw task.failure;
+		}
+		
+		return results;
+	}
+	
+	private static Object parseElement(String json, int[] ranges, int index, ElementParser parser) throws SyntaxError {
+		int start = ranges[index * 2];
+		int end = ranges[index * 2 + 1];
+		try {
+			return parser.apply(json.substring(start, end));
+		} catch (Exception ex) {
+			Throwable cause = (ex instanceof IOException && ex.getCause() instanceof SyntaxError err) ? err : ex;
+			throw ArrayElementScanner.errorAt("Could not read array element "+index+": "+cause.getMessage(), json, start, cause);
+		}
+	}
+	
+	@FunctionalInterface
+	private static interface ElementParser extends CheckedFunction<String, Object, Exception> {}
+	
+	@SuppressWarnings("serial")
+	private static class ParseTask extends RecursiveAction {
+		private final String json;
+		private final int[] ranges;
+		private final Object[] results;
+		private final ElementParser parser;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+		/** The first failure among this task and its subtasks, lowest element first. */
+		private SyntaxError failure;
+		private int failedIndex = Integer.MAX_VALUE;
+		
+		public ParseTask(String json, int[] ranges, Object[] results, ElementParser parser, int from, int to, int chunkSize) {
+			this.json = json;
+			this.ranges = ranges;
+			this.results = results;
+			this.parser = parser;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= chunkSize) {
+				for(int i=from; i<to; i++) {
+					try {
+						results[i] = parseElement(json, ranges, i, parser);
+					} catch (SyntaxError ex) {
+						failure = ex;
+						failedIndex = i;
+						return;
+					}
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				ParseTask left = new ParseTask(json, ranges, results, parser, from, mid, chunkSize);
+				ParseTask right = new ParseTask(json, ranges, results, parser, mid, to, chunkSize);
+				invokeAll(left, right);
+				
+				ParseTask failed = (left.failedIndex <= right.failedIndex) ? left : right;
+				failure = failed.failure;
+				failedIndex = failed.failedIndex;
+			}
+		}
+	}
+}
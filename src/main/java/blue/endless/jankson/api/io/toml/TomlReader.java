@@ -26,6 +26,7 @@ package blue.endless.jankson.api.io.toml;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -38,10 +39,12 @@ import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.document.ValueElement;
 import blue.endless.jankson.api.io.StructuredData;
 import blue.endless.jankson.impl.io.AbstractStructuredDataReader;
+import blue.endless.jankson.impl.io.MappedFileCodePointSource;
 import blue.endless.jankson.impl.io.context.BooleanValueParser;
 import blue.endless.jankson.impl.io.context.CommentValueParser;
 import blue.endless.jankson.impl.io.context.NumberValueParser;
 import blue.endless.jankson.impl.io.context.StringValueParser;
+import blue.endless.jankson.impl.io.context.ValueLexer;
 import blue.endless.jankson.impl.io.context.toml.DateValueParser;
 import blue.endless.jankson.impl.io.context.toml.TomlTripleQuotedStringValueParser;
 
@@ -143,6 +146,13 @@ public class TomlReader extends AbstractStructuredDataReader {
 	public TomlReader(Reader src) {
 		super(src);
 	}
+	
+	/**
+	 * Creates a TomlReader which decodes a UTF-8 toml file through a read-only memory mapping.
+	 */
+	public TomlReader(Path src) throws IOException {
+		super(MappedFileCodePointSource.open(src));
+	}
 
 	@Override
 	protected void readNext() throws SyntaxError, IOException {
@@ -292,29 +302,20 @@ public class TomlReader extends AbstractStructuredDataReader {
 	}
 	
 	private ValueElement readValue() throws IOException, SyntaxError {
-		if (TomlTripleQuotedStringValueParser.canReadStatic(src)) {
+		return switch(ValueLexer.classify(src, true)) {
 			//Also parses literal multiline strings
-			return PrimitiveElement.of(TomlTripleQuotedStringValueParser.readStatic(src));
-		} else if (src.peek() == '\'') {
-			//Parse literal strings
-			return readLiteralString();
-		} else if (StringValueParser.canReadStatic(src)) {
-			return PrimitiveElement.of(StringValueParser.readStatic(src));
-		} else if (BooleanValueParser.canReadStatic(src)) {
-			return PrimitiveElement.of(BooleanValueParser.readStatic(src));
-		} else if (DateValueParser.canReadStatic(src)) {
-			return PrimitiveElement.of(DateValueParser.readStatic(src));
+			case TRIPLE_QUOTED_STRING -> PrimitiveElement.of(TomlTripleQuotedStringValueParser.readStatic(src));
+			//Single quotes are literal strings
+			case STRING -> (src.peek() == '\'') ? readLiteralString() : PrimitiveElement.of(StringValueParser.readStatic(src));
+			case BOOLEAN -> PrimitiveElement.of(BooleanValueParser.readStatic(src));
 			// TODO: Parse dates
-			// Do this at a higher priority than numbers because we might get false positives
-		} else if (NumberValueParser.canReadStatic(src)) {
-			return PrimitiveElement.box(NumberValueParser.readStatic(src));
-		} else if (src.peek() == '[') {
-			return readInlineArray();
-		} else if (src.peek() == '{') {
-			return readInlineTable();
-		} else {
-			throw new SyntaxError("Unknown value type", src.getLine(), src.getCharacter());
-		}
+			// The lexer checks for these before numbers because we might get false positives
+			case DATE -> PrimitiveElement.of(DateValueParser.readStatic(src));
+			case NUMBER -> NumberValueParser.readElement(src);
+			case ARRAY_START -> readInlineArray();
+			case OBJECT_START -> readInlineTable();
+			default -> throw new SyntaxError("Unknown value type", src.getLine(), src.getCharacter());
+		};
 	}
 	
 	private void readAndCommitValue() throws IOException, SyntaxError {
@@ -26,6 +26,8 @@ package blue.endless.jankson.api.io.toml;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Map;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -92,6 +94,14 @@ public class TomlWriter extends AbstractBufferedStructuredDataWriter {
 					writer.write(Boolean.toString(b));
 				}
 				
+				case BigInteger i -> {
+					writer.write(i.toString());
+				}
+				
+				case BigDecimal d -> {
+					writer.write(d.toString());
+				}
+				
 				default -> {
 					throw new IOException("Don't know how to deal with Primitive value of type "+prim.getValue().get().getClass().getCanonicalName());
 				}
@@ -24,6 +24,7 @@
 
 package blue.endless.jankson.impl.io;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayDeque;
@@ -35,24 +36,59 @@ import blue.endless.jankson.api.io.StructuredDataBuffer;
 import blue.endless.jankson.api.io.StructuredDataReader;
 import blue.endless.jankson.impl.io.context.ParserContext;
 
-public abstract class AbstractStructuredDataReader implements StructuredDataReader {
+public abstract class AbstractStructuredDataReader implements StructuredDataReader, Closeable {
 	protected final LookaheadCodePointReader src;
 	protected final StructuredDataBuffer readQueue = new StructuredDataBuffer();
 	private final Deque<ParserContext> contextStack = new ArrayDeque<>();
 	
 	public AbstractStructuredDataReader(Reader src) {
-		this.src = new LookaheadCodePointReader(src);
+		this(new LookaheadCodePointReader(src, LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE));
 	}
 	
-	protected ParserContext getContext() {
+	protected AbstractStructuredDataReader(CodePointSource src) {
+		this(new LookaheadCodePointReader(src, LookaheadCodePointReader.DEFAULT_LOOKAHEAD, LookaheadCodePointReader.DEFAULT_BUFFER_SIZE));
+	}
+	
+	protected AbstractStructuredDataReader(LookaheadCodePointReader src) {
+		this.src = src;
+	}
+	
+	/**
+	 * Creates a reader which starts out in the supplied root context, so that subclasses don't need to push one from
+	 * their constructors.
+	 */
+	protected AbstractStructuredDataReader(LookaheadCodePointReader src, ParserContext root) {
+		this.src = src;
+		contextStack.push(root);
+	}
+	
+	/**
+	 * Discards all parser state and starts over on a new Reader, reusing this reader's buffers. Subclasses should push
+	 * a fresh root context afterwards.
+	 */
+	protected void resetState(Reader source) {
+		src.reset(source);
+		readQueue.clear();
+		contextStack.clear();
+	}
+	
+	/**
+	 * Closes the source this reader is reading from. For a memory-mapped file, this releases the file channel.
+	 */
+	@Override
+	public void close() throws IOException {
+		src.close();
+	}
+	
+	protected final ParserContext getContext() {
 		return contextStack.peek();
 	}
 	
-	protected void pushContext(ParserContext context) {
+	protected final void pushContext(ParserContext context) {
 		contextStack.push(context);
 	}
 	
-	protected void popContext() {
+	protected final void popContext() {
 		contextStack.pop();
 	}
 	
@@ -65,13 +101,7 @@ public abstract class AbstractStructuredDataReader implements StructuredDataRead
 	}
 	
 	protected void skipNonBreakingWhitespace() throws SyntaxError, IOException {
-		while(true) {
-			int ch = src.peek();
-			if (ch==-1) return;
-			if (ch=='\n') return;
-			if (!Character.isWhitespace(ch)) return;
-			src.read();
-		}
+		src.skipWhitespace(false);
 	}
 	
 	protected abstract void readNext() throws SyntaxError, IOException;
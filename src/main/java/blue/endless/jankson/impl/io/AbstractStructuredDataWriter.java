@@ -35,7 +35,7 @@ import blue.endless.jankson.api.io.StructuredDataWriter;
  * Helper class that handles state consistency for StructuredDataWriters.
  */
 public abstract class AbstractStructuredDataWriter implements StructuredDataWriter {
-	protected final Writer dest;
+	protected Writer dest;
 	protected Deque<State> context = new ArrayDeque<>();
 	protected boolean rootWritten = false;
 	
@@ -44,6 +44,16 @@ public abstract class AbstractStructuredDataWriter implements StructuredDataWrit
 		context.push(State.ROOT);
 	}
 	
+	/**
+	 * Discards all writer state and starts over on a new Writer, so that another document can be written.
+	 */
+	protected void resetState(Writer writer) {
+		this.dest = writer;
+		context.clear();
+		context.push(State.ROOT);
+		rootWritten = false;
+	}
+	
 	/**
 	 * Throws an exception if we're not ready to write a key
 	 */
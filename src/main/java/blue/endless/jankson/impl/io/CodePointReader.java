@@ -87,12 +87,14 @@ public interface CodePointReader extends AutoCloseable {
 	void close() throws IOException;
 	
 	/**
-	 * Gets the number of code points that have been read so far in the current line, starting from zero.
+	 * Gets the number of code points that have been read so far in the current line, starting from zero, or -1 if
+	 * this reader isn't keeping track.
 	 */
 	int getCharacter();
 	
 	/**
-	 * Gets the number of lines that have been read so far in the stream, starting from zero.
+	 * Gets the number of lines that have been read so far in the stream, starting from zero, or -1 if this reader
+	 * isn't keeping track.
 	 */
 	int getLine();
 }
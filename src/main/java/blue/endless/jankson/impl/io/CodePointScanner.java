@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+/**
+ * Searches runs of code points for the characters that end them. These are tight loops over the reader's window, kept
+ * in one place so that the String, comment, and whitespace scanners all share them.
+ */
+public class CodePointScanner {
+	
+	/**
+	 * Finds the first occurrence of any of the three stop code points.
+	 * @return the index of the first stop in buf between from (inclusive) and to (exclusive), or to if there is none
+	 */
+	public static int indexOfAny(int[] buf, int from, int to, int stopA, int stopB, int stopC) {
+		for(int i=from; i<to; i++) {
+			int ch = buf[i];
+			if (ch==stopA || ch==stopB || ch==stopC) return i;
+		}
+		return to;
+	}
+	
+	/**
+	 * Finds the first code point which isn't json whitespace: space, tab, carriage return, and, if newlines is true,
+	 * line feed.
+	 * @return the index of the first non-whitespace code point in buf between from (inclusive) and to (exclusive), or
+	 *         to if there is none
+	 */
+	public static int skipJsonWhitespace(int[] buf, int from, int to, boolean newlines) {
+		for(int i=from; i<to; i++) {
+			if (!isJsonWhitespace(buf[i], newlines)) return i;
+		}
+		return to;
+	}
+	
+	static boolean isJsonWhitespace(int ch, boolean newlines) {
+		return ch == ' ' || ch == '\t' || ch == '\r' || (newlines && ch == '\n');
+	}
+}
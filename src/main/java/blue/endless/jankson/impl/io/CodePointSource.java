@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+
+/**
+ * Supplies decoded code points to a {@link LookaheadCodePointReader}. Implementations are responsible for turning some
+ * kind of raw input (chars, bytes) into code points, replacing anything malformed with U+FFFD.
+ */
+public interface CodePointSource extends AutoCloseable {
+	public static final int REPLACEMENT_CHARACTER = 0xFFFD;
+	
+	/**
+	 * Decodes as many code points as are conveniently available into dest.
+	 * @param dest   the destination array
+	 * @param offset the index to start storing code points at
+	 * @param len    the maximum number of code points to store. This will always be at least two.
+	 * @return       the number of code points stored, which may be zero if more raw input is needed to complete a code
+	 *               point, or -1 if the end of the input has been reached.
+	 * @throws IOException if an I/O error occurs
+	 */
+	int decode(int[] dest, int offset, int len) throws IOException;
+	
+	@Override
+	void close() throws IOException;
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * CodePointSource which is fed input as it arrives, instead of pulling it from a stream. Partial UTF-8 sequences and
+ * surrogate pairs which are split across chunks are held back until the rest of them arrives.
+ * 
+ * <p>This source never blocks. If it's asked for code points when none have been fed, it reports zero of them, so
+ * callers must make sure that enough input is present before reading.
+ */
+public class FeedableCodePointSource implements CodePointSource {
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	private final CharBuffer decoded = CharBuffer.allocate(4096);
+	private ByteBuffer leftoverBytes = ByteBuffer.allocate(0);
+	
+	private final IntConsumer listener;
+	private int[] buffer = new int[4096];
+	private int head = 0;
+	private int tail = 0;
+	private int pendingHighSurrogate = -1;
+	private boolean finished = false;
+	
+	/**
+	 * Creates a new FeedableCodePointSource.
+	 * @param listener will be shown every code point as it's fed, before it becomes available to read
+	 */
+	public FeedableCodePointSource(IntConsumer listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Feeds characters into this source.
+	 */
+	public void feed(char[] chars, int offset, int length) {
+		if (finished) throw new IllegalStateException("Cannot feed input after the end of input.");
+		for(int i=offset; i<offset+length; i++) {
+			feedChar(chars[i]);
+		}
+	}
+	
+	/**
+	 * Feeds all the remaining bytes of a buffer into this source as UTF-8. The buffer's position is moved to its limit.
+	 */
+	public void feed(ByteBuffer bytes) {
+		if (finished) throw new IllegalStateException("Cannot feed input after the end of input.");
+		
+		ByteBuffer in = bytes;
+		if (leftoverBytes.hasRemaining()) {
+			// Stitch the incomplete sequence from last time onto the front of this chunk
+			in = ByteBuffer.allocate(leftoverBytes.remaining() + bytes.remaining());
+			in.put(leftoverBytes).put(bytes).flip();
+		}
+		
+		decodeBytes(in, false);
+		
+		if (in.hasRemaining()) {
+			leftoverBytes = ByteBuffer.allocate(in.remaining());
+			leftoverBytes.put(in).flip();
+		} else {
+			leftoverBytes = ByteBuffer.allocate(0);
+		}
+		bytes.position(bytes.limit());
+	}
+	
+	/**
+	 * Marks the end of the input. Anything incomplete at this point is reported as U+FFFD.
+	 */
+	public void finish() {
+		if (finished) return;
+		decodeBytes(leftoverBytes, true);
+		leftoverBytes = ByteBuffer.allocate(0);
+		if (pendingHighSurrogate != -1) {
+			append(REPLACEMENT_CHARACTER);
+			pendingHighSurrogate = -1;
+		}
+		finished = true;
+	}
+	
+	public boolean isFinished() {
+		return finished;
+	}
+	
+	/**
+	 * Returns the number of code points which have been fed, but not yet read.
+	 */
+	public int available() {
+		return tail - head;
+	}
+	
+	private void decodeBytes(ByteBuffer in, boolean endOfInput) {
+		while(true) {
+			CoderResult result = decoder.decode(in, decoded, endOfInput);
+			if (endOfInput && result.isUnderflow()) result = decoder.flush(decoded);
+			
+			decoded.flip();
+			while(decoded.hasRemaining()) feedChar(decoded.get());
+			decoded.clear();
+			
+			if (result.isUnderflow()) return;
+		}
+	}
+	
+	private void feedChar(char ch) {
+		if (pendingHighSurrogate != -1) {
+			if (Character.isLowSurrogate(ch)) {
+				append(Character.toCodePoint((char) pendingHighSurrogate, ch));
+				pendingHighSurrogate = -1;
+				return;
+			}
+			
+			append(REPLACEMENT_CHARACTER);
+			pendingHighSurrogate = -1;
+		}
+		
+		if (!Character.isSurrogate(ch)) {
+			append(ch);
+		} else if (Character.isHighSurrogate(ch)) {
+			pendingHighSurrogate = ch;
+		} else {
+			append(REPLACEMENT_CHARACTER);
+		}
+	}
+	
+	private void append(int codePoint) {
+		if (tail == buffer.length) {
+			if (head > 0) {
+				System.arraycopy(buffer, head, buffer, 0, tail - head);
+				tail -= head;
+				head = 0;
+			}
+			if (tail == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		buffer[tail++] = codePoint;
+		listener.accept(codePoint);
+	}
+	
+	@Override
+	public int decode(int[] dest, int offset, int len) throws IOException {
+		if (head == tail) {
+			head = 0;
+			tail = 0;
+			return (finished) ? -1 : 0;
+		}
+		
+		int count = Math.min(len, tail - head);
+		System.arraycopy(buffer, head, dest, offset, count);
+		head += count;
+		return count;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+}
@@ -55,4 +55,46 @@ public interface Lookahead {
 	 * @throws IllegalArgumentException if the lookahead is less than 1 or beyond this stream's lookahead buffer size
 	 */
 	public int peek(int distanceAhead) throws IOException;
+	
+	/**
+	 * Returns true if the codepoints immediately ahead of the read pointer exactly match the supplied String. Nothing
+	 * is consumed, and no Strings are created to make the comparison.
+	 * @param s the String to test for. Must not be longer than this stream's lookahead buffer.
+	 * @return  true if the next codepoints in the stream are the codepoints of s
+	 * @throws IOException if an I/O error occurs
+	 */
+	public default boolean peekMatches(String s) throws IOException {
+		int distance = 1;
+		for(int i=0; i<s.length(); ) {
+			int expected = s.codePointAt(i);
+			if (peek(distance) != expected) return false;
+			i += Character.charCount(expected);
+			distance++;
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns true if the codepoints immediately ahead of the read pointer match the supplied String, ignoring case.
+	 * Nothing is consumed, and no Strings are created to make the comparison.
+	 * @param s the String to test for. Must not be longer than this stream's lookahead buffer.
+	 * @return  true if the next codepoints in the stream are the codepoints of s, in any combination of cases
+	 * @throws IOException if an I/O error occurs
+	 */
+	public default boolean peekMatchesIgnoreCase(String s) throws IOException {
+		int distance = 1;
+		for(int i=0; i<s.length(); ) {
+			int expected = s.codePointAt(i);
+			if (!equalsIgnoreCase(peek(distance), expected)) return false;
+			i += Character.charCount(expected);
+			distance++;
+		}
+		return true;
+	}
+	
+	private static boolean equalsIgnoreCase(int a, int b) {
+		if (a == b) return true;
+		if (a == -1 || b == -1) return false;
+		return Character.toLowerCase(a) == Character.toLowerCase(b) || Character.toUpperCase(a) == Character.toUpperCase(b);
+	}
 }
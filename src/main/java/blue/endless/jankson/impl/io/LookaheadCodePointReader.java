@@ -26,139 +26,529 @@ package blue.endless.jankson.impl.io;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
 
+import javax.annotation.Nullable;
+
+/**
+ * CodePointReader which decodes its input in bulk. Code points are pulled from a {@link CodePointSource} a chunk at a
+ * time and stored in a window which read, peek, and peekString are served from.
+ * 
+ * <p>The window is at least as large as the lookahead distance. Readers which are created with an explicit bufferSize
+ * (the "chunked" mode used by the structured data readers) keep a much larger window, so that the underlying source
+ * is only consulted once every few thousand code points.
+ */
 public class LookaheadCodePointReader implements CodePointReader, Lookahead {
-	private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+	public static final int DEFAULT_LOOKAHEAD = 16;
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
 	
-	private final Reader in;
+	private CodePointSource in;
+	private boolean eof = false;
 	
-	private int charLookahead = -1;
+	private final int maxLookahead;
+	/*
+	 * Code points in the half-open range [pos, limit) have been decoded but not yet read. There is always one more slot
+	 * than the buffer size, so that sources can always be offered room for at least two code points.
+	 */
+	private final int[] window;
+	private int pos = 0;
+	private int limit = 0;
 	
-	private final int[] lookahead;
-	private int len = 0;
-	private int ofs = 0;
+	/*
+	 * The offset of the read pointer, in code points, is always just discarded + pos, so recording where a token starts
+	 * costs nothing. Lines are found in bulk: code points in the window before "counted" have been scanned, and the
+	 * offset just past each newline among them is in lineStarts. Line and character numbers are only worked out from
+	 * that index when someone asks for them, which is normally when a SyntaxError is being built.
+	 */
+	private long discarded = 0L;
+	private int counted = 0;
+	private boolean lineTracking = true;
+	private long[] lineStarts = new long[16];
+	private int lineCount = 0;
+	private int readsPastEnd = 0;
+	private long position = 0L;
 	
-	private int line = 0;
-	private int character = 0;
+	private StringPool stringPool = null;
+	private CharSequence sourceText = null;
+	private StringBuilder recording = null;
 	
 	public LookaheadCodePointReader(Reader in) {
-		this(in, 16);
+		this(in, DEFAULT_LOOKAHEAD);
 	}
 	
 	public LookaheadCodePointReader(Reader in, int lookahead) {
+		this(in, lookahead, lookahead);
+	}
+	
+	/**
+	 * Creates a chunked LookaheadCodePointReader.
+	 * @param in         the Reader to pull characters from
+	 * @param lookahead  the maximum distance that can be peeked ahead of the read pointer
+	 * @param bufferSize the number of characters to request from the Reader at a time. This will be rounded up to the
+	 *                   lookahead distance if it's smaller.
+	 */
+	public LookaheadCodePointReader(Reader in, int lookahead, int bufferSize) {
+		this(new ReaderCodePointSource(in, Math.max(lookahead, bufferSize)), lookahead, bufferSize);
+	}
+	
+	/**
+	 * Creates a chunked LookaheadCodePointReader which decodes code points from an arbitrary source.
+	 * @param in         the source to decode code points from
+	 * @param lookahead  the maximum distance that can be peeked ahead of the read pointer
+	 * @param bufferSize the number of code points to hold in the window. This will be rounded up to the lookahead
+	 *                   distance if it's smaller.
+	 */
+	public LookaheadCodePointReader(CodePointSource in, int lookahead, int bufferSize) {
+		if (lookahead < 1) throw new IllegalArgumentException("Lookahead must be at least one code point");
 		this.in = in;
-		this.lookahead = new int[lookahead];
+		this.maxLookahead = lookahead;
+		this.window = new int[Math.max(lookahead, bufferSize) + 1];
+	}
+	
+	/**
+	 * Starts over on a new Reader, keeping the window and, if possible, the source's buffers. Line, character, and
+	 * position go back to zero. The StringPool is kept, so keys that repeat from one document to the next stay shared.
+	 * The old source is not closed.
+	 */
+	public void reset(Reader in) {
+		if (this.in instanceof ReaderCodePointSource source) {
+			source.reset(in);
+		} else {
+			this.in = new ReaderCodePointSource(in, window.length - 1);
+		}
+		
+		eof = false;
+		pos = 0;
+		limit = 0;
+		discarded = 0L;
+		counted = 0;
+		lineCount = 0;
+		readsPastEnd = 0;
+		position = 0L;
+		sourceText = null;
+		recording = null;
 	}
 	
 	@Override
 	public String peekString(int length) throws IOException {
+		int wanted = Math.min(length, maxLookahead); //Never reach farther than we've promised to
+		ensureAvailable(wanted);
 		
-		if (length > len) {
-			int lookaheadNeeded = length - len;
-			for(int i=0; i<lookaheadNeeded; i++) lookahead();
+		int resultLength = Math.min(wanted, limit - pos); //We might have hit EOF before filling our quota
+		return new String(window, pos, resultLength);
+	}
+	
+	/**
+	 * Decodes code points from the underlying Reader until at least count code points are available in the window, or
+	 * until the end of the stream is reached.
+	 */
+	private void ensureAvailable(int count) throws IOException {
+		while (limit - pos < count && !eof) {
+			fill();
 		}
+	}
+	
+	/**
+	 * Pulls one chunk of code points from the source onto the end of the window. This may produce zero code points if
+	 * the source is waiting on the rest of a multi-unit sequence.
+	 */
+	private void fill() throws IOException {
+		// Positions inside the window are about to move, so count what's been read while we still can
+		count();
 		
-		int resultLength = Math.min(length, len); //We might have hit EOF before filling our quota
-		StringBuilder result = new StringBuilder();
-		for(int i=0; i<resultLength; i++) {
-			int ptOfs = (ofs + i) % lookahead.length;
-			int point = lookahead[ptOfs];
-			if (point!=-1) result.appendCodePoint(point);
+		if (pos == limit) {
+			// Everything's been read, so we can start over from the beginning for free
+			discarded += pos;
+			pos = 0;
+			limit = 0;
+		} else if (window.length - limit < 2) {
+			// Slide the unread code points back to the start of the window
+			System.arraycopy(window, pos, window, 0, limit - pos);
+			discarded += pos;
+			limit -= pos;
+			pos = 0;
 		}
+		counted = pos;
 		
-		return result.toString();
+		int decoded = in.decode(window, limit, window.length - limit);
+		if (decoded == -1) {
+			eof = true;
+		} else {
+			if (recording != null) {
+				for(int i=limit; i<limit+decoded; i++) recording.appendCodePoint(window[i]);
+			}
+			limit += decoded;
+		}
 	}
-
+	
 	/**
-	 * Tries to add a character to the lookahead buffer
+	 * Consumes count code points which are already in the window.
 	 */
-	private void lookahead() throws IOException {
-		if (len >= lookahead.length) return; //Refuse to clobber the start of the ring buffer
-		int newIndex = (ofs + len) % lookahead.length;
-		int nextChar = readInternal();
-		//if (nextChar==-1) return;
+	private void advance(int count) {
+		pos += count;
+	}
+	
+	/**
+	 * Brings the line-start index and the position count up to date with the read pointer.
+	 */
+	private void count() {
+		if (counted == pos) return;
 		
-		lookahead[newIndex] = nextChar;
-		len++;
+		int supplementary = 0;
+		if (lineTracking) {
+			for(int i=counted; i<pos; i++) {
+				int ch = window[i];
+				if (ch=='\n') {
+					if (lineCount == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+					lineStarts[lineCount++] = discarded + i + 1;
+				} else if (ch >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+					supplementary++;
+				}
+			}
+		} else {
+			for(int i=counted; i<pos; i++) {
+				if (window[i] >= Character.MIN_SUPPLEMENTARY_CODE_POINT) supplementary++;
+			}
+		}
+		position += (pos - counted) + supplementary;
+		counted = pos;
 	}
 	
-	private int readInternal() throws IOException {
-		int high = (charLookahead==-1) ? in.read() : charLookahead;
-		if (high==-1) return -1;
+	@Override
+	public int read() throws IOException {
+		if (pos == limit) ensureAvailable(1);
+		
+		if (pos == limit) {
+			readsPastEnd++;
+			return -1;
+		}
 		
-		if (!Character.isSurrogate((char) high)) {
-			charLookahead = -1;
-			return high;
+		return window[pos++];
+	}
+	
+	@Override
+	public String readString(int numCodePoints) throws IOException {
+		ensureAvailable(1);
+		int available = limit - pos;
+		if (available >= numCodePoints || eof) {
+			// Usually the whole String is sitting in the window already
+			int count = Math.min(numCodePoints, available);
+			String result = new String(window, pos, count);
+			advance(count);
+			return result;
 		}
 		
-		if (Character.isLowSurrogate((char) high)) {
-			charLookahead = -1;
-			return REPLACEMENT_CHARACTER;
+		StringBuilder builder = new StringBuilder();
+		int remaining = numCodePoints;
+		while(remaining > 0) {
+			ensureAvailable(1);
+			int count = Math.min(remaining, limit - pos);
+			if (count == 0) break;
+			
+			for(int i=0; i<count; i++) builder.appendCodePoint(window[pos + i]);
+			advance(count);
+			remaining -= count;
 		}
 		
-		if (Character.isHighSurrogate((char) high)) {
-			int low = in.read();
-			if (low==-1) {
-				//High surrogate followed by EOF, report this as an error
-				charLookahead = -1;
-				return REPLACEMENT_CHARACTER;
-			}
-			if (Character.isLowSurrogate((char) low)) {
-				charLookahead = -1;
-				return Character.toCodePoint((char) high, (char) low);
+		return builder.toString();
+	}
+	
+	/**
+	 * Reads code points up to, but not including, the first occurrence of any of the three stop code points, or up to
+	 * the end of the stream. The stop code point itself is left unread. Runs which are already in the window are
+	 * copied out with a single String construction; only runs longer than the window need to be stitched together.
+	 * @param stopA a code point which ends the run
+	 * @param stopB a code point which ends the run
+	 * @param stopC a code point which ends the run
+	 * @return the code points which were read, possibly an empty String
+	 */
+	public String readStringUntil(int stopA, int stopB, int stopC) throws IOException {
+		return readStringUntil(stopA, stopB, stopC, false);
+	}
+	
+	/**
+	 * Reads code points up to, but not including, the first occurrence of any of the three stop code points, or up to
+	 * the end of the stream.
+	 * @param stopA  a code point which ends the run
+	 * @param stopB  a code point which ends the run
+	 * @param stopC  a code point which ends the run
+	 * @param pooled if true, and a StringPool has been set, the run is matched against the pool before a new String
+	 *               is created for it. Only runs which are ended by stopA are pooled: a run ended by stopB, stopC, or
+	 *               the end of the stream is only part of a larger String, such as the text before an escape.
+	 * @return the code points which were read, possibly an empty String
+	 * @see #setStringPool(StringPool)
+	 */
+	public String readStringUntil(int stopA, int stopB, int stopC, boolean pooled) throws IOException {
+		return readRun(stopA, stopB, stopC, null, pooled);
+	}
+	
+	/**
+	 * Reads code points for as long as they satisfy the supplied predicate, or up to the end of the stream. The first
+	 * code point which fails the test is left unread.
+	 * @param predicate the test which code points in the run must pass
+	 * @return the code points which were read, possibly an empty String
+	 */
+	public String readStringWhile(IntPredicate predicate) throws IOException {
+		return readStringWhile(predicate, false);
+	}
+	
+	/**
+	 * Reads code points for as long as they satisfy the supplied predicate, or up to the end of the stream.
+	 * @param predicate the test which code points in the run must pass
+	 * @param pooled    if true, and a StringPool has been set, the run is matched against the pool before a new
+	 *                  String is created for it
+	 * @return the code points which were read, possibly an empty String
+	 * @see #setStringPool(StringPool)
+	 */
+	public String readStringWhile(IntPredicate predicate, boolean pooled) throws IOException {
+		return readRun(-1, -1, -1, predicate, pooled);
+	}
+	
+	/**
+	 * Reads a run of code points which ends at the first of the three stop code points, or if predicate is non-null, at
+	 * the first code point which fails it. Runs longer than the window are moved out into a StringBuilder as the window
+	 * fills up.
+	 */
+	private String readRun(int stopA, int stopB, int stopC, @Nullable IntPredicate predicate, boolean pooled) throws IOException {
+		StringBuilder overflow = null;
+		int scan = pos;
+		while(true) {
+			if (predicate == null) {
+				scan = CodePointScanner.indexOfAny(window, scan, limit, stopA, stopB, stopC);
 			} else {
-				//High surrogate followed by anything that isn't a low surrogate. Stash the new character as a lookahead
-				charLookahead = low;
-				return REPLACEMENT_CHARACTER;
+				while(scan < limit && predicate.test(window[scan])) scan++;
 			}
+			
+			if (scan < limit || eof) break;
+			
+			if (window.length - (limit - pos) < 2) {
+				// The run fills the whole window; move what we have out of the way so there's room to decode more
+				if (overflow == null) overflow = new StringBuilder(window.length * 2);
+				for(int i=pos; i<scan; i++) overflow.appendCodePoint(window[i]);
+				advance(scan - pos);
+			}
+			
+			int scanned = scan - pos;
+			fill(); // May slide the window contents back to zero
+			scan = pos + scanned;
 		}
 		
-		//We're not sure what this character is, it's some kind of surrogate but not high or low. Report the error.
-		charLookahead = -1;
-		return REPLACEMENT_CHARACTER;
+		// Delimited runs are only pooled if they reached the closing delimiter, stopA
+		boolean complete = predicate != null || (scan < limit && window[scan] == stopA);
+		return finishRun(overflow, scan - pos, pooled && complete);
 	}
 	
-	@Override
-	public int read() throws IOException {
-		int result = -1;
-		
-		if (len>0) {
-			result = lookahead[ofs];
-			ofs = (ofs + 1) % lookahead.length;
-			len--;
-		} else {
-			result = readInternal();
+	/**
+	 * Consumes the count code points at the read pointer and returns them, appended to the overflow if there is one.
+	 */
+	private String finishRun(StringBuilder overflow, int count, boolean pooled) {
+		if (overflow == null) {
+			String run = (pooled && stringPool != null) ? stringPool.intern(window, pos, count) : new String(window, pos, count);
+			advance(count);
+			return run;
 		}
 		
-		if (result=='\n') {
-			line++;
-			character = 0;
-		} else {
-			character++;
+		for(int i=0; i<count; i++) overflow.appendCodePoint(window[pos + i]);
+		advance(count);
+		return overflow.toString();
+	}
+	
+	/**
+	 * Skips code points up to, but not including, the first occurrence of any of the three stop code points, or up to
+	 * the end of the stream. Nothing is allocated.
+	 * @return the next code point, which is either one of the stop code points or -1
+	 */
+	public int skipUntil(int stopA, int stopB, int stopC) throws IOException {
+		while(true) {
+			int scan = CodePointScanner.indexOfAny(window, pos, limit, stopA, stopB, stopC);
+			advance(scan - pos);
+			if (scan < limit) return window[scan];
+			
+			ensureAvailable(1);
+			if (pos == limit) return -1;
 		}
-		
-		return result;
+	}
+	
+	/**
+	 * Skips whitespace, as defined by {@link Character#isWhitespace(int)}, or up to the end of the stream. Nothing is
+	 * allocated. This is the same as {@code skipWhile(Character::isWhitespace)}, but the common json whitespace
+	 * characters are skipped in bulk.
+	 * @param newlines if false, stop at the first newline instead of skipping it
+	 * @return the first code point which is not skipped, which is left unread, or -1
+	 */
+	public int skipWhitespace(boolean newlines) throws IOException {
+		while(true) {
+			int scan = CodePointScanner.skipJsonWhitespace(window, pos, limit, newlines);
+			advance(scan - pos);
+			if (scan < limit) {
+				int ch = window[scan];
+				if (ch == '\n' || !Character.isWhitespace(ch)) return ch;
+				advance(1); // Uncommon whitespace, like a form feed or a vertical tab
+				continue;
+			}
+			
+			ensureAvailable(1);
+			if (pos == limit) return -1;
+		}
+	}
+	
+	/**
+	 * Skips only the whitespace characters allowed by RFC 8259: space, tab, carriage return, and line feed.
+	 * @return the first code point which is not skipped, which is left unread, or -1
+	 */
+	public int skipJsonWhitespace() throws IOException {
+		while(true) {
+			int scan = CodePointScanner.skipJsonWhitespace(window, pos, limit, true);
+			advance(scan - pos);
+			if (scan < limit) return window[scan];
+			
+			ensureAvailable(1);
+			if (pos == limit) return -1;
+		}
+	}
+	
+	/**
+	 * Skips code points for as long as they satisfy the supplied predicate, or up to the end of the stream. Nothing is
+	 * allocated.
+	 * @return the first code point which failed the test, which is left unread, or -1
+	 */
+	public int skipWhile(IntPredicate predicate) throws IOException {
+		while(true) {
+			int scan = pos;
+			while(scan < limit) {
+				int ch = window[scan];
+				if (!predicate.test(ch)) {
+					advance(scan - pos);
+					return ch;
+				}
+				scan++;
+			}
+			advance(scan - pos);
+			
+			ensureAvailable(1);
+			if (pos == limit) return -1;
+		}
+	}
+	
+	/**
+	 * Sets the pool which pooled reads will share Strings through, or null to stop pooling.
+	 */
+	public void setStringPool(@Nullable StringPool pool) {
+		this.stringPool = pool;
+	}
+	
+	public @Nullable StringPool getStringPool() {
+		return stringPool;
+	}
+	
+	/**
+	 * Gets the number of code points which have been read so far, including attempts to read past the end. This is
+	 * cheap enough to record at the start of every token, and can be turned into a line and character later with
+	 * {@link #getLine(long)} and {@link #getCharacter(long)}.
+	 */
+	public long getOffset() {
+		return discarded + pos + readsPastEnd;
+	}
+	
+	/**
+	 * Gets the number of UTF-16 chars which have been read so far. If this reader is decoding a CharSequence from its
+	 * beginning, this is the index into it of the read pointer.
+	 */
+	public long getPosition() {
+		count();
+		return position;
+	}
+	
+	/**
+	 * Sets whether line and character numbers are kept. Newlines are only indexed in bulk as the window moves along,
+	 * but turning this off saves even that, for input that's trusted not to need error locations. While off,
+	 * {@link #getLine()} and {@link #getCharacter()} return -1. This should be set before anything is read.
+	 */
+	public void setLineTracking(boolean value) {
+		count();
+		this.lineTracking = value;
+	}
+	
+	public boolean isLineTracking() {
+		return lineTracking;
+	}
+	
+	/**
+	 * If the full text that this reader decodes is held in memory, parsers can be given it here. They may then refer to
+	 * spans of it by {@link #getPosition() position} instead of copying the text out.
+	 * @param text the complete text this reader is decoding. This must be set before anything is read.
+	 */
+	public void setSourceText(@Nullable CharSequence text) {
+		this.sourceText = text;
+	}
+	
+	public @Nullable CharSequence getSourceText() {
+		return sourceText;
+	}
+	
+	/**
+	 * Keeps a copy of all the text this reader decodes, and makes it available as the {@link #getSourceText() source
+	 * text}, so that parsers can refer to spans of input which wasn't in memory to begin with. The copy grows as the
+	 * input is read, and is only ever appended to; a reset starts a new one, so spans of an earlier document stay valid.
+	 * @throws IllegalStateException if anything has already been decoded
+	 */
+	public void recordSourceText() {
+		if (discarded + limit > 0) throw new IllegalStateException("Source text must be recorded from the start of the input");
+		recording = new StringBuilder();
+		sourceText = recording;
+	}
+	
+	/**
+	 * Consumes up to count code points without creating a String to hold them.
+	 * @param count the number of code points to discard
+	 * @return the number of code points actually discarded, which will be less than count if the stream ended first
+	 */
+	public int skip(int count) throws IOException {
+		int skipped = 0;
+		while(skipped < count) {
+			ensureAvailable(1);
+			int available = Math.min(count - skipped, limit - pos);
+			if (available == 0) break;
+			advance(available);
+			skipped += available;
+		}
+		return skipped;
 	}
 	
 	@Override
 	public int peek() throws IOException {
+		if (pos < limit) return window[pos];
 		return peek(1);
 	}
 	
 	@Override
 	public int peek(int distanceAhead) throws IOException {
 		if (distanceAhead < 1) throw new IllegalArgumentException("Cannot peak fewer than one character ahead");
-		if (distanceAhead > lookahead.length) throw new IllegalArgumentException("Cannot lookahead "+distanceAhead+" characters. The lookahead buffer length is "+lookahead.length+".");
+		if (distanceAhead > maxLookahead) throw new IllegalArgumentException("Cannot lookahead "+distanceAhead+" characters. The lookahead buffer length is "+maxLookahead+".");
 		
-		if (len < distanceAhead) {
-			int charsNeeded = distanceAhead - len;
-			for(int i=0; i<charsNeeded; i++) lookahead();
-		}
+		ensureAvailable(distanceAhead);
 		
-		int index = (ofs + (distanceAhead - 1)) % lookahead.length;
-		return lookahead[index];
+		int index = pos + (distanceAhead - 1);
+		return (index < limit) ? window[index] : -1;
 	}
 
+	@Override
+	public boolean peekMatches(String s) throws IOException {
+		if (s.length() > maxLookahead) throw new IllegalArgumentException("Cannot lookahead "+s.length()+" characters. The lookahead buffer length is "+maxLookahead+".");
+		ensureAvailable(s.length());
+		
+		int index = pos;
+		for(int i=0; i<s.length(); ) {
+			if (index >= limit) return false;
+			int expected = s.codePointAt(i);
+			if (window[index] != expected) return false;
+			i += Character.charCount(expected);
+			index++;
+		}
+		return true;
+	}
+	
 	@Override
 	public void close() throws IOException {
 		in.close();
@@ -166,11 +556,50 @@ public class LookaheadCodePointReader implements CodePointReader, Lookahead {
 	
 	@Override
 	public int getCharacter() {
-		return character;
+		return getCharacter(getOffset());
 	}
 	
 	@Override
 	public int getLine() {
-		return line;
+		return getLine(getOffset());
+	}
+	
+	/**
+	 * Gets the line, starting from zero, which held the code point at an {@link #getOffset() offset} that has already
+	 * been read, or -1 if lines aren't being tracked.
+	 */
+	public int getLine(long offset) {
+		if (!lineTracking) return -1;
+		count();
+		return lineIndex(offset);
+	}
+	
+	/**
+	 * Gets the position within its line, starting from zero, of the code point at an {@link #getOffset() offset} that
+	 * has already been read, or -1 if lines aren't being tracked.
+	 */
+	public int getCharacter(long offset) {
+		if (!lineTracking) return -1;
+		count();
+		int line = lineIndex(offset);
+		long lineStart = (line == 0) ? 0L : lineStarts[line - 1];
+		return (int) (offset - lineStart);
+	}
+	
+	/**
+	 * Finds the number of line starts at or before offset.
+	 */
+	private int lineIndex(long offset) {
+		int low = 0;
+		int high = lineCount;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if (lineStarts[mid] <= offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
 	}
 }
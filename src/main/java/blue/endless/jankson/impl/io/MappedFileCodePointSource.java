@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utf8CodePointSource which decodes a file through a memory mapping, so the file's bytes are never copied onto the
+ * heap. MappedByteBuffers are int-indexed, so files larger than the segment size are mapped one segment at a time;
+ * each new segment starts at the first byte that hasn't been decoded yet, which keeps multi-byte sequences intact.
+ * 
+ * <p>The file channel is closed as soon as the last segment is mapped. A mapping stays valid after its channel is
+ * closed, so for files which fit into a single segment the channel is never held open at all.
+ */
+public class MappedFileCodePointSource extends Utf8CodePointSource {
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+	
+	private final FileChannel channel;
+	private final long size;
+	private final int segmentSize;
+	private long segmentStart = 0L;
+	
+	private MappedFileCodePointSource(FileChannel channel, long size, int segmentSize) throws IOException {
+		super(channel.map(FileChannel.MapMode.READ_ONLY, 0L, Math.min(size, segmentSize)), size <= segmentSize);
+		this.channel = channel;
+		this.size = size;
+		this.segmentSize = segmentSize;
+		if (endOfInput) channel.close();
+	}
+	
+	public static MappedFileCodePointSource open(Path path) throws IOException {
+		return open(path, DEFAULT_SEGMENT_SIZE);
+	}
+	
+	public static MappedFileCodePointSource open(Path path, int segmentSize) throws IOException {
+		if (segmentSize < 4) throw new IllegalArgumentException("Segments must be large enough to hold any UTF-8 sequence");
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new MappedFileCodePointSource(channel, channel.size(), segmentSize);
+		} catch (IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	@Override
+	protected void refill() throws IOException {
+		segmentStart += buf.position();
+		long segmentLength = Math.min(size - segmentStart, segmentSize);
+		buf = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentLength);
+		if (segmentStart + segmentLength >= size) {
+			endOfInput = true;
+			channel.close();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.Projection;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataBuffer;
+import blue.endless.jankson.api.io.StructuredDataReader;
+
+/**
+ * StructuredDataReader which filters another reader down to the paths selected by a {@link Projection}.
+ */
+public class ProjectingStructuredDataReader implements StructuredDataReader {
+	private final StructuredDataReader src;
+	private final StructuredDataBuffer output = new StructuredDataBuffer();
+	private final Deque<Frame> frames = new ArrayDeque<>();
+	private Projection.Node root;
+	
+	/** When nonzero, we are inside a selected subtree and everything is passed through. */
+	private int passthroughDepth = 0;
+	/** A key which matched, waiting to see whether its value does too. */
+	private StructuredData pendingKey = null;
+	private Projection.Node pendingNode = null;
+	
+	public ProjectingStructuredDataReader(StructuredDataReader src, Projection.Node root) {
+		this.src = src;
+		this.root = root;
+	}
+	
+	@Override
+	public StructuredData next() throws SyntaxError, IOException {
+		while(output.isEmpty()) {
+			readNext();
+		}
+		return output.pop();
+	}
+	
+	@Override
+	public boolean hasNext() {
+		if (!output.isEmpty()) return output.peek().type() != StructuredData.Type.EOF;
+		return src.hasNext();
+	}
+	
+	private void readNext() throws SyntaxError, IOException {
+		if (!src.hasNext()) {
+			output.push(StructuredData.EOF);
+			return;
+		}
+		
+		StructuredData data = src.next();
+		
+		if (passthroughDepth > 0) {
+			switch(data.type()) {
+				case OBJECT_START, ARRAY_START -> passthroughDepth++;
+				case OBJECT_END, ARRAY_END -> passthroughDepth--;
+				default -> {}
+			}
+			output.push(data);
+			return;
+		}
+		
+		if (data.type() == StructuredData.Type.EOF) {
+			output.push(data);
+			return;
+		}
+		
+		// Comments and formatting are only kept inside selected values
+		if (!data.type().isSemantic()) return;
+		
+		Frame frame = frames.peek();
+		if (frame == null) {
+			if (root == null) {
+				// We already finished the root value. Anything else is the underlying reader's problem.
+				output.push(data);
+				return;
+			}
+			Projection.Node node = root;
+			root = null;
+			enterValue(data, node);
+		} else if (frame.isArray) {
+			if (data.type() == StructuredData.Type.ARRAY_END) {
+				frames.pop();
+				output.push(data);
+			} else {
+				enterValue(data, frame.node.getElement(frame.index++));
+			}
+		} else {
+			switch(data.type()) {
+				case OBJECT_KEY -> {
+					Projection.Node child = frame.node.getKey(data.value().toString());
+					if (child == null) {
+						src.skipValue();
+					} else {
+						pendingKey = data;
+						pendingNode = child;
+					}
+				}
+				case OBJECT_END -> {
+					frames.pop();
+					output.push(data);
+				}
+				default -> {
+					Projection.Node node = pendingNode;
+					pendingNode = null;
+					enterValue(data, node);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Decides what to do with a value, given the first StructuredData of that value and the part of the projection
+	 * it was found at.
+	 */
+	private void enterValue(StructuredData data, Projection.Node node) throws SyntaxError, IOException {
+		StructuredData key = pendingKey;
+		pendingKey = null;
+		
+		boolean isStart = data.type() == StructuredData.Type.OBJECT_START || data.type() == StructuredData.Type.ARRAY_START;
+		
+		if (node != null && node.isSelected()) {
+			if (key != null) output.push(key);
+			output.push(data);
+			if (isStart) passthroughDepth = 1;
+		} else if (node != null && data.type() == StructuredData.Type.OBJECT_START && node.hasKeys()) {
+			if (key != null) output.push(key);
+			output.push(data);
+			frames.push(new Frame(node, false));
+		} else if (node != null && data.type() == StructuredData.Type.ARRAY_START && node.hasElements()) {
+			if (key != null) output.push(key);
+			output.push(data);
+			frames.push(new Frame(node, true));
+		} else if (isStart) {
+			// Not selected, and we've already read its start, so it's too late to skip it in one go
+			discardRemainder();
+		}
+	}
+	
+	/**
+	 * Reads past the rest of an object or array whose start has already been read, skipping object members rather than
+	 * reading them wherever possible.
+	 */
+	private void discardRemainder() throws SyntaxError, IOException {
+		int depth = 1;
+		while(depth > 0 && src.hasNext()) {
+			StructuredData data = src.next();
+			switch(data.type()) {
+				case OBJECT_KEY -> src.skipValue();
+				case OBJECT_START, ARRAY_START -> depth++;
+				case OBJECT_END, ARRAY_END -> depth--;
+				default -> {}
+			}
+		}
+	}
+	
+	private static class Frame {
+		private final Projection.Node node;
+		private final boolean isArray;
+		private int index = 0;
+		
+		public Frame(Projection.Node node, boolean isArray) {
+			this.node = node;
+			this.isArray = isArray;
+		}
+	}
+}
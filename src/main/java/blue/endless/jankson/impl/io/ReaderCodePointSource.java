@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CodePointSource which pulls chunks of characters out of a Reader and assembles surrogate pairs.
+ */
+public class ReaderCodePointSource implements CodePointSource {
+	private Reader in;
+	private final char[] chunk;
+	private int pendingHighSurrogate = -1;
+	
+	public ReaderCodePointSource(Reader in, int chunkSize) {
+		this.in = in;
+		this.chunk = new char[chunkSize];
+	}
+	
+	/**
+	 * Starts over on a new Reader, keeping the chunk buffer. The old Reader is not closed.
+	 */
+	public void reset(Reader in) {
+		this.in = in;
+		this.pendingHighSurrogate = -1;
+	}
+	
+	@Override
+	public int decode(int[] dest, int offset, int len) throws IOException {
+		// A stashed high surrogate may turn into an extra U+FFFD, so leave room for it.
+		int space = len - ((pendingHighSurrogate == -1) ? 0 : 1);
+		int charsRead = in.read(chunk, 0, Math.min(chunk.length, space));
+		if (charsRead == -1) {
+			if (pendingHighSurrogate != -1) {
+				//High surrogate followed by EOF, report this as an error
+				dest[offset] = REPLACEMENT_CHARACTER;
+				pendingHighSurrogate = -1;
+				return 1;
+			}
+			return -1;
+		}
+		
+		int p = offset;
+		for(int i=0; i<charsRead; i++) {
+			char ch = chunk[i];
+			
+			if (pendingHighSurrogate != -1) {
+				if (Character.isLowSurrogate(ch)) {
+					dest[p++] = Character.toCodePoint((char) pendingHighSurrogate, ch);
+					pendingHighSurrogate = -1;
+					continue;
+				}
+				
+				//High surrogate followed by anything that isn't a low surrogate. Report it, then decode this char normally
+				dest[p++] = REPLACEMENT_CHARACTER;
+				pendingHighSurrogate = -1;
+			}
+			
+			if (!Character.isSurrogate(ch)) {
+				dest[p++] = ch;
+			} else if (Character.isHighSurrogate(ch)) {
+				pendingHighSurrogate = ch; //Its partner may be in the next chunk
+			} else {
+				dest[p++] = REPLACEMENT_CHARACTER; //Unpaired low surrogate
+			}
+		}
+		
+		return p - offset;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
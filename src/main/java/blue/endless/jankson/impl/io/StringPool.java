@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+/**
+ * A small, bounded cache of canonical Strings. Documents with a repeating schema use the same handful of object keys
+ * over and over, so handing out one shared String per key saves both the allocation at parse time and the retained
+ * heap of every copy afterwards.
+ * 
+ * <p>The pool is direct-mapped: each String has exactly one slot it can live in, and a newcomer simply evicts
+ * whatever was there. Candidates are compared against the decoded code points before anything is allocated, so a hit
+ * costs a hash and a comparison. Pools are not thread-safe, and are meant to be owned by a single reader.
+ */
+public final class StringPool {
+	private final String[] entries;
+	private final int mask;
+	
+	/**
+	 * Creates a pool.
+	 * @param capacity the number of Strings to hold. This will be rounded up to the next power of two.
+	 */
+	public StringPool(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException("StringPool capacity must be at least 1");
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) size <<= 1;
+		this.entries = new String[size];
+		this.mask = size - 1;
+	}
+	
+	/**
+	 * Returns a pooled String with the supplied code points, creating and pooling one if no match is present.
+	 */
+	public String intern(int[] codePoints, int offset, int length) {
+		int hash = 0;
+		for(int i=offset; i<offset+length; i++) hash = 31 * hash + codePoints[i];
+		int slot = spread(hash) & mask;
+		
+		String candidate = entries[slot];
+		if (candidate != null && matches(candidate, codePoints, offset, length)) return candidate;
+		
+		String result = new String(codePoints, offset, length);
+		entries[slot] = result;
+		return result;
+	}
+	
+	/**
+	 * Returns a pooled String equal to s, pooling s itself if no match is present.
+	 */
+	public String intern(String s) {
+		int hash = 0;
+		for(int i=0; i<s.length(); ) {
+			int codePoint = s.codePointAt(i);
+			hash = 31 * hash + codePoint;
+			i += Character.charCount(codePoint);
+		}
+		int slot = spread(hash) & mask;
+		
+		String candidate = entries[slot];
+		if (s.equals(candidate)) return candidate;
+		
+		entries[slot] = s;
+		return s;
+	}
+	
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+	
+	private static boolean matches(String candidate, int[] codePoints, int offset, int length) {
+		if (candidate.length() < length) return false; // Every code point takes up at least one char
+		
+		int index = 0;
+		for(int i=offset; i<offset+length; i++) {
+			if (index >= candidate.length()) return false;
+			int codePoint = candidate.codePointAt(index);
+			if (codePoint != codePoints[i]) return false;
+			index += Character.charCount(codePoint);
+		}
+		return index == candidate.length();
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * CodePointSource which decodes UTF-8 bytes straight into code points, skipping the intermediate char stage that an
+ * InputStreamReader would add. ASCII bytes are copied through on a fast path; multi-byte sequences are only assembled
+ * where they actually occur. Malformed or overlong sequences, and encoded surrogates, are replaced with U+FFFD.
+ * 
+ * <p>Input can be a complete ByteBuffer (heap or direct, including memory-mapped buffers), a byte array, or an
+ * InputStream which is read in chunks. A ByteBuffer handed to this source is not modified; a duplicate is read instead.
+ */
+public class Utf8CodePointSource implements CodePointSource {
+	private static final int MAX_SEQUENCE_LENGTH = 4;
+	
+	private final InputStream in;
+	protected ByteBuffer buf;
+	protected boolean endOfInput;
+	
+	public Utf8CodePointSource(ByteBuffer data) {
+		this.in = null;
+		this.buf = data.duplicate();
+		this.endOfInput = true;
+	}
+	
+	public Utf8CodePointSource(byte[] data) {
+		this(ByteBuffer.wrap(data));
+	}
+	
+	/**
+	 * Creates a source which decodes the supplied buffer (not a duplicate of it). If endOfInput is false, subclasses
+	 * must override {@link #refill()} to supply the rest of the data.
+	 */
+	protected Utf8CodePointSource(ByteBuffer data, boolean endOfInput) {
+		this.in = null;
+		this.buf = data;
+		this.endOfInput = endOfInput;
+	}
+	
+	public Utf8CodePointSource(InputStream in, int chunkSize) {
+		this.in = in;
+		this.buf = ByteBuffer.allocate(Math.max(chunkSize, MAX_SEQUENCE_LENGTH));
+		this.buf.limit(0);
+		this.endOfInput = false;
+	}
+	
+	/**
+	 * Makes more bytes available in buf, keeping any bytes which have not been decoded yet. Called whenever fewer than
+	 * four undecoded bytes remain and endOfInput is false. The default implementation moves any undecoded bytes to the
+	 * front of the buffer and reads more in from the InputStream after them.
+	 */
+	protected void refill() throws IOException {
+		buf.compact();
+		int bytesRead = in.read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+		if (bytesRead == -1) {
+			endOfInput = true;
+		} else {
+			buf.position(buf.position() + bytesRead);
+		}
+		buf.flip();
+	}
+	
+	@Override
+	public int decode(int[] dest, int offset, int len) throws IOException {
+		if (!endOfInput && buf.remaining() < MAX_SEQUENCE_LENGTH) refill();
+		if (!buf.hasRemaining()) return (endOfInput) ? -1 : 0;
+		
+		int p = buf.position();
+		int end = buf.limit();
+		int out = offset;
+		int outEnd = offset + len;
+		
+		while(out < outEnd && p < end) {
+			byte b = buf.get(p);
+			if (b >= 0) {
+				dest[out++] = b;
+				p++;
+				continue;
+			}
+			
+			int lead = b & 0xFF;
+			int needed;
+			int codePoint;
+			int secondMin = 0x80;
+			int secondMax = 0xBF;
+			if (lead >= 0xC2 && lead <= 0xDF) {
+				needed = 1;
+				codePoint = lead & 0x1F;
+			} else if (lead >= 0xE0 && lead <= 0xEF) {
+				needed = 2;
+				codePoint = lead & 0x0F;
+				if (lead == 0xE0) secondMin = 0xA0; //Overlong
+				if (lead == 0xED) secondMax = 0x9F; //Surrogates
+			} else if (lead >= 0xF0 && lead <= 0xF4) {
+				needed = 3;
+				codePoint = lead & 0x07;
+				if (lead == 0xF0) secondMin = 0x90; //Overlong
+				if (lead == 0xF4) secondMax = 0x8F; //Past U+10FFFF
+			} else {
+				//Stray continuation byte, or a lead byte that can never start a valid sequence
+				dest[out++] = REPLACEMENT_CHARACTER;
+				p++;
+				continue;
+			}
+			
+			if (p + needed >= end && !endOfInput) break; //The rest of this sequence hasn't arrived yet
+			
+			int q = p + 1;
+			boolean valid = true;
+			for(int i=0; i<needed; i++) {
+				if (q >= end) {
+					valid = false;
+					break;
+				}
+				int cont = buf.get(q) & 0xFF;
+				int min = (i == 0) ? secondMin : 0x80;
+				int max = (i == 0) ? secondMax : 0xBF;
+				if (cont < min || cont > max) {
+					valid = false;
+					break;
+				}
+				codePoint = (codePoint << 6) | (cont & 0x3F);
+				q++;
+			}
+			
+			// Either way, the bytes up to q are consumed. A byte which broke the sequence gets decoded on its own.
+			dest[out++] = (valid) ? codePoint : REPLACEMENT_CHARACTER;
+			p = q;
+		}
+		
+		buf.position(p);
+		return out - offset;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if (in != null) in.close();
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * Finds where each element of a top-level json array starts and ends, without decoding any of them. Only the
+ * structure that {@link ValueSkipper} tracks is looked at, so elements which are malformed inside can still be found
+ * here and will fail later, when they're actually parsed.
+ */
+public class ArrayElementScanner {
+	
+	/**
+	 * Scans a document which consists of a single array.
+	 * @param text   the complete json text
+	 * @param strict true to require exactly one comma between elements, as RFC 8259 does. Otherwise commas are
+	 *               optional and ignored, the same as {@link ContainerParserContext} treats them.
+	 * @return pairs of UTF-16 offsets into text, {start, end, start, end, ...}, one pair for each element in order
+	 * @throws SyntaxError if the document is not an array, or if the brackets, quotes, or comments are unbalanced
+	 */
+	public static int[] scan(String text, boolean strict) throws IOException, SyntaxError {
+		LookaheadCodePointReader reader = new LookaheadCodePointReader(new StringReader(text));
+		reader.setLineTracking(false);
+		
+		int[] ranges = new int[64];
+		int count = 0;
+		
+		ValueSkipper.skipInsignificant(reader);
+		if (reader.read() != '[') throw error("Expected an array", text, reader);
+		
+		boolean first = true;
+		while(true) {
+			ValueSkipper.skipInsignificant(reader);
+			int ch = reader.peek();
+			if (!strict) {
+				while(ch == ',') {
+					reader.read();
+					ValueSkipper.skipInsignificant(reader);
+					ch = reader.peek();
+				}
+			}
+			if (ch == ']' && (first || !strict)) {
+				reader.read();
+				break;
+			}
+			if (ch == -1) throw error("Expected ']' at the end of the array", text, reader);
+			
+			if (count + 2 > ranges.length) ranges = Arrays.copyOf(ranges, ranges.length * 2);
+			int start = (int) reader.getPosition();
+			ranges[count++] = start;
+			try {
+				ValueSkipper.skipStatic(reader);
+			} catch (SyntaxError ex) {
+				throw errorAt(ex.getMessage(), text, start, null);
+			}
+			ranges[count++] = (int) reader.getPosition();
+			first = false;
+			
+			if (strict) {
+				ValueSkipper.skipInsignificant(reader);
+				ch = reader.read();
+				if (ch == ']') break;
+				if (ch != ',') throw error("Expected ',' or ']' after an array element", text, reader);
+			}
+		}
+		
+		ValueSkipper.skipInsignificant(reader);
+		if (reader.peek() != -1) throw error("Found extra data after the end of the array", text, reader);
+		
+		return Arrays.copyOf(ranges, count);
+	}
+	
+	/**
+	 * Creates a SyntaxError located at a UTF-16 offset into text. Line tracking is off while scanning, so the location is
+	 * worked out here instead, on the rare occasion that one is needed.
+	 */
+	public static SyntaxError errorAt(String message, String text, int offset, Throwable cause) {
+		int line = 0;
+		int lineStart = 0;
+		for(int i=0; i<offset; i++) {
+			if (text.charAt(i) == '\n') {
+				line++;
+				lineStart = i + 1;
+			}
+		}
+		int column = text.codePointCount(lineStart, offset);
+		
+		return (cause == null) ? new SyntaxError(message, line, column) : new SyntaxError(message, line, column, cause);
+	}
+	
+	private static SyntaxError error(String message, String text, LookaheadCodePointReader reader) {
+		int offset = (int) Math.min(reader.getPosition(), text.length());
+		return errorAt(message, text, offset, null);
+	}
+}
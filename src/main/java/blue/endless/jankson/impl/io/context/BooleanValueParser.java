@@ -34,8 +34,7 @@ public class BooleanValueParser implements ValueParser {
 	
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
 		//TODO: We probably need to peek one more character ahead and make sure that the character after our String is a valid breaking code point
-		String maybeFalse = lookahead.peekString(5);
-		return maybeFalse.equals("false") || maybeFalse.startsWith("true");
+		return lookahead.peekMatches("true") || lookahead.peekMatches("false");
 	}
 	
 	@Override
@@ -44,12 +43,16 @@ public class BooleanValueParser implements ValueParser {
 	}
 
 	public static Boolean readStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
-		String start = reader.readString(4);
-		if (start.equals("true")) return Boolean.TRUE;
-		start += reader.readString(1);
-		if (start.equals("false")) return Boolean.FALSE;
+		if (reader.peekMatches("true")) {
+			reader.skip(4);
+			return Boolean.TRUE;
+		}
+		if (reader.peekMatches("false")) {
+			reader.skip(5);
+			return Boolean.FALSE;
+		}
 		
-		throw new IllegalStateException("Couldn't parse boolean value '"+start+"'.");
+		throw new IllegalStateException("Couldn't parse boolean value '"+reader.peekString(5)+"'.");
 	}
 	
 	@Override
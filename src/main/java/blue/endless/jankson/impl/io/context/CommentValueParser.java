@@ -37,11 +37,9 @@ public class CommentValueParser implements ValueParser {
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
 		int ch = lookahead.peek();
 		if (ch=='#') return true;
-		String s = lookahead.peekString(2);
-		if (s.equals("//")) return true;
-		if (s.equals("/*")) return true;
-		
-		return false;
+		if (ch!='/') return false;
+		int next = lookahead.peek(2);
+		return next=='/' || next=='*';
 	}
 	
 	@Override
@@ -54,6 +52,7 @@ public class CommentValueParser implements ValueParser {
 		 * TODO: trim up to one space after a line-end comment symbol; trim up to one space at the start and end of a multiline or doc comment
 		 */
 		
+		long start = reader.getOffset();
 		int ch = reader.peek();
 		
 		if (ch=='#') {
@@ -61,13 +60,12 @@ public class CommentValueParser implements ValueParser {
 			String commentText = readToLineEnd(reader);
 			return new CommentElement(commentText, CommentType.OCTOTHORPE);
 		} else {
-			String firstTwo = reader.peekString(2);
-			if (firstTwo.equals("//")) {
+			if (reader.peekMatches("//")) {
 				reader.read();
 				reader.read();
 				String commentText = readToLineEnd(reader);
 				return new CommentElement(commentText, CommentType.LINE_END);
-			} else if (firstTwo.equals("/*")) {
+			} else if (reader.peekMatches("/*")) {
 				reader.read();
 				reader.read(); //Discard those two
 				ch = reader.peek();
@@ -82,17 +80,19 @@ public class CommentValueParser implements ValueParser {
 				
 				StringBuilder sb = new StringBuilder();
 				while(true) {
-					String maybeEnd = reader.peekString(2);
-					if (maybeEnd.equals("*/")) {
+					sb.append(reader.readStringUntil('*', '*', '*'));
+					if (reader.peekMatches("*/")) {
 						reader.read();
 						reader.read();
-						if (Character.isWhitespace(sb.codePointAt(sb.length()-1))) {
+						if (sb.length() > 0 && Character.isWhitespace(sb.codePointAt(sb.length()-1))) {
 							sb.setLength(sb.length()-1);
 						}
 						return new CommentElement(sb.toString(), commentType);
 					}
 					
-					sb.appendCodePoint(reader.read());
+					ch = reader.read();
+					if (ch == -1) throw new SyntaxError("Found EOF while reading a multiline comment.", reader.getLine(start), reader.getCharacter(start));
+					sb.appendCodePoint(ch);
 				}
 			}
 		}
@@ -107,13 +107,8 @@ public class CommentValueParser implements ValueParser {
 	
 	private static String readToLineEnd(LookaheadCodePointReader reader) throws IOException {
 		//Read the line-end comment, consuming the newline in the process.
-		StringBuilder sb = new StringBuilder();
-		int ch = reader.read();
-		while(ch!=-1 && ch!='\n') {
-			sb.appendCodePoint(ch);
-			ch = reader.read();
-		}
-		
-		return sb.toString();
+		String result = reader.readStringUntil('\n', '\n', '\n');
+		reader.read();
+		return result;
 	}
 }
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * Parses an object or array, and everything nested inside it, from a single context. Instead of pushing a new context
+ * for each nested object and array, each open container gets one byte in a flat state stack, so nesting costs nothing
+ * to allocate and can go as deep as memory allows. Each call to parse reads one key, value, or bracket.
+ * 
+ * <p>Everything is reported through a StructuredDataSink. A reader which is writing to a sink anyway can call
+ * {@link #parse(LookaheadCodePointReader, StructuredDataSink)} directly, and scalar values will reach the sink
+ * without being wrapped in StructuredData.
+ */
+public class ContainerParserContext implements SinkParserContext {
+	/** In an object, ready for a key, a comma, or the closing brace. */
+	private static final byte OBJECT_KEY   = 0;
+	/** In an object, a key has just been read and its value is next. */
+	private static final byte OBJECT_VALUE = 1;
+	/** In an array, ready for a value, a comma, or the closing bracket. */
+	private static final byte ARRAY        = 2;
+	
+	private final JsonReaderOptions options;
+	private byte[] stack = new byte[16];
+	private int depth = 0;
+	private boolean started = false;
+	
+	private final NumberValueParser.Result number = new NumberValueParser.Result();
+	// Lazy Strings only decode their escapes to check them, so one scratch buffer serves all of them
+	private final StringBuilder escapes = new StringBuilder();
+	private Consumer<StructuredData> adaptedConsumer;
+	private StructuredDataSink consumerSink;
+	
+	public ContainerParserContext(JsonReaderOptions options) {
+		this.options = options;
+	}
+	
+	@Override
+	public void parse(LookaheadCodePointReader reader, Consumer<StructuredData> elementConsumer, Consumer<ParserContext> pusher) throws IOException, SyntaxError {
+		if (elementConsumer != adaptedConsumer) {
+			consumerSink = StructuredDataSink.of(elementConsumer::accept);
+			adaptedConsumer = elementConsumer;
+		}
+		parse(reader, consumerSink);
+	}
+	
+	@Override
+	public void parse(LookaheadCodePointReader reader, StructuredDataSink sink) throws IOException, SyntaxError {
+		emitComments(reader, sink, options);
+		
+		if (!started) {
+			int ch = reader.peek();
+			if (ch != '{' && ch != '[') throw new SyntaxError("Unexpected input found while looking for an object or array.", reader.getLine(), reader.getCharacter());
+			started = true;
+			readValue(reader, sink);
+			return;
+		}
+		
+		switch(stack[depth - 1]) {
+			case OBJECT_KEY -> {
+				int ch = reader.peek();
+				switch(ch) {
+					case -1 -> throw new IOException("EOF found before object end.");
+					case ',' -> reader.read(); //We ignore commas
+					case '}' -> {
+						reader.read();
+						depth--;
+						sink.endObject();
+					}
+					default -> {
+						if (StringValueParser.canReadStatic(reader)) {
+							sink.objectKey(StringValueParser.readKeyStatic(reader));
+						} else {
+							sink.objectKey(TokenValueParser.readKeyStatic(reader));
+						}
+						
+						// Stop here so that the key can be seen before its value is parsed. This gives readers the
+						// chance to skip the value instead.
+						stack[depth - 1] = OBJECT_VALUE;
+					}
+				}
+			}
+			case OBJECT_VALUE -> {
+				if (reader.peek() != ':') throw new SyntaxError("Couldn't find key-value separator (:)", reader.getLine(), reader.getCharacter());
+				reader.read();
+				emitComments(reader, sink, options);
+				
+				stack[depth - 1] = OBJECT_KEY;
+				readValue(reader, sink);
+			}
+			case ARRAY -> {
+				int ch = reader.peek();
+				switch(ch) {
+					case ',' -> reader.read();
+					case ']' -> {
+						reader.read();
+						depth--;
+						sink.endArray();
+					}
+					default -> readValue(reader, sink);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads a primitive value, or the opening bracket of a nested object or array.
+	 */
+	private void readValue(LookaheadCodePointReader reader, StructuredDataSink sink) throws IOException, SyntaxError {
+		switch(ValueLexer.classify(reader, false)) {
+			case OBJECT_START -> {
+				reader.read();
+				push(OBJECT_KEY);
+				sink.startObject();
+			}
+			case ARRAY_START -> {
+				reader.read();
+				push(ARRAY);
+				sink.startArray();
+			}
+			case NUMBER -> {
+				if (options.isLazyPrimitives() && LazyPrimitiveParser.canReadLazily(reader)) {
+					sink.writePrimitive(LazyPrimitiveParser.readNumber(reader));
+				} else {
+					NumberValueParser.read(reader, number);
+					number.writeTo(sink);
+				}
+			}
+			case BOOLEAN -> sink.writeBoolean(BooleanValueParser.readStatic(reader));
+			case STRING -> {
+				if (options.isLazyPrimitives() && LazyPrimitiveParser.canReadLazily(reader)) {
+					sink.writePrimitive(LazyPrimitiveParser.readString(reader, escapes));
+				} else {
+					sink.writeString(StringValueParser.readStatic(reader));
+				}
+			}
+			case NULL -> {
+				reader.skip(4);
+				sink.writeNull();
+			}
+			//TODO: Unquoted Strings etc.
+			default -> throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
+		}
+	}
+	
+	private void push(byte state) {
+		if (depth == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+		stack[depth++] = state;
+	}
+	
+	@Override
+	public boolean canSkipValue() {
+		return depth > 0 && stack[depth - 1] == OBJECT_VALUE;
+	}
+	
+	/**
+	 * Skips past the key-value separator and the value belonging to the key which was just read, without emitting
+	 * anything. Comments in between are discarded along with the value.
+	 */
+	@Override
+	public void skipValue(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		if (!canSkipValue()) throw new IllegalStateException("No key has been read.");
+		
+		ValueSkipper.skipInsignificant(reader);
+		if (reader.peek()!=':') throw new SyntaxError("Couldn't find key-value separator (:)", reader.getLine(), reader.getCharacter());
+		reader.read();
+		ValueSkipper.skipInsignificant(reader);
+		ValueSkipper.skipStatic(reader);
+		stack[depth - 1] = OBJECT_KEY;
+	}
+	
+	@Override
+	public boolean isComplete(LookaheadCodePointReader reader) {
+		return started && depth == 0;
+	}
+}
@@ -93,18 +93,24 @@ public class IniParserContext implements ParserContext {
 		
 		if (ch != '=') throw new SyntaxError("Expected '=', but found end of line instead", reader.getLine(), reader.getCharacter());
 		
-		if (NumberValueParser.canReadStatic(reader)) {
-			Number n = NumberValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(n));
-		} else if (BooleanValueParser.canReadStatic(reader)) {
-			Boolean b = BooleanValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(b));
-		} else if (StringValueParser.canReadStatic(reader)) {
-			String s = StringValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(s));
-		} else {
-			String s = readRestOfLine(reader);
-			elementConsumer.accept(StructuredData.primitive(s));
+		switch(ValueLexer.classify(reader, false)) {
+			case NUMBER -> {
+				NumberValueParser.Result n = new NumberValueParser.Result();
+				NumberValueParser.read(reader, n);
+				elementConsumer.accept(n.toStructuredData());
+			}
+			case BOOLEAN -> {
+				Boolean b = BooleanValueParser.readStatic(reader);
+				elementConsumer.accept(StructuredData.primitive(b));
+			}
+			case STRING -> {
+				String s = StringValueParser.readStatic(reader);
+				elementConsumer.accept(StructuredData.primitive(s));
+			}
+			default -> {
+				String s = readRestOfLine(reader);
+				elementConsumer.accept(StructuredData.primitive(s));
+			}
 		}
 		
 	}
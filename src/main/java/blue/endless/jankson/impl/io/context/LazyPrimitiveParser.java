@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.DoubleElement;
+import blue.endless.jankson.api.document.LongElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+import blue.endless.jankson.api.document.StringElement;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * Reads Strings and numbers from the reader's source text, producing PrimitiveElements which only hold the position of
+ * their literal in that text, and decode it the first time their value is asked for. The literal still has to be
+ * scanned to find where it ends, and escape sequences are validated along the way, but Strings aren't copied or
+ * unescaped and decimals aren't converted until they're needed.
+ * 
+ * <p>Integers which fit in a long are converted during the scan, since their digits are being walked anyway and a
+ * position takes more room than the long it would stand for. Hex numbers, named values like Infinity, and anything
+ * too large for a long or a double are rare enough that they're decoded immediately by {@link NumberValueParser}.
+ */
+public class LazyPrimitiveParser {
+	/** Any 18-digit decimal number fits in a long. */
+	private static final int MAX_LONG_DIGITS = 18;
+	/** With at most this many integer digits and a two-digit exponent, a decimal is far inside the range of a double. */
+	private static final int MAX_LAZY_INTEGER_DIGITS = 200;
+	
+	/**
+	 * Returns true if the reader has source text that lazy values can refer back to.
+	 */
+	public static boolean canReadLazily(LookaheadCodePointReader reader) {
+		return reader.getSourceText() != null;
+	}
+	
+	public static PrimitiveElement readString(LookaheadCodePointReader reader, StringBuilder scratch) throws IOException, SyntaxError {
+		CharSequence source = reader.getSourceText();
+		long startOffset = reader.getOffset();
+		int start = (int) reader.getPosition();
+		
+		int openQuote = reader.read();
+		while(true) {
+			int ch = reader.skipUntil(openQuote, '\\', '\n');
+			reader.read();
+			
+			if (ch==openQuote) break;
+			if (ch==-1 || ch=='\n') {
+				SyntaxError err = new SyntaxError((ch==-1) ? "Unmatched quote on a String value." : "Unescaped newline in a String value.");
+				err.setStartParsing(reader.getLine(startOffset), reader.getCharacter(startOffset));
+				err.setEndParsing(reader.getLine(), reader.getCharacter());
+				throw err;
+			}
+			
+			// Validate the escape now, so that decoding it later can't fail
+			scratch.setLength(0);
+			StringValueParser.readEscapeSequence(reader, scratch);
+		}
+		
+		return StringElement.lazy(source, start, (int) reader.getPosition());
+	}
+	
+	public static PrimitiveElement readNumber(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		CharSequence source = reader.getSourceText();
+		long startOffset = reader.getOffset();
+		int start = (int) reader.getPosition();
+		
+		reader.skipWhile(ParserConstants::isNumberCharacter);
+		int end = (int) reader.getPosition();
+		
+		boolean negative = source.charAt(start) == '-';
+		int index = (negative) ? start + 1 : start;
+		int integerDigits = countDigits(source, index, end);
+		
+		boolean isInteger = index + integerDigits == end;
+		if (isInteger && integerDigits > 0 && integerDigits <= MAX_LONG_DIGITS) {
+			long value = 0L;
+			for(; index<end; index++) value = value * 10 + (source.charAt(index) - '0');
+			return new LongElement((negative) ? -value : value);
+		}
+		index += integerDigits;
+		
+		/*
+		 * Only JSON-style decimals (digits, then a fraction and/or an exponent) are deferred, and only when they're
+		 * certain to fit in a double; anything larger is held exactly, so it has to be decoded now to find out.
+		 */
+		boolean plainDecimal = integerDigits > 0 && integerDigits <= MAX_LAZY_INTEGER_DIGITS && !isInteger;
+		if (plainDecimal && index < end && source.charAt(index) == '.') {
+			index++;
+			int fractionDigits = countDigits(source, index, end);
+			plainDecimal = fractionDigits > 0;
+			index += fractionDigits;
+		}
+		if (plainDecimal && index < end && (source.charAt(index) == 'e' || source.charAt(index) == 'E')) {
+			index++;
+			if (index < end && (source.charAt(index) == '-' || source.charAt(index) == '+')) index++;
+			int exponentDigits = countDigits(source, index, end);
+			plainDecimal = exponentDigits > 0 && exponentDigits <= 2;
+			index += exponentDigits;
+		}
+		
+		if (plainDecimal && index == end) return DoubleElement.lazy(source, start, end);
+		
+		// Anything unusual gets decoded immediately by the regular parser, which also reports any syntax errors
+		try {
+			return NumberValueParser.readElement(new LookaheadCodePointReader(new StringReader(source.subSequence(start, end).toString())));
+		} catch (SyntaxError ex) {
+			SyntaxError err = new SyntaxError(ex.getMessage());
+			err.setStartParsing(reader.getLine(startOffset), reader.getCharacter(startOffset));
+			err.setEndParsing(reader.getLine(), reader.getCharacter());
+			throw err;
+		}
+	}
+	
+	private static int countDigits(CharSequence source, int start, int end) {
+		int index = start;
+		while(index < end && ParserConstants.isDigit(source.charAt(index))) index++;
+		return index - start;
+	}
+}
@@ -25,22 +25,39 @@
 package blue.endless.jankson.impl.io.context;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Locale;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.BigNumberElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
 import blue.endless.jankson.impl.io.Lookahead;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
 
 public class NumberValueParser implements ValueParser {
+	/** Any 18-digit decimal number fits in a long. */
+	private static final int MAX_LONG_DIGITS = 18;
+	/** Exponents are clamped here; anything this large is infinite or zero as a double anyway. */
+	private static final int MAX_EXPONENT = 100_000_000;
+	/** The largest integer which a double represents exactly (2^53). */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	/** The largest power of ten which a double represents exactly. */
+	private static final int MAX_EXACT_POWER = 22;
+	private static final double[] POWERS_OF_TEN = {
+			1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
 	
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
-		String infTest = lookahead.peekString(8);
-		if (infTest.equals("Infinity") || infTest.equals("infinity")) return true;
-		if (infTest.toLowerCase(Locale.ROOT).startsWith("nan")) return true;
-		
 		int ch = lookahead.peek();
-		return Arrays.binarySearch(ParserConstants.NUMBER_VALUE_START, ch) >= 0;
+		if (ParserConstants.isNumberStart(ch)) return true;
+		
+		if (ch=='I' || ch=='i') return lookahead.peekMatches("Infinity") || lookahead.peekMatches("infinity");
+		if (ch=='N' || ch=='n') return lookahead.peekMatchesIgnoreCase("nan");
+		return false;
 	}
 	
 	@Override
@@ -48,78 +65,339 @@ public class NumberValueParser implements ValueParser {
 		return canReadStatic(lookahead);
 	}
 	
+	/**
+	 * Reads a number from the stream. Decimal integers are accumulated straight into a long, and the fraction and
+	 * exponent are tracked alongside it, so no intermediate Strings are built for the overwhelmingly common case.
+	 * 
+	 * <p>Integers which are too large for a long are returned as a BigInteger. Decimal values are returned as a
+	 * Double, unless they lie beyond the range of a double, in which case a BigDecimal is returned so that no
+	 * precision is lost.
+	 */
 	public static Number readStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
-		int startLine = reader.getLine();
-		int startChar = reader.getCharacter();
+		Result result = new Result();
+		read(reader, result);
+		return result.toNumber();
+	}
+	
+	/**
+	 * Reads a number from the stream exactly like {@link #readStatic(LookaheadCodePointReader)}, and returns it as an
+	 * element. BigIntegers and BigDecimals are held in a {@link BigNumberElement} rather than turned into Strings.
+	 */
+	public static PrimitiveElement readElement(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		Result result = new Result();
+		read(reader, result);
+		return result.toElement();
+	}
+	
+	/**
+	 * Reads a number from the stream into result, exactly like {@link #readStatic(LookaheadCodePointReader)} but without
+	 * boxing it.
+	 */
+	public static void read(LookaheadCodePointReader reader, Result result) throws IOException, SyntaxError {
+		long start = reader.getOffset();
 		
-		StringBuilder sb = new StringBuilder();
-		int ch = reader.read();
-		sb.appendCodePoint(ch);
+		boolean negative = false;
+		int ch = reader.peek();
+		if (ch=='-' || ch=='+') {
+			negative = ch=='-';
+			reader.read();
+			ch = reader.peek();
+		}
+		
+		if (ch=='I' || ch=='i') {
+			reader.read();
+			expectWord(reader, "nfinity", false, start);
+			result.setDouble((negative) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+		} else if (ch=='N' || ch=='n') {
+			reader.read();
+			expectWord(reader, "aN", true, start);
+			result.setDouble(Double.NaN);
+		} else if (ch=='0' && (reader.peek(2)=='x' || reader.peek(2)=='X')) {
+			reader.read();
+			reader.read();
+			readHex(reader, negative, start, result);
+		} else {
+			readDecimal(reader, negative, false, start, result);
+		}
 		
 		ch = reader.peek();
-		while(Arrays.binarySearch(ParserConstants.NUMBER_VALUE_CHAR, ch) >= 0) {
-			ch = reader.read();
-			sb.appendCodePoint(ch);
-			ch = reader.peek();
+		if (ParserConstants.isNumberCharacter(ch)) {
+			throw invalid(reader, "Invalid number format: unexpected '"+Character.toString(ch)+"'.", start);
 		}
+	}
+	
+	/**
+	 * Reads a number which follows the RFC 8259 grammar exactly: an optional minus sign, an integer part with no
+	 * leading zeroes, an optional fraction with at least one digit, and an optional exponent. Hex, Infinity, NaN, and
+	 * leading plus signs or decimal points are rejected.
+	 */
+	public static Number readStrictStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		Result result = new Result();
+		readStrict(reader, result);
+		return result.toNumber();
+	}
+	
+	/**
+	 * Reads an RFC 8259 number from the stream into result, exactly like
+	 * {@link #readStrictStatic(LookaheadCodePointReader)} but without boxing it.
+	 */
+	public static void readStrict(LookaheadCodePointReader reader, Result result) throws IOException, SyntaxError {
+		long start = reader.getOffset();
+		
+		boolean negative = false;
+		if (reader.peek()=='-') {
+			negative = true;
+			reader.read();
+		}
+		
+		readDecimal(reader, negative, true, start, result);
 		
-		if (sb.charAt(0)=='.') sb.insert(0, '0');
-		
-		String result = sb.toString();
-		if (
-			result.equals("Infinity") ||
-			result.equals("infinity") ||
-			result.equals("+Infinity") ||
-			result.equals("+infinity")
-			) return Double.POSITIVE_INFINITY;
-		
-		if (
-			result.equals("-Infinity") ||
-			result.equals("-infinity")
-			) return Double.NEGATIVE_INFINITY;
-		
-		if (result.toLowerCase().equals("nan")) return Double.NaN;
-		
-		if (result.startsWith("0x")) {
-			try {
-				result = result.substring(2);
-				return Long.parseLong(result, 16);
-			} catch (NumberFormatException ex) {
-				SyntaxError err = new SyntaxError("Invalid number format for '"+result+"'.", ex);
-				err.setStartParsing(startLine, startChar);
-				err.setEndParsing(reader.getLine(), reader.getCharacter());
-				throw err;
+		int ch = reader.peek();
+		if (ParserConstants.isNumberCharacter(ch)) {
+			throw invalid(reader, "Invalid number format: unexpected '"+Character.toString(ch)+"'.", start);
+		}
+	}
+	
+	private static void readHex(LookaheadCodePointReader reader, boolean negative, long start, Result result) throws IOException, SyntaxError {
+		long value = 0L;
+		BigInteger bigValue = null;
+		int digits = 0;
+		
+		while(true) {
+			int digit = hexDigit(reader.peek());
+			if (digit == -1) break;
+			reader.read();
+			digits++;
+			
+			if (bigValue != null) {
+				bigValue = bigValue.shiftLeft(4).or(BigInteger.valueOf(digit));
+			} else if ((value >>> 59) == 0) {
+				value = (value << 4) | digit;
+			} else {
+				bigValue = BigInteger.valueOf(value).shiftLeft(4).or(BigInteger.valueOf(digit));
 			}
 		}
 		
-		if (result.startsWith("-0x")) {
-			try {
-				result = result.substring(3);
-				return -Long.parseLong(result, 16);
-			} catch (NumberFormatException ex) {
-				SyntaxError err = new SyntaxError("Invalid number format for '"+result+"'.", ex);
-				err.setStartParsing(startLine, startChar);
-				err.setEndParsing(reader.getLine(), reader.getCharacter());
-				throw err;
+		if (digits == 0) throw invalid(reader, "Invalid number format: expected hex digits after '0x'.", start);
+		
+		if (bigValue == null) {
+			result.setLong((negative) ? -value : value);
+		} else {
+			result.setInteger((negative) ? bigValue.negate() : bigValue);
+		}
+	}
+	
+	private static void readDecimal(LookaheadCodePointReader reader, boolean negative, boolean strict, long start, Result result) throws IOException, SyntaxError {
+		/*
+		 * The value being read is mantissa * 10^(exponent - fractionDigits). Up to MAX_LONG_DIGITS significant digits
+		 * fit into the mantissa exactly; any digits beyond that spill into bigDigits, which only very long literals
+		 * ever need.
+		 */
+		long mantissa = 0L;
+		int significantDigits = 0;
+		StringBuilder bigDigits = null;
+		int fractionDigits = 0;
+		int exponent = 0;
+		boolean sawDigit = false;
+		boolean isDecimal = false;
+		
+		int integerDigits = 0;
+		
+		int ch = reader.peek();
+		boolean leadingZero = ch=='0';
+		boolean inFraction = false;
+		while(true) {
+			if (ch>='0' && ch<='9') {
+				sawDigit = true;
+				if (inFraction) {
+					fractionDigits++;
+				} else {
+					integerDigits++;
+				}
+				
+				if (bigDigits != null) {
+					bigDigits.append((char) ch);
+				} else if (significantDigits < MAX_LONG_DIGITS) {
+					mantissa = mantissa * 10 + (ch - '0');
+					if (mantissa != 0) significantDigits++;
+				} else {
+					bigDigits = new StringBuilder(40).append(mantissa).append((char) ch);
+				}
+			} else if (ch=='.' && !inFraction) {
+				inFraction = true;
+				isDecimal = true;
+			} else {
+				break;
 			}
+			reader.read();
+			ch = reader.peek();
 		}
 		
-		try {
-			if (result.indexOf(".")>=0 || result.indexOf("e")>=0) {
-				return Double.parseDouble(result);
+		if (!sawDigit) throw invalid(reader, "Invalid number format: expected digits.", start);
+		if (strict) {
+			if (integerDigits == 0) throw invalid(reader, "Invalid number format: expected digits before the decimal point.", start);
+			if (leadingZero && integerDigits > 1) throw invalid(reader, "Invalid number format: leading zeroes are not allowed.", start);
+			if (inFraction && fractionDigits == 0) throw invalid(reader, "Invalid number format: expected digits after the decimal point.", start);
+		}
+		
+		if (ch=='e' || ch=='E') {
+			isDecimal = true;
+			reader.read();
+			ch = reader.peek();
+			
+			boolean negativeExponent = false;
+			if (ch=='-' || ch=='+') {
+				negativeExponent = ch=='-';
+				reader.read();
+				ch = reader.peek();
+			}
+			
+			if (ch<'0' || ch>'9') throw invalid(reader, "Invalid number format: expected digits in the exponent.", start);
+			while(ch>='0' && ch<='9') {
+				if (exponent < MAX_EXPONENT) exponent = exponent * 10 + (ch - '0');
+				reader.read();
+				ch = reader.peek();
+			}
+			if (negativeExponent) exponent = -exponent;
+		}
+		
+		if (!isDecimal) {
+			if (bigDigits == null) {
+				result.setLong((negative) ? -mantissa : mantissa);
 			} else {
-				return Long.parseLong(sb.toString());
+				BigInteger value = new BigInteger(bigDigits.toString());
+				result.setInteger((negative) ? value.negate() : value);
+			}
+			return;
+		}
+		
+		int scale = exponent - fractionDigits;
+		if (bigDigits == null && mantissa <= MAX_EXACT_MANTISSA && scale >= -MAX_EXACT_POWER && scale <= MAX_EXACT_POWER) {
+			// Both the mantissa and the power of ten are exactly representable, so one operation rounds correctly
+			double value = (scale >= 0) ? mantissa * POWERS_OF_TEN[scale] : mantissa / POWERS_OF_TEN[-scale];
+			result.setDouble((negative) ? -value : value);
+			return;
+		}
+		
+		BigInteger unscaled = (bigDigits == null) ? BigInteger.valueOf(mantissa) : new BigInteger(bigDigits.toString());
+		BigDecimal precise = new BigDecimal((negative) ? unscaled.negate() : unscaled, -scale);
+		double value = precise.doubleValue();
+		if (Double.isInfinite(value)) {
+			result.setDecimal(precise);
+		} else {
+			result.setDouble((negative && value == 0.0) ? -0.0 : value);
+		}
+	}
+	
+	/**
+	 * Reads the rest of a named value such as Infinity, whose first character has already been consumed.
+	 */
+	private static void expectWord(LookaheadCodePointReader reader, String rest, boolean ignoreCase, long start) throws IOException, SyntaxError {
+		for(int i=0; i<rest.length(); i++) {
+			int expected = rest.charAt(i);
+			int ch = reader.read();
+			if (ignoreCase) {
+				expected = Character.toLowerCase(expected);
+				ch = Character.toLowerCase(ch);
 			}
-		} catch (NumberFormatException ex) {
-			SyntaxError err = new SyntaxError("Invalid number format for '"+result+"'.", ex);
-			err.setStartParsing(startLine, startChar);
-			err.setEndParsing(reader.getLine(), reader.getCharacter());
-			throw err;
+			if (ch != expected) throw invalid(reader, "Invalid number format: unexpected '"+((ch==-1) ? "end of file" : Character.toString(ch))+"'.", start);
 		}
 	}
 	
+	private static int hexDigit(int ch) {
+		if (ch>='0' && ch<='9') return ch - '0';
+		if (ch>='a' && ch<='f') return ch - 'a' + 10;
+		if (ch>='A' && ch<='F') return ch - 'A' + 10;
+		return -1;
+	}
+	
+	private static SyntaxError invalid(LookaheadCodePointReader reader, String message, long start) {
+		SyntaxError err = new SyntaxError(message);
+		err.setStartParsing(reader.getLine(start), reader.getCharacter(start));
+		err.setEndParsing(reader.getLine(), reader.getCharacter());
+		return err;
+	}
+	
 	@Override
 	public Number read(LookaheadCodePointReader reader) throws IOException, SyntaxError {
 		return readStatic(reader);
 	}
+	
+	/**
+	 * Holds the number most recently read by {@link NumberValueParser#read(LookaheadCodePointReader, Result)}. Contexts
+	 * which read many numbers keep one of these and reuse it, so that reading a long or a double allocates nothing.
+	 */
+	public static final class Result {
+		private long longValue;
+		private double doubleValue;
+		/** A BigInteger or BigDecimal, for values which don't fit in a long or a double; otherwise null. */
+		private Number bigValue;
+		private boolean isLong;
+		
+		private void setLong(long value) {
+			longValue = value;
+			bigValue = null;
+			isLong = true;
+		}
+		
+		private void setDouble(double value) {
+			doubleValue = value;
+			bigValue = null;
+			isLong = false;
+		}
+		
+		/**
+		 * Stores a long if the value fits in one, otherwise the BigInteger itself.
+		 */
+		private void setInteger(BigInteger value) {
+			if (value.bitLength() < 64) {
+				setLong(value.longValue());
+			} else {
+				bigValue = value;
+				isLong = false;
+			}
+		}
+		
+		private void setDecimal(BigDecimal value) {
+			bigValue = value;
+			isLong = false;
+		}
+		
+		public Number toNumber() {
+			if (bigValue != null) return bigValue;
+			return (isLong) ? (Number) longValue : (Number) doubleValue;
+		}
+		
+		/**
+		 * Gets this number as a LongElement or DoubleElement, or as a BigNumberElement if it fits in neither.
+		 */
+		public PrimitiveElement toElement() {
+			if (bigValue instanceof BigInteger v) return new BigNumberElement(v);
+			if (bigValue instanceof BigDecimal v) return new BigNumberElement(v);
+			return (isLong) ? PrimitiveElement.of(longValue) : PrimitiveElement.of(doubleValue);
+		}
+		
+		/**
+		 * Gets this number as a PRIMITIVE. Unlike {@link StructuredData#primitive(Object)}, a BigInteger or BigDecimal
+		 * is kept as a number rather than turned into a String.
+		 */
+		public StructuredData toStructuredData() {
+			if (bigValue != null) return new StructuredData(StructuredData.Type.PRIMITIVE, bigValue);
+			return StructuredData.primitive(toNumber());
+		}
+		
+		/**
+		 * Writes this number to sink with its typed methods. BigIntegers and BigDecimals are written as a
+		 * BigNumberElement.
+		 */
+		public void writeTo(StructuredDataSink sink) throws IOException, SyntaxError {
+			if (bigValue != null) {
+				sink.writePrimitive(toElement());
+			} else if (isLong) {
+				sink.writeLong(longValue);
+			} else {
+				sink.writeDouble(doubleValue);
+			}
+		}
+	}
 }
@@ -31,10 +31,61 @@ public class ParserConstants {
 	public static final int[] NUMBER_VALUE_START = createSortedLookup("-+.0123456789");
 	public static final int[] NUMBER_VALUE_CHAR = createSortedLookup("-+.0123456789ABCDEFabcdefINintxy");
 	
+	/*
+	 * Character classes for the ASCII range, stored as bit flags so that every class test is a single array load. No
+	 * code point outside the ASCII range belongs to any of these classes.
+	 */
+	private static final int CLASS_NUMBER_START = 1 << 0;
+	private static final int CLASS_NUMBER_CHAR  = 1 << 1;
+	private static final int CLASS_DATE_CHAR    = 1 << 2;
+	private static final int CLASS_TOKEN_CHAR   = 1 << 3;
+	private static final int CLASS_DIGIT        = 1 << 4;
+	
+	private static final byte[] ASCII_CLASSES = new byte[128];
+	static {
+		addClass("-+.0123456789", CLASS_NUMBER_START);
+		addClass("-+.0123456789ABCDEFabcdefINintxy", CLASS_NUMBER_CHAR);
+		addClass("+-.0123456789:TZtz", CLASS_DATE_CHAR);
+		addClass("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_", CLASS_TOKEN_CHAR);
+		addClass("0123456789", CLASS_DIGIT);
+	}
 	
 	public static int[] createSortedLookup(String s) {
 		int[] arr = s.chars().toArray();
 		Arrays.sort(arr);
 		return arr;
 	}
+	
+	private static void addClass(String members, int characterClass) {
+		for(int i=0; i<members.length(); i++) ASCII_CLASSES[members.charAt(i)] |= (byte) characterClass;
+	}
+	
+	private static boolean hasClass(int ch, int characterClass) {
+		return ch >= 0 && ch < 128 && (ASCII_CLASSES[ch] & characterClass) != 0;
+	}
+	
+	/** Returns true if the code point can begin a number (not counting named values like Infinity and NaN). */
+	public static boolean isNumberStart(int ch) {
+		return hasClass(ch, CLASS_NUMBER_START);
+	}
+	
+	/** Returns true if the code point can appear anywhere in a number, including hex numbers and named values. */
+	public static boolean isNumberCharacter(int ch) {
+		return hasClass(ch, CLASS_NUMBER_CHAR);
+	}
+	
+	/** Returns true if the code point can appear in an RFC 3339 date, time, or date-time. */
+	public static boolean isDateCharacter(int ch) {
+		return hasClass(ch, CLASS_DATE_CHAR);
+	}
+	
+	/** Returns true if the code point can appear in an unquoted token. */
+	public static boolean isTokenCharacter(int ch) {
+		return hasClass(ch, CLASS_TOKEN_CHAR);
+	}
+	
+	/** Returns true if the code point is an ASCII digit. Unlike Character.isDigit, other scripts' digits don't count. */
+	public static boolean isDigit(int ch) {
+		return hasClass(ch, CLASS_DIGIT);
+	}
 }
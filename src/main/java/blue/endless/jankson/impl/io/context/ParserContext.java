@@ -28,8 +28,8 @@ import java.io.IOException;
 import java.util.function.Consumer;
 
 import blue.endless.jankson.api.SyntaxError;
-import blue.endless.jankson.api.document.CommentElement;
 import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
 import blue.endless.jankson.api.io.json.JsonReaderOptions;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
 
@@ -51,51 +51,28 @@ public interface ParserContext {
 	public boolean isComplete(LookaheadCodePointReader reader);
 	
 	default void skipNonBreakingWhitespace(LookaheadCodePointReader reader) throws IOException {
-		while (true) {
-			int ch = reader.peek();
-			if (ch==-1 || ch=='\n' || !Character.isWhitespace(ch)) return;
-			reader.read(); //It's nonbreaking whitespace. Discard it.
-		}
+		reader.skipWhitespace(false);
 	}
 	
-	default void emitComments(LookaheadCodePointReader reader, Consumer<StructuredData> elementConsumer) throws IOException, SyntaxError {
+	/**
+	 * Reports comments and newlines straight to a StructuredDataSink, or if the options say to discard formatting,
+	 * skips over them without reporting anything.
+	 */
+	default void emitComments(LookaheadCodePointReader reader, StructuredDataSink sink, JsonReaderOptions options) throws IOException, SyntaxError {
+		if (options.isDiscardFormatting()) {
+			ValueSkipper.skipInsignificant(reader);
+			return;
+		}
+		
 		skipNonBreakingWhitespace(reader);
 		while (CommentValueParser.canReadStatic(reader) || reader.peek()=='\n') {
 			if (reader.peek()=='\n') {
 				reader.read();
-				elementConsumer.accept(StructuredData.NEWLINE);
+				sink.newline();
 			} else {
-				CommentElement comment = CommentValueParser.readStatic(reader);
-				elementConsumer.accept(new StructuredData(StructuredData.Type.COMMENT, comment));
+				sink.comment(CommentValueParser.readStatic(reader));
 			}
 			skipNonBreakingWhitespace(reader);
 		}
 	}
-	
-	default void handleValue(LookaheadCodePointReader reader, Consumer<StructuredData> elementConsumer, Consumer<ParserContext> pusher, JsonReaderOptions options) throws IOException, SyntaxError {
-		int ch = reader.peek();
-		if (ch=='{') {
-			pusher.accept(new ObjectParserContext(options));
-		} else if (ch=='[') {
-			pusher.accept(new ArrayParserContext(options));
-		} else if (NumberValueParser.canReadStatic(reader)) {
-			Number value = NumberValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(value));
-		} else if (BooleanValueParser.canReadStatic(reader)) {
-			Boolean value = BooleanValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(value));
-		} else if (StringValueParser.canReadStatic(reader)) {
-			String value = StringValueParser.readStatic(reader);
-			elementConsumer.accept(StructuredData.primitive(value));
-		} else {
-			String maybeNull = reader.peekString(4);
-			if (maybeNull.equals("null")) {
-				reader.readString(4);
-				elementConsumer.accept(StructuredData.NULL);
-			} else {
-				//TODO: Unquoted Strings etc.
-				throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
-			}
-		}
-	}
-}
\ No newline at end of file
+}
@@ -29,6 +29,7 @@ import java.util.function.Consumer;
 
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
 import blue.endless.jankson.api.io.json.JsonReaderOptions;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
 
@@ -38,6 +39,8 @@ public class RootParserContext implements ParserContext {
 	private boolean complete = false;
 	
 	private String bufferedKey = null;
+	private Consumer<StructuredData> adaptedConsumer;
+	private StructuredDataSink consumerSink;
 	
 	public RootParserContext(JsonReaderOptions options) {
 		this.options = options;
@@ -45,7 +48,11 @@ public class RootParserContext implements ParserContext {
 	
 	@Override
 	public void parse(LookaheadCodePointReader reader, Consumer<StructuredData> elementConsumer, Consumer<ParserContext> pusher) throws IOException, SyntaxError {
-		emitComments(reader, elementConsumer);
+		if (elementConsumer != adaptedConsumer) {
+			consumerSink = StructuredDataSink.of(elementConsumer::accept);
+			adaptedConsumer = elementConsumer;
+		}
+		emitComments(reader, consumerSink, options);
 		
 		int ch = reader.peek();
 		switch (ch) {
@@ -58,8 +65,7 @@ public class RootParserContext implements ParserContext {
 				}
 				elementConsumer.accept(StructuredData.EOF);
 			}
-			case '{' -> pusher.accept(new ObjectParserContext(options));
-			case '[' -> pusher.accept(new ArrayParserContext(options));
+			case '{', '[' -> pusher.accept(new ContainerParserContext(options));
 			default -> {
 				if (ch == options.getKeyValueSeparator()) {
 					if (bufferedKey != null && options.isBareRootObject()) {
@@ -70,36 +76,36 @@ public class RootParserContext implements ParserContext {
 					break;
 				}
 				
-				if (NumberValueParser.canReadStatic(reader)) {
-					Number value = NumberValueParser.readStatic(reader);
-					elementConsumer.accept(StructuredData.primitive(value));
-				} else if (BooleanValueParser.canReadStatic(reader)) {
-					Boolean value = BooleanValueParser.readStatic(reader);
-					elementConsumer.accept(StructuredData.primitive(value));
-				} else if (checkForNullLiteral(reader)) {
-					reader.readString(4); //Consume the null literal
-					elementConsumer.accept(StructuredData.NULL);
-				} else if (StringValueParser.canReadStatic(reader)) {
-					String s = StringValueParser.readStatic(reader);
-					if (options.isBareRootObject()) {
-						// This could be either a key of a bare root object, or it could be a primitive String root object.
-						// Buffer it for now - if we find a colon later, it's a key.
-						bufferedKey = s;
-					} else {
-						elementConsumer.accept(StructuredData.primitive(s));
+				switch(ValueLexer.classify(reader, false)) {
+					case NUMBER -> {
+						NumberValueParser.Result value = new NumberValueParser.Result();
+						NumberValueParser.read(reader, value);
+						elementConsumer.accept(value.toStructuredData());
+					}
+					case BOOLEAN -> {
+						Boolean value = BooleanValueParser.readStatic(reader);
+						elementConsumer.accept(StructuredData.primitive(value));
+					}
+					case NULL -> {
+						reader.skip(4); //Consume the null literal
+						elementConsumer.accept(StructuredData.NULL);
 					}
+					case STRING -> {
+						String s = StringValueParser.readStatic(reader);
+						if (options.isBareRootObject()) {
+							// This could be either a key of a bare root object, or it could be a primitive String root object.
+							// Buffer it for now - if we find a colon later, it's a key.
+							bufferedKey = s;
+						} else {
+							elementConsumer.accept(StructuredData.primitive(s));
+						}
+					}
+					default -> throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
 				}
 			}
 		}
 	}
 	
-	private boolean checkForNullLiteral(LookaheadCodePointReader reader) throws IOException {
-		String maybeNull = reader.peekString(4);
-		int extra = reader.peek(5);
-		if (Character.isLetterOrDigit(extra)) return false; //some token *starts with* "null" but is not null.
-		return maybeNull.equals("null");
-	}
-	
 	@Override
 	public boolean isComplete(LookaheadCodePointReader reader) {
 		return complete;
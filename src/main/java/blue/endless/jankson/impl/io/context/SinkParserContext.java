@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredDataSink;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * A SkippingParserContext which can report what it reads straight to a StructuredDataSink, so that scalar values reach
+ * the sink through its typed methods without being wrapped in StructuredData.
+ */
+public interface SinkParserContext extends SkippingParserContext {
+	
+	/**
+	 * Parses the next key, value, or bracket, and reports it to sink. Each call reports at most one of them, so that
+	 * the sink sees a key before its value is parsed, and has the chance to skip it.
+	 */
+	public void parse(LookaheadCodePointReader reader, StructuredDataSink sink) throws IOException, SyntaxError;
+}
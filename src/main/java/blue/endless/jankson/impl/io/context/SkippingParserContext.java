@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * A ParserContext which can scan past the value belonging to an object key in the source text, without parsing it.
+ */
+public interface SkippingParserContext extends ParserContext {
+	
+	/**
+	 * Returns true if this context has just emitted an OBJECT_KEY, and can skip over the value that belongs to it with
+	 * {@link #skipValue(LookaheadCodePointReader)}.
+	 */
+	public boolean canSkipValue();
+	
+	/**
+	 * Skips the value belonging to the OBJECT_KEY which was just emitted, without emitting anything. This will only be
+	 * called if {@link #canSkipValue()} returns true.
+	 */
+	public void skipValue(LookaheadCodePointReader reader) throws IOException, SyntaxError;
+}
@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * Parses an entire RFC 8259 json document from a single context. Instead of pushing a context for each object and
+ * array, nesting is tracked in a flat stack. Comments, JSON5 extensions, and anything else outside the RFC are
+ * rejected, and no formatting events are emitted.
+ * 
+ * <p>Like {@link ContainerParserContext}, everything is reported through a StructuredDataSink, and a reader which is
+ * writing to a sink anyway can call {@link #parse(LookaheadCodePointReader, StructuredDataSink)} directly.
+ */
+public class StrictParserContext implements SinkParserContext {
+	private static final int EXPECT_VALUE       = 0;
+	private static final int EXPECT_FIRST_VALUE = 1;
+	private static final int EXPECT_KEY         = 2;
+	private static final int EXPECT_FIRST_KEY   = 3;
+	private static final int EXPECT_COLON       = 4;
+	private static final int EXPECT_SEPARATOR   = 5;
+	private static final int EXPECT_EOF         = 6;
+	
+	/** How many tokens to read per call to parse, so that the reader's queue doesn't have to be refilled every time. */
+	public static final int BATCH_SIZE = 64;
+	
+	private final int batchSize;
+	private final NumberValueParser.Result number = new NumberValueParser.Result();
+	private int state = EXPECT_VALUE;
+	private boolean complete = false;
+	private Consumer<StructuredData> adaptedConsumer;
+	private StructuredDataSink consumerSink;
+	
+	/** For each open container, true if it's an object and false if it's an array. */
+	private boolean[] objectStack = new boolean[16];
+	private int depth = 0;
+	
+	/**
+	 * Creates a StrictParserContext which reads up to batchSize tokens per call to parse.
+	 */
+	public StrictParserContext(int batchSize) {
+		this.batchSize = batchSize;
+	}
+	
+	@Override
+	public void parse(LookaheadCodePointReader reader, Consumer<StructuredData> elementConsumer, Consumer<ParserContext> pusher) throws IOException, SyntaxError {
+		if (elementConsumer != adaptedConsumer) {
+			consumerSink = StructuredDataSink.of(elementConsumer::accept);
+			adaptedConsumer = elementConsumer;
+		}
+		
+		// Stop after each key, so that its value can still be skipped
+		for(int i=0; i<batchSize && !complete; i++) {
+			parse(reader, consumerSink);
+			if (state == EXPECT_COLON) return;
+		}
+	}
+	
+	/**
+	 * Reads exactly one token, and reports it to sink. Reading the end of the document reports nothing.
+	 */
+	@Override
+	public void parse(LookaheadCodePointReader reader, StructuredDataSink sink) throws IOException, SyntaxError {
+		int ch = reader.skipJsonWhitespace();
+		
+		switch(state) {
+			case EXPECT_VALUE -> readValue(reader, ch, sink);
+			
+			case EXPECT_FIRST_VALUE -> {
+				if (ch == ']') {
+					reader.read();
+					endContainer(false, sink);
+				} else {
+					readValue(reader, ch, sink);
+				}
+			}
+			
+			case EXPECT_KEY, EXPECT_FIRST_KEY -> {
+				if (ch == '"') {
+					String key = StringValueParser.readStrictStatic(reader, true);
+					sink.objectKey(key);
+					state = EXPECT_COLON;
+				} else if (ch == '}' && state == EXPECT_FIRST_KEY) {
+					reader.read();
+					endContainer(true, sink);
+				} else {
+					throw unexpected(reader, ch, "a double-quoted key");
+				}
+			}
+			
+			case EXPECT_COLON -> {
+				readColon(reader, ch);
+				readValue(reader, reader.skipJsonWhitespace(), sink);
+			}
+			
+			case EXPECT_SEPARATOR -> {
+				boolean inObject = objectStack[depth-1];
+				if (ch == ',') {
+					reader.read();
+					state = (inObject) ? EXPECT_KEY : EXPECT_VALUE;
+				} else if (inObject && ch == '}') {
+					reader.read();
+					endContainer(true, sink);
+				} else if (!inObject && ch == ']') {
+					reader.read();
+					endContainer(false, sink);
+				} else {
+					throw unexpected(reader, ch, (inObject) ? "',' or '}'" : "',' or ']'");
+				}
+			}
+			
+			case EXPECT_EOF -> {
+				if (ch != -1) throw unexpected(reader, ch, "the end of the document");
+				complete = true;
+			}
+		}
+	}
+	
+	@Override
+	public boolean isComplete(LookaheadCodePointReader reader) {
+		return complete;
+	}
+	
+	@Override
+	public boolean canSkipValue() {
+		return state == EXPECT_COLON;
+	}
+	
+	/**
+	 * Skips the value for the key which was just read. Skipped values are only checked for balanced brackets and
+	 * quotes, not for strict conformance.
+	 */
+	@Override
+	public void skipValue(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		readColon(reader, reader.skipJsonWhitespace());
+		reader.skipJsonWhitespace();
+		ValueSkipper.skipStatic(reader);
+		endValue();
+	}
+	
+	private void readColon(LookaheadCodePointReader reader, int ch) throws IOException, SyntaxError {
+		if (ch != ':') throw unexpected(reader, ch, "':'");
+		reader.read();
+	}
+	
+	private void readValue(LookaheadCodePointReader reader, int ch, StructuredDataSink sink) throws IOException, SyntaxError {
+		switch(ch) {
+			case '{' -> {
+				reader.read();
+				beginContainer(true);
+				sink.startObject();
+				state = EXPECT_FIRST_KEY;
+				return;
+			}
+			case '[' -> {
+				reader.read();
+				beginContainer(false);
+				sink.startArray();
+				state = EXPECT_FIRST_VALUE;
+				return;
+			}
+			case '"' -> sink.writeString(StringValueParser.readStrictStatic(reader, false));
+			case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+				NumberValueParser.readStrict(reader, number);
+				number.writeTo(sink);
+			}
+			case 't' -> {
+				readLiteral(reader, "true");
+				sink.writeBoolean(true);
+			}
+			case 'f' -> {
+				readLiteral(reader, "false");
+				sink.writeBoolean(false);
+			}
+			case 'n' -> {
+				readLiteral(reader, "null");
+				sink.writeNull();
+			}
+			default -> throw unexpected(reader, ch, "a value");
+		}
+		
+		endValue();
+	}
+	
+	private void readLiteral(LookaheadCodePointReader reader, String literal) throws IOException, SyntaxError {
+		if (!reader.peekMatches(literal) || ParserConstants.isTokenCharacter(reader.peek(literal.length() + 1))) {
+			throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
+		}
+		reader.skip(literal.length());
+	}
+	
+	private void beginContainer(boolean isObject) {
+		if (depth == objectStack.length) objectStack = Arrays.copyOf(objectStack, depth * 2);
+		objectStack[depth++] = isObject;
+	}
+	
+	private void endContainer(boolean isObject, StructuredDataSink sink) throws IOException, SyntaxError {
+		depth--;
+		if (isObject) {
+			sink.endObject();
+		} else {
+			sink.endArray();
+		}
+		endValue();
+	}
+	
+	private void endValue() {
+		state = (depth == 0) ? EXPECT_EOF : EXPECT_SEPARATOR;
+	}
+	
+	private static SyntaxError unexpected(LookaheadCodePointReader reader, int ch, String expected) {
+		String found = (ch == -1) ? "end of file" : "'"+Character.toString(ch)+"'";
+		return new SyntaxError("Expected "+expected+", but found "+found+".", reader.getLine(), reader.getCharacter());
+	}
+}
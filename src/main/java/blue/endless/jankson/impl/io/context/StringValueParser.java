@@ -29,6 +29,7 @@ import java.io.IOException;
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.impl.io.Lookahead;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.StringPool;
 
 
 /**
@@ -38,11 +39,9 @@ public class StringValueParser implements ValueParser {
 	
 	
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
-		String test = lookahead.peekString(3);
-		if (test.equals(ParserConstants.TRIPLE_QUOTE)) return false; //Disclaim responsibility for triple-quotes
-		
 		int start = lookahead.peek();
-		return start=='\'' || start=='"';
+		if (start=='\'') return true;
+		return start=='"' && !lookahead.peekMatches(ParserConstants.TRIPLE_QUOTE); //Disclaim responsibility for triple-quotes
 	}
 	
 	@Override
@@ -51,38 +50,114 @@ public class StringValueParser implements ValueParser {
 	}
 	
 	public static String readStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
-		int startLine = reader.getLine();
-		int startChar = reader.getCharacter();
+		return readStatic(reader, false);
+	}
+	
+	/**
+	 * Reads a quoted object key. This is identical to {@link #readStatic(LookaheadCodePointReader)}, except that if the
+	 * reader has a StringPool, the key will be shared through it.
+	 */
+	public static String readKeyStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		return readStatic(reader, true);
+	}
+	
+	private static String readStatic(LookaheadCodePointReader reader, boolean pooled) throws IOException, SyntaxError {
+		long start = reader.getOffset();
 		
 		int openQuote = reader.read();
 		
-		StringBuilder result = new StringBuilder();
-		int ch = reader.read();
-		
-		while(ch!=openQuote) {
+		// Most Strings have no escapes at all, so the whole literal can be copied out of the reader in one go. The
+		// StringBuilder only comes into play once an escape sequence shows up.
+		StringBuilder result = null;
+		while(true) {
+			String run = reader.readStringUntil(openQuote, '\\', '\n', pooled && result == null);
+			int ch = reader.read();
+			
+			if (ch==openQuote) {
+				if (result == null) return run;
+				
+				String escaped = result.append(run).toString();
+				StringPool pool = reader.getStringPool();
+				return (pooled && pool != null) ? pool.intern(escaped) : escaped;
+			}
 			if (ch==-1) {
 				SyntaxError err = new SyntaxError("Unmatched quote on a String value.");
-				err.setStartParsing(startLine, startChar);
+				err.setStartParsing(reader.getLine(start), reader.getCharacter(start));
 				err.setEndParsing(reader.getLine(), reader.getCharacter());
 				throw err;
 			}
 			if (ch=='\n') {
 				SyntaxError err = new SyntaxError("Unescaped newline in a String value.");
-				err.setStartParsing(startLine, startChar);
+				err.setStartParsing(reader.getLine(start), reader.getCharacter(start));
 				err.setEndParsing(reader.getLine(), reader.getCharacter());
 				throw err;
 			}
 			
-			if (ch=='\\') {
-				readEscapeSequence(reader, result);
-			} else {
-				result.appendCodePoint(ch);
+			// ch is a backslash
+			if (result == null) result = new StringBuilder(run.length() + 16);
+			result.append(run);
+			readEscapeSequence(reader, result);
+		}
+	}
+	
+	/**
+	 * Reads a String which follows the RFC 8259 grammar exactly. Only double quotes are accepted, control characters
+	 * must be escaped, and only the escapes listed in the RFC are allowed. Object keys are shared through the reader's
+	 * StringPool if it has one and {@code pooled} is true.
+	 */
+	public static String readStrictStatic(LookaheadCodePointReader reader, boolean pooled) throws IOException, SyntaxError {
+		long start = reader.getOffset();
+		
+		if (reader.read() != '"') throw new SyntaxError("Expected a double-quoted String.", reader.getLine(start), reader.getCharacter(start));
+		
+		StringBuilder result = null;
+		while(true) {
+			String run = reader.readStringUntil('"', '\\', '\n', pooled && result == null);
+			for(int i=0; i<run.length(); i++) {
+				if (run.charAt(i) < 0x20) throw new SyntaxError("Unescaped control character in a String value.", reader.getLine(start), reader.getCharacter(start));
+			}
+			
+			int ch = reader.read();
+			if (ch=='"') {
+				if (result == null) return run;
+				
+				String escaped = result.append(run).toString();
+				StringPool pool = reader.getStringPool();
+				return (pooled && pool != null) ? pool.intern(escaped) : escaped;
 			}
+			if (ch==-1) throw new SyntaxError("Unmatched quote on a String value.", reader.getLine(start), reader.getCharacter(start));
+			if (ch=='\n') throw new SyntaxError("Unescaped newline in a String value.", reader.getLine(start), reader.getCharacter(start));
 			
-			ch = reader.read();
+			// ch is a backslash
+			if (result == null) result = new StringBuilder(run.length() + 16);
+			result.append(run);
+			readStrictEscapeSequence(reader, result);
+		}
+	}
+	
+	private static void readStrictEscapeSequence(LookaheadCodePointReader in, StringBuilder out) throws IOException, SyntaxError {
+		int escape = in.read();
+		switch(escape) {
+			case '"' -> out.append('"');
+			case '\\' -> out.append('\\');
+			case '/' -> out.append('/');
+			case 'b' -> out.append('\b');
+			case 'f' -> out.append('\f');
+			case 'n' -> out.append('\n');
+			case 'r' -> out.append('\r');
+			case 't' -> out.append('\t');
+			case 'u' -> {
+				int code = 0;
+				for(int i=0; i<4; i++) {
+					int ch = in.read();
+					int digit = (ch < 128) ? Character.digit(ch, 16) : -1;
+					if (digit == -1) throw new SyntaxError("Invalid unicode escape sequence.", in.getLine(), in.getCharacter());
+					code = (code << 4) | digit;
+				}
+				out.append((char) code);
+			}
+			default -> throw new SyntaxError("Invalid escape sequence '\\"+((escape==-1) ? "" : Character.toString(escape))+"'.", in.getLine(), in.getCharacter());
 		}
-		
-		return result.toString();
 	}
 	
 	@Override
@@ -181,5 +256,67 @@ public class StringValueParser implements ValueParser {
 				out.appendCodePoint(escape);
 		}
 	}
+	
+	/**
+	 * Decodes a quoted String literal which has already been read through {@link #readEscapeSequence}, so its escape
+	 * sequences are known to be valid. The result is the same String that reading it would have produced.
+	 * @param text  the text holding the literal
+	 * @param start the index of the opening quote
+	 * @param end   the index just past the closing quote
+	 */
+	public static String unescape(CharSequence text, int start, int end) {
+		int index = start + 1;
+		int last = end - 1;
+		int backslash = indexOf(text, '\\', index, last);
+		if (backslash == -1) return text.subSequence(index, last).toString();
+		
+		StringBuilder result = new StringBuilder(last - index);
+		while(backslash != -1) {
+			result.append(text, index, backslash);
+			index = unescape(text, backslash + 1, result);
+			backslash = indexOf(text, '\\', index, last);
+		}
+		result.append(text, index, last);
+		return result.toString();
+	}
+	
+	/**
+	 * Decodes the escape sequence which follows a backslash at index - 1, in exactly the way readEscapeSequence does.
+	 * @return the index just past the escape sequence
+	 */
+	private static int unescape(CharSequence text, int index, StringBuilder out) {
+		char escape = text.charAt(index);
+		switch(escape) {
+			case 'b' -> out.append('\b');
+			case 'f' -> out.append('\f');
+			case 'n' -> out.append('\n');
+			case 'r' -> out.append('\r');
+			case 't' -> out.append('\t');
+			case 'v' -> out.append('\u000B');
+			case '0' -> out.append('\u0000');
+			case '\n' -> {}
+			case 'u', 'U', 'x', 'X' -> {
+				char next = text.charAt(index + 1);
+				boolean unicode = escape=='u' || escape=='U';
+				if (unicode ? (next=='u' || next=='U') : (next=='x' || next=='X')) {
+					// A doubled 'u' or 'x' is a literal backslash followed by the second one
+					out.append('\\').append(next);
+					return index + 2;
+				}
+				int digits = (unicode) ? 4 : 2;
+				out.appendCodePoint(Integer.parseInt(text, index + 1, index + 1 + digits, 16));
+				return index + 1 + digits;
+			}
+			default -> out.append(escape); // Quotes, backslashes, and anything else stand for themselves
+		}
+		return index + 1;
+	}
+	
+	private static int indexOf(CharSequence text, char ch, int start, int end) {
+		for(int i=start; i<end; i++) {
+			if (text.charAt(i) == ch) return i;
+		}
+		return -1;
+	}
 
 }
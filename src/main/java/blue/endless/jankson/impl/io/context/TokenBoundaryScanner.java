@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Watches code points go by and notes where each complete json token ends, without decoding anything. Whitespace and
+ * comments are not tokens. A quoted String ends at its closing quote, punctuation is a token by itself, and anything
+ * else (numbers, literals, unquoted keys) only ends once the character after it has been seen.
+ * 
+ * <p>This lets a parser which reads from partial input tell whether it can take another step without running off the
+ * end of what has arrived so far.
+ */
+public class TokenBoundaryScanner implements IntConsumer {
+	private static final int NORMAL        = 0;
+	private static final int STRING        = 1;
+	private static final int STRING_ESCAPE = 2;
+	private static final int BARE          = 3;
+	private static final int SLASH         = 4;
+	private static final int LINE_COMMENT  = 5;
+	private static final int BLOCK_COMMENT = 6;
+	private static final int BLOCK_STAR    = 7;
+	
+	private int state = NORMAL;
+	private int quote = 0;
+	
+	/** How many UTF-16 units have been seen so far, which is the same unit LookaheadCodePointReader's position uses. */
+	private long position = 0L;
+	
+	/** Positions just past the end of each token, oldest first. */
+	private long[] tokenEnds = new long[64];
+	private int first = 0;
+	private int count = 0;
+	
+	@Override
+	public void accept(int ch) {
+		switch(state) {
+			case STRING -> {
+				if (ch == quote) {
+					state = NORMAL;
+					endToken(position + 1);
+				} else if (ch == '\\') {
+					state = STRING_ESCAPE;
+				}
+			}
+			case STRING_ESCAPE -> state = STRING;
+			case BARE -> {
+				if (isBare(ch)) break;
+				endToken(position);
+				state = NORMAL;
+				startToken(ch);
+			}
+			case SLASH -> {
+				if (ch == '/') {
+					state = LINE_COMMENT;
+				} else if (ch == '*') {
+					state = BLOCK_COMMENT;
+				} else {
+					// A lone slash isn't a comment, so it must be the start of something bare
+					state = BARE;
+					accept(ch);
+					return;
+				}
+			}
+			case LINE_COMMENT -> {
+				if (ch == '\n') state = NORMAL;
+			}
+			case BLOCK_COMMENT -> {
+				if (ch == '*') state = BLOCK_STAR;
+			}
+			case BLOCK_STAR -> {
+				if (ch == '/') {
+					state = NORMAL;
+				} else if (ch != '*') {
+					state = BLOCK_COMMENT;
+				}
+			}
+			default -> startToken(ch);
+		}
+		
+		position += Character.charCount(ch);
+	}
+	
+	private void startToken(int ch) {
+		switch(ch) {
+			case '{', '}', '[', ']', ',', ':' -> endToken(position + 1);
+			case '"', '\'' -> {
+				state = STRING;
+				quote = ch;
+			}
+			case '/' -> state = SLASH;
+			case '#' -> state = LINE_COMMENT;
+			default -> {
+				if (!Character.isWhitespace(ch)) state = BARE;
+			}
+		}
+	}
+	
+	private void endToken(long end) {
+		if (count == tokenEnds.length) {
+			long[] grown = new long[tokenEnds.length * 2];
+			for(int i=0; i<count; i++) grown[i] = tokenEnds[(first + i) % tokenEnds.length];
+			tokenEnds = grown;
+			first = 0;
+		}
+		tokenEnds[(first + count) % tokenEnds.length] = end;
+		count++;
+	}
+	
+	/**
+	 * Returns the position just past the end of the nth complete token which ends after {@code from}, or -1 if that
+	 * many tokens haven't been seen yet. Tokens ending at or before {@code from} are forgotten.
+	 */
+	public long getTokenEnd(long from, int n) {
+		while(count > 0 && tokenEnds[first] <= from) {
+			first = (first + 1) % tokenEnds.length;
+			count--;
+		}
+		if (n > count) return -1;
+		return tokenEnds[(first + n - 1) % tokenEnds.length];
+	}
+	
+	/**
+	 * Returns the number of UTF-16 units which have been scanned.
+	 */
+	public long getPosition() {
+		return position;
+	}
+	
+	private static boolean isBare(int ch) {
+		return switch(ch) {
+			case '{', '}', '[', ']', ',', ':', '"', '\'', '/', '#' -> false;
+			default -> !Character.isWhitespace(ch);
+		};
+	}
+}
@@ -31,14 +31,11 @@ import blue.endless.jankson.impl.io.Lookahead;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
 
 public class TokenValueParser implements ValueParser {
-	private static final String VALID_UNQUOTED_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_";
 	
-
-
 	@Override
 	public boolean canRead(Lookahead reader) throws IOException {
 		int ch = reader.peek();
-		return ch != -1 && VALID_UNQUOTED_CHARS.indexOf(ch) != -1;
+		return ParserConstants.isTokenCharacter(ch);
 	}
 
 	@Override
@@ -47,15 +44,21 @@ public class TokenValueParser implements ValueParser {
 	}
 	
 	public static String readStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
-		StringBuilder token = new StringBuilder();
-		int ch = reader.peek();
-		while(ch != -1 && VALID_UNQUOTED_CHARS.indexOf(ch) != -1) {
-			token.appendCodePoint(reader.read());
-			ch = reader.peek();
-		}
+		return readStatic(reader, false);
+	}
+	
+	/**
+	 * Reads an unquoted object key. If the reader has a StringPool, the key will be shared through it.
+	 */
+	public static String readKeyStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		return readStatic(reader, true);
+	}
+	
+	private static String readStatic(LookaheadCodePointReader reader, boolean pooled) throws IOException, SyntaxError {
+		String token = reader.readStringWhile(ParserConstants::isTokenCharacter, pooled);
 		
 		if (token.isEmpty()) throw new SyntaxError("Expected unquoted token but found illegal characters.", reader.getLine(), reader.getCharacter());
-		return token.toString();
+		return token;
 	}
 	
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+
+import blue.endless.jankson.impl.io.Lookahead;
+import blue.endless.jankson.impl.io.context.toml.DateValueParser;
+
+/**
+ * Decides what kind of value starts at the read pointer, with a single table lookup on the first code point and at
+ * most one follow-up match to confirm it. This replaces trying each ValueParser's canRead in turn, and is shared by
+ * the json, toml, and ini parsers so that they all agree on what a value looks like.
+ */
+public final class ValueLexer {
+	public enum Token {
+		/** The end of the stream */
+		EOF,
+		NEWLINE,
+		/** A line-end, multiline, or octothorpe comment */
+		COMMENT,
+		OBJECT_START,
+		ARRAY_START,
+		/** A single-quoted or double-quoted String */
+		STRING,
+		/** A triple-quoted or triple-apostrophe String */
+		TRIPLE_QUOTED_STRING,
+		/** A number, including hex numbers and named values like Infinity or NaN */
+		NUMBER,
+		BOOLEAN,
+		NULL,
+		/** An RFC 3339 date, time, or date-time. Only produced if the caller asked for dates. */
+		DATE,
+		/** Anything else. Most likely a syntax error, or an unquoted String. */
+		UNKNOWN;
+	}
+	
+	/**
+	 * The token each ASCII code point would start, if the rest of the token checks out.
+	 */
+	private static final Token[] START_TOKENS = new Token[128];
+	static {
+		for(int i=0; i<START_TOKENS.length; i++) {
+			START_TOKENS[i] = ParserConstants.isNumberStart(i) ? Token.NUMBER : Token.UNKNOWN;
+		}
+		START_TOKENS['\n'] = Token.NEWLINE;
+		START_TOKENS['#'] = Token.COMMENT;
+		START_TOKENS['/'] = Token.COMMENT;
+		START_TOKENS['{'] = Token.OBJECT_START;
+		START_TOKENS['['] = Token.ARRAY_START;
+		START_TOKENS['"'] = Token.STRING;
+		START_TOKENS['\''] = Token.STRING;
+		START_TOKENS['t'] = Token.BOOLEAN;
+		START_TOKENS['f'] = Token.BOOLEAN;
+		START_TOKENS['n'] = Token.NULL;
+		START_TOKENS['N'] = Token.NUMBER;
+		START_TOKENS['I'] = Token.NUMBER;
+		START_TOKENS['i'] = Token.NUMBER;
+	}
+	
+	private ValueLexer() {}
+	
+	/**
+	 * Classifies the value at the read pointer without consuming anything.
+	 * @param lookahead the stream
+	 * @param dates     true if dates and times should be recognized (as in toml). If false, they will be classified
+	 *                  as numbers.
+	 * @return the kind of token which starts at the read pointer
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static Token classify(Lookahead lookahead, boolean dates) throws IOException {
+		int ch = lookahead.peek();
+		if (ch == -1) return Token.EOF;
+		if (ch >= START_TOKENS.length) return Token.UNKNOWN;
+		
+		Token token = START_TOKENS[ch];
+		return switch(token) {
+			case COMMENT -> (ch == '#' || CommentValueParser.canReadStatic(lookahead)) ? Token.COMMENT : Token.UNKNOWN;
+			case STRING -> (lookahead.peekMatches(ch == '"' ? ParserConstants.TRIPLE_QUOTE : "'''")) ? Token.TRIPLE_QUOTED_STRING : Token.STRING;
+			case BOOLEAN -> (lookahead.peekMatches("true") || lookahead.peekMatches("false")) ? Token.BOOLEAN : Token.UNKNOWN;
+			case NULL -> {
+				if (lookahead.peekMatches("null") && !ParserConstants.isTokenCharacter(lookahead.peek(5))) yield Token.NULL;
+				yield (lookahead.peekMatchesIgnoreCase("nan")) ? Token.NUMBER : Token.UNKNOWN;
+			}
+			case NUMBER -> {
+				if (ParserConstants.isNumberStart(ch)) {
+					yield (dates && ParserConstants.isDigit(ch) && DateValueParser.canReadStatic(lookahead)) ? Token.DATE : Token.NUMBER;
+				}
+				yield (NumberValueParser.canReadStatic(lookahead)) ? Token.NUMBER : Token.UNKNOWN;
+			}
+			default -> token;
+		};
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson.impl.io.context;
+
+import java.io.IOException;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+
+/**
+ * Scans past values without decoding them. Only bracket, quote, and comment structure is tracked, so nothing is
+ * allocated no matter how large the skipped value is. Bracket kinds are not matched against each other; a skipped
+ * value only needs to be balanced.
+ */
+public class ValueSkipper {
+	
+	/**
+	 * Skips whitespace, newlines, and comments.
+	 */
+	public static void skipInsignificant(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		while(true) {
+			reader.skipWhitespace(true);
+			if (!CommentValueParser.canReadStatic(reader)) return;
+			skipComment(reader);
+		}
+	}
+	
+	/**
+	 * Skips one complete value, which must start at the reader's current position.
+	 */
+	public static void skipStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		long start = reader.getOffset();
+		
+		int depth = 0;
+		while(true) {
+			int ch = reader.peek();
+			switch(ch) {
+				case -1 -> throw new SyntaxError("Found EOF while skipping a value.", reader.getLine(start), reader.getCharacter(start));
+				case '{', '[' -> {
+					reader.read();
+					depth++;
+				}
+				case '}', ']' -> {
+					if (depth == 0) throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
+					reader.read();
+					depth--;
+					if (depth == 0) return;
+				}
+				case '"', '\'' -> {
+					skipString(reader);
+					if (depth == 0) return;
+				}
+				default -> {
+					if (CommentValueParser.canReadStatic(reader)) {
+						skipComment(reader);
+					} else if (depth == 0) {
+						// Bare tokens: numbers, true, false, null, Infinity, etc.
+						long before = reader.getOffset();
+						reader.skipWhile(ValueSkipper::isBareCharacter);
+						if (reader.getOffset() == before) throw new SyntaxError("Expected a value here, but couldn't decode it.", reader.getLine(), reader.getCharacter());
+						return;
+					} else {
+						// Inside a container, nothing matters except the characters that could open or close something
+						reader.read();
+						reader.skipWhile(ValueSkipper::isUninteresting);
+					}
+				}
+			}
+		}
+	}
+	
+	private static void skipString(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		long start = reader.getOffset();
+		
+		if (reader.peekMatches(ParserConstants.TRIPLE_QUOTE)) {
+			reader.skip(3);
+			while(true) {
+				if (reader.skipUntil('"', '"', '"') == -1) throw new SyntaxError("Found EOF while skipping a triple-quoted String.", reader.getLine(start), reader.getCharacter(start));
+				if (reader.peekMatches(ParserConstants.TRIPLE_QUOTE)) {
+					reader.skip(3);
+					return;
+				}
+				reader.read();
+			}
+		}
+		
+		int openQuote = reader.read();
+		while(true) {
+			int ch = reader.skipUntil(openQuote, '\\', '\n');
+			switch(ch) {
+				case -1, '\n' -> throw new SyntaxError("Unterminated String literal.", reader.getLine(start), reader.getCharacter(start));
+				case '\\' -> reader.skip(2);
+				default -> {
+					reader.read();
+					return;
+				}
+			}
+		}
+	}
+	
+	private static void skipComment(LookaheadCodePointReader reader) throws IOException, SyntaxError {
+		long start = reader.getOffset();
+		
+		if (reader.peekMatches("/*")) {
+			reader.skip(2);
+			while(true) {
+				if (reader.skipUntil('*', '*', '*') == -1) throw new SyntaxError("Found EOF while skipping a multiline comment.", reader.getLine(start), reader.getCharacter(start));
+				reader.read();
+				if (reader.peek() == '/') {
+					reader.read();
+					return;
+				}
+			}
+		} else {
+			// '#' and '//' comments run to the end of the line. The newline itself is left for the caller.
+			reader.skipUntil('\n', '\n', '\n');
+		}
+	}
+	
+	private static boolean isBareCharacter(int ch) {
+		return !Character.isWhitespace(ch) && isUninteresting(ch) && ch != ',' && ch != ':';
+	}
+	
+	private static boolean isUninteresting(int ch) {
+		return switch(ch) {
+			case '{', '}', '[', ']', '"', '\'', '/', '#' -> false;
+			default -> true;
+		};
+	}
+}
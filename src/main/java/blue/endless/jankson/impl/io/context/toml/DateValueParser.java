@@ -25,11 +25,11 @@
 package blue.endless.jankson.impl.io.context.toml;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.impl.io.Lookahead;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.context.ParserConstants;
 import blue.endless.jankson.impl.io.context.ValueParser;
 
 /**
@@ -49,42 +49,34 @@ import blue.endless.jankson.impl.io.context.ValueParser;
  */
 public class DateValueParser implements ValueParser {
 	
-	private static final int[] dateCharacters = { // These are sorted in ascii order
-			'+', '-', '.',
-			'0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
-			':', 'T', 'Z', 't', 'z'
-	};
-	
-	
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
 		int c1 = lookahead.peek(1);
+		if (!ParserConstants.isDigit(c1)) return false;
 		int c2 = lookahead.peek(2);
+		if (!ParserConstants.isDigit(c2)) return false;
 		int c3 = lookahead.peek(3);
 		
-		if (Character.isDigit(c1) && Character.isDigit(c2) && c3 == ':') return true; //Some kind of LocalTime
+		if (c3 == ':') return true; //Some kind of LocalTime
 		
-		if (!(Character.isDigit(c1) && Character.isDigit(c2) && Character.isDigit(c3))) return false; //Definitely not a year
+		if (!ParserConstants.isDigit(c3)) return false; //Definitely not a year
 		
-		if (Character.isDigit(lookahead.peek(4)) && lookahead.peek(5) == '-') return true; //Year
+		if (ParserConstants.isDigit(lookahead.peek(4)) && lookahead.peek(5) == '-') return true; //Year
 		
 		return false; //Doesn't fit any pattern we understand
 	}
 
 	
 	public static String readStatic(LookaheadCodePointReader reader) throws IOException, SyntaxError {
-		StringBuilder result = new StringBuilder();
-		while(Arrays.binarySearch(dateCharacters, reader.peek()) >= 0) {
-			result.appendCodePoint(reader.read());
-		}
+		String result = reader.readStringWhile(ParserConstants::isDateCharacter);
 		
-		if (result.indexOf("T") < 0 && reader.peek() == ' ') {
+		if (result.indexOf('T') < 0 && reader.peek() == ' ') {
 			// This may be a space-delimited Date-Time.
 			// Examine the result to make sure it started with a Date
-			if (!Character.isDigit(result.charAt(0))) return result.toString();
-			if (!Character.isDigit(result.charAt(1))) return result.toString();
-			if (!Character.isDigit(result.charAt(2))) return result.toString();
-			if (!Character.isDigit(result.charAt(3))) return result.toString();
-			if (result.charAt(4) != '-') return result.toString();
+			if (!Character.isDigit(result.charAt(0))) return result;
+			if (!Character.isDigit(result.charAt(1))) return result;
+			if (!Character.isDigit(result.charAt(2))) return result;
+			if (!Character.isDigit(result.charAt(3))) return result;
+			if (result.charAt(4) != '-') return result;
 			
 			// Okay, it definitely started with a date. Look for the time
 			if (
@@ -93,15 +85,13 @@ public class DateValueParser implements ValueParser {
 					Character.isDigit(reader.peek(3)) &&
 					reader.peek(4) == ':') {
 				
-				result.appendCodePoint(reader.read()); // Consume the space
+				reader.read(); // Consume the space
 				
-				while(Arrays.binarySearch(dateCharacters, reader.peek()) >= 0) {
-					result.appendCodePoint(reader.read());
-				}
+				return result + " " + reader.readStringWhile(ParserConstants::isDateCharacter);
 			}
 		}
 		
-		return result.toString();
+		return result;
 	}
 
 
@@ -47,8 +47,7 @@ public class TomlTripleQuotedStringValueParser implements ValueParser {
 	}
 	
 	public static boolean canReadStatic(Lookahead lookahead) throws IOException {
-		String str = lookahead.peekString(3);
-		return str.equals(TRIPLE_QUOTE) || str.equals(TRIPLE_APOSTROPHE);
+		return lookahead.peekMatches(TRIPLE_QUOTE) || lookahead.peekMatches(TRIPLE_APOSTROPHE);
 	}
 
 	
@@ -63,7 +62,7 @@ public class TomlTripleQuotedStringValueParser implements ValueParser {
 			reader.read(); // If the first character after the triple quote is a newline, discard it.
 		}
 		
-		while(!reader.peekString(3).equals(initial)) {
+		while(!reader.peekMatches(initial)) {
 			int ch = reader.read();
 			if (ch == '\\' && !literal) {
 				// This is an escaped character
@@ -30,6 +30,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.AbstractDeserializer;
 import blue.endless.jankson.api.io.StructuredData;
@@ -69,6 +70,32 @@ public class ArrayDeserializer<V> extends AbstractDeserializer<Object> {
 		}
 	}
 	
+	@Override
+	public boolean shouldSkipNextValue() {
+		return delegate != null && delegate.shouldSkipNextValue();
+	}
+	
+	@Override
+	public void nextValueSkipped() throws SyntaxError, IOException {
+		if (delegate != null) delegate.nextValueSkipped();
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (delegate == null) {
+			if (!foundStart || foundEnd) {
+				super.processPrimitive(value);
+				return;
+			}
+			
+			delegate = (Deserializer<V>) ObjectWriter.getObjectWriter(elementType, StructuredData.NULL, null);
+		}
+		
+		writePrimitive(delegate, value);
+		checkDelegate();
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void process(StructuredData data) throws SyntaxError, IOException {
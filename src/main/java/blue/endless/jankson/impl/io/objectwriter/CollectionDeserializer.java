@@ -30,6 +30,7 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.AbstractDeserializer;
 import blue.endless.jankson.api.io.StructuredData;
@@ -68,6 +69,32 @@ public class CollectionDeserializer<V, T extends Collection<V>> extends Abstract
 		}
 	}
 	
+	@Override
+	public boolean shouldSkipNextValue() {
+		return delegate != null && delegate.shouldSkipNextValue();
+	}
+	
+	@Override
+	public void nextValueSkipped() throws SyntaxError, IOException {
+		if (delegate != null) delegate.nextValueSkipped();
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (delegate == null) {
+			if (!startFound || endFound) {
+				super.processPrimitive(value);
+				return;
+			}
+			
+			delegate = (Deserializer<V>) ObjectWriter.getObjectWriter(memberType, StructuredData.NULL, null);
+		}
+		
+		writePrimitive(delegate, value);
+		checkDelegate();
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void process(StructuredData data) throws SyntaxError, IOException {
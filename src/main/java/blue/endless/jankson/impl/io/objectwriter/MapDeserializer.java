@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.AbstractDeserializer;
 import blue.endless.jankson.api.io.StructuredData;
@@ -115,6 +116,32 @@ public class MapDeserializer<K, V> extends AbstractDeserializer<Map<K, V>> {
 		}
 	}
 	
+	@Override
+	public boolean shouldSkipNextValue() {
+		return delegate != null && delegate.shouldSkipNextValue();
+	}
+	
+	@Override
+	public void nextValueSkipped() throws SyntaxError, IOException {
+		if (delegate != null) delegate.nextValueSkipped();
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (delegate == null) {
+			if (!startFound || endFound || bufferedKey == null) {
+				super.processPrimitive(value);
+				return;
+			}
+			
+			delegate = (Deserializer<V>) ObjectWriter.getObjectWriter(valueType, StructuredData.NULL, null);
+		}
+		
+		writePrimitive(delegate, value);
+		checkDelegate();
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void process(StructuredData data) throws SyntaxError, IOException {
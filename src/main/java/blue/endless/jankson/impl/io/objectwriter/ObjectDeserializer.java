@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.AbstractDeserializer;
 import blue.endless.jankson.api.io.StructuredData;
@@ -82,6 +83,43 @@ public class ObjectDeserializer<T> extends AbstractDeserializer<T>{
 		}
 	}
 
+	@Override
+	public boolean shouldSkipNextValue() {
+		if (delegate != null) return delegate.shouldSkipNextValue();
+		
+		// Unmapped keys would only be handed to a discard deserializer, so let the reader skip them instead
+		return foundStart && !foundEnd && delegateKey != null && wrapper.getType(delegateKey) == null;
+	}
+	
+	@Override
+	public void nextValueSkipped() throws SyntaxError, IOException {
+		if (delegate != null) {
+			delegate.nextValueSkipped();
+			checkDelegate();
+		} else {
+			delegateKey = null;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		if (delegate == null) {
+			if (!foundStart || foundEnd || delegateKey == null) {
+				super.processPrimitive(value);
+				return;
+			}
+			
+			Type fieldType = wrapper.getType(delegateKey);
+			delegate = (fieldType == null) ?
+					AbstractDeserializer.discard() :
+					(Deserializer<Object>) ObjectWriter.getObjectWriter(fieldType, StructuredData.NULL, null);
+		}
+		
+		writePrimitive(delegate, value);
+		checkDelegate();
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void process(StructuredData data) throws SyntaxError, IOException {
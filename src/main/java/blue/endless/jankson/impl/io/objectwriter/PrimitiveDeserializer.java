@@ -42,6 +42,11 @@ public class PrimitiveDeserializer extends AbstractDeserializer<PrimitiveElement
 		return value;
 	}
 
+	@Override
+	protected void processPrimitive(PrimitiveElement value) {
+		this.value = value;
+	}
+	
 	@Override
 	protected void process(StructuredData data) throws SyntaxError {
 		if (data.type() == StructuredData.Type.PRIMITIVE) {
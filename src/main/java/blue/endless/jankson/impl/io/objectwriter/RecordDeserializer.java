@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Set;
 
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.annotation.SerializedName;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.AbstractDeserializer;
@@ -164,6 +165,61 @@ public class RecordDeserializer<T> extends AbstractDeserializer<T> {
 		}
 	}
 	
+	@Override
+	public boolean shouldSkipNextValue() {
+		if (delegate != null && !delegate.isComplete()) return delegate.shouldSkipNextValue();
+		
+		return foundStart && !foundEnd && delegateKey != null && !serializedNameToFieldName.containsKey(delegateKey);
+	}
+	
+	@Override
+	public void nextValueSkipped() throws SyntaxError, IOException {
+		if (delegate != null && !delegate.isComplete()) {
+			delegate.nextValueSkipped();
+		} else {
+			delegateKey = null;
+		}
+		checkDelegate();
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void processPrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		checkDelegate();
+		if (delegate != null && !delegate.isComplete()) {
+			writePrimitive(delegate, value);
+			checkDelegate();
+			return;
+		}
+		
+		if (!foundStart || foundEnd || delegateKey == null) {
+			super.processPrimitive(value);
+			return;
+		}
+		
+		Type fieldType = getFieldType(serializedNameToFieldName.get(delegateKey));
+		if (fieldType == null) {
+			delegate = AbstractDeserializer.discard();
+			writePrimitive(delegate, value);
+			checkDelegate();
+		} else {
+			delegate = (Deserializer<Object>) ObjectWriter.getObjectWriter(fieldType, StructuredData.NULL, null);
+			writePrimitive(delegate, value);
+		}
+	}
+	
+	private Type getFieldType(String fieldName) {
+		if (fieldName == null) return null;
+		
+		Type fieldType = null;
+		for(RecordComponent comp : clazz.getRecordComponents()) {
+			if (comp.getName().equals(fieldName)) {
+				fieldType = comp.getGenericType();
+			}
+		}
+		return fieldType;
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Override
 	protected void process(StructuredData data) throws SyntaxError, IOException {
@@ -200,12 +256,7 @@ public class RecordDeserializer<T> extends AbstractDeserializer<T> {
 					return;
 				}
 				
-				Type fieldType = null;
-				for(RecordComponent comp : clazz.getRecordComponents()) {
-					if (comp.getName().equals(fieldName)) {
-						fieldType = comp.getGenericType();
-					}
-				}
+				Type fieldType = getFieldType(fieldName);
 
 				if (fieldType != null) {
 					
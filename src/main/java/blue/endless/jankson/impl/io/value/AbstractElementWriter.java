@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson.impl.io.value;
+
+import java.io.IOException;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.CommentElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.api.io.Deserializer;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
+
+/**
+ * Base class for the writers which assemble ValueElements. Scalar values written through the typed methods go
+ * straight into a PrimitiveElement, and subclasses take that element in {@link #writePrimitive(PrimitiveElement)}.
+ * Everything else is turned into StructuredData and written normally.
+ */
+public abstract class AbstractElementWriter implements Deserializer<ValueElement>, StructuredDataSink {
+	
+	@Override
+	public abstract void write(StructuredData data) throws SyntaxError, IOException;
+	
+	@Override
+	public void writePrimitive(PrimitiveElement value) throws SyntaxError, IOException {
+		write(StructuredData.primitive(value));
+	}
+	
+	@Override
+	public void startObject() throws SyntaxError, IOException {
+		write(StructuredData.OBJECT_START);
+	}
+	
+	@Override
+	public void endObject() throws SyntaxError, IOException {
+		write(StructuredData.OBJECT_END);
+	}
+	
+	@Override
+	public void startArray() throws SyntaxError, IOException {
+		write(StructuredData.ARRAY_START);
+	}
+	
+	@Override
+	public void endArray() throws SyntaxError, IOException {
+		write(StructuredData.ARRAY_END);
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws SyntaxError, IOException {
+		write(StructuredData.objectKey(key.toString()));
+	}
+	
+	@Override
+	public void writeString(CharSequence value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value.toString()));
+	}
+	
+	@Override
+	public void writeLong(long value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeDouble(double value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeBoolean(boolean value) throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.of(value));
+	}
+	
+	@Override
+	public void writeNull() throws SyntaxError, IOException {
+		writePrimitive(PrimitiveElement.ofNull());
+	}
+	
+	@Override
+	public void comment(CommentElement comment) throws SyntaxError, IOException {
+		write(new StructuredData(StructuredData.Type.COMMENT, comment));
+	}
+	
+	@Override
+	public void newline() throws SyntaxError, IOException {
+		write(StructuredData.NEWLINE);
+	}
+	
+	@Override
+	public void whitespace(String value) throws SyntaxError, IOException {
+		write(StructuredData.whitespace(value));
+	}
+	
+	@Override
+	public void endOfInput() throws SyntaxError, IOException {
+		write(StructuredData.EOF);
+	}
+}
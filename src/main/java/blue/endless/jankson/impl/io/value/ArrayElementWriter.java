@@ -33,16 +33,16 @@ import blue.endless.jankson.api.document.CommentElement;
 import blue.endless.jankson.api.document.CommentType;
 import blue.endless.jankson.api.document.FormattingElement;
 import blue.endless.jankson.api.document.NonValueElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.document.ValueElement;
 import blue.endless.jankson.api.io.StructuredData;
-import blue.endless.jankson.api.io.Deserializer;
 
-public class ArrayElementWriter implements Deserializer<ValueElement> {
+public class ArrayElementWriter extends AbstractElementWriter {
 	
 	private boolean initialBracketFound = false;
 	private boolean finalBracketFound =  false;
 	private ArrayElement value = new ArrayElement();
-	private Deserializer<ValueElement> delegate;
+	private AbstractElementWriter delegate;
 	private ArrayList<NonValueElement> bufferedValuePrologue = new ArrayList<>();
 	
 	@Override
@@ -110,17 +110,40 @@ public class ArrayElementWriter implements Deserializer<ValueElement> {
 		}
 	}
 
+	@Override
+	public void writePrimitive(PrimitiveElement element) throws SyntaxError, IOException {
+		if (delegate != null) {
+			delegate.writePrimitive(element);
+			checkSubordinate();
+		} else if (initialBracketFound && !finalBracketFound) {
+			addElement(element);
+		} else {
+			super.writePrimitive(element);
+		}
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws SyntaxError, IOException {
+		if (delegate != null) {
+			delegate.objectKey(key);
+		} else {
+			super.objectKey(key);
+		}
+	}
+	
 	private void checkSubordinate() throws IOException {
 		if (delegate != null && delegate.isComplete()) {
-			ValueElement result = delegate.getResult();
-			result.getPrologue().addAll(bufferedValuePrologue);
-			bufferedValuePrologue.clear();
-			value.add(result);
-			
+			addElement(delegate.getResult());
 			delegate = null;
 		}
 	}
 	
+	private void addElement(ValueElement element) {
+		element.getPrologue().addAll(bufferedValuePrologue);
+		bufferedValuePrologue.clear();
+		value.add(element);
+	}
+	
 	@Override
 	public ArrayElement getResult() {
 		return value;
@@ -35,16 +35,16 @@ import blue.endless.jankson.api.document.FormattingElement;
 import blue.endless.jankson.api.document.KeyValuePairElement;
 import blue.endless.jankson.api.document.NonValueElement;
 import blue.endless.jankson.api.document.ObjectElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.document.ValueElement;
 import blue.endless.jankson.api.io.StructuredData;
-import blue.endless.jankson.api.io.Deserializer;
 
-public class ObjectElementWriter implements Deserializer<ValueElement> {
+public class ObjectElementWriter extends AbstractElementWriter {
 	
 	private boolean initialBraceFound = false;
 	private boolean finalBraceFound = false;
 	private ObjectElement value = new ObjectElement();
-	private Deserializer<ValueElement> subordinate;
+	private AbstractElementWriter subordinate;
 	
 	private List<NonValueElement> bufferedKeyPreamble = new ArrayList<>();
 	private List<NonValueElement> bufferedValuePreamble = new ArrayList<>();
@@ -149,22 +149,48 @@ public class ObjectElementWriter implements Deserializer<ValueElement> {
 		
 	}
 	
+	@Override
+	public void writePrimitive(PrimitiveElement element) throws SyntaxError, IOException {
+		if (subordinate != null) {
+			subordinate.writePrimitive(element);
+			checkSubordinate();
+		} else if (initialBraceFound && !finalBraceFound && bufferedKey != null) {
+			addValue(element);
+		} else {
+			super.writePrimitive(element);
+		}
+	}
+	
+	@Override
+	public void objectKey(CharSequence key) throws SyntaxError, IOException {
+		if (subordinate != null) {
+			subordinate.objectKey(key);
+		} else if (initialBraceFound && !finalBraceFound && bufferedKey == null) {
+			bufferedKey = key.toString();
+		} else {
+			super.objectKey(key);
+		}
+	}
+	
 	private void checkSubordinate() throws SyntaxError, IOException {
 		if (subordinate != null && subordinate.isComplete()) {
-			if (bufferedKey == null) throw new SyntaxError("Invalid writer state: we don't have a key for an object value");
-			ValueElement result = subordinate.getResult();
-			result.getPrologue().addAll(bufferedValuePreamble);
-			bufferedValuePreamble.clear();
-			KeyValuePairElement kvPair = new KeyValuePairElement(bufferedKey, result);
-			kvPair.getPrologue().addAll(bufferedKeyPreamble);
-			bufferedKeyPreamble.clear();
-			
-			value.add(kvPair);
-			
+			addValue(subordinate.getResult());
 			subordinate = null;
-			bufferedKey = null;
 		}
 	}
+	
+	private void addValue(ValueElement result) throws SyntaxError {
+		if (bufferedKey == null) throw new SyntaxError("Invalid writer state: we don't have a key for an object value");
+		result.getPrologue().addAll(bufferedValuePreamble);
+		bufferedValuePreamble.clear();
+		KeyValuePairElement kvPair = new KeyValuePairElement(bufferedKey, result);
+		kvPair.getPrologue().addAll(bufferedKeyPreamble);
+		bufferedKeyPreamble.clear();
+		
+		value.add(kvPair);
+		
+		bufferedKey = null;
+	}
 
 	@Override
 	public ObjectElement getResult() {
@@ -28,11 +28,9 @@ import java.io.IOException;
 import java.util.Objects;
 
 import blue.endless.jankson.api.document.PrimitiveElement;
-import blue.endless.jankson.api.document.ValueElement;
 import blue.endless.jankson.api.io.StructuredData;
-import blue.endless.jankson.api.io.Deserializer;
 
-public class PrimitiveElementWriter implements Deserializer<ValueElement> {
+public class PrimitiveElementWriter extends AbstractElementWriter {
 	
 	private boolean complete = false;
 	private PrimitiveElement value = null;
@@ -44,6 +42,12 @@ public class PrimitiveElementWriter implements Deserializer<ValueElement> {
 		value = data.asPrimitive();
 		complete = true;
 	}
+	
+	@Override
+	public void writePrimitive(PrimitiveElement value) {
+		this.value = value;
+		complete = true;
+	}
 
 	@Override
 	public PrimitiveElement getResult() {
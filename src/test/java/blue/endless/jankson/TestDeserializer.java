@@ -29,6 +29,8 @@ import blue.endless.jankson.api.document.ObjectElement;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,7 @@ import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.io.JsonIOException;
 import blue.endless.jankson.api.io.ObjectWriter;
 import blue.endless.jankson.api.io.ObjectWriterFactory;
+import blue.endless.jankson.api.io.StructuredData;
 import blue.endless.jankson.api.io.json.JsonReader;
 
 public class TestDeserializer {
@@ -61,6 +64,65 @@ public class TestDeserializer {
 		Assertions.assertEquals("4", des.y);
 	}
 	
+	@Test
+	public void testSkipUnmappedKeys() throws SyntaxError, IOException {
+		String subject = "{ payload: { \"a]}\": [1, 2, { \"b\": 'c\\'}' }], /* ] */ d: 1e5 // }\n }, x: 4, other: [[], {}], y: \"4\" }";
+		
+		JsonReader jsonReader = new JsonReader(new StringReader(subject));
+		ObjectWriter<TestObject> w = new ObjectWriter<>(TestObject.class);
+		Assertions.assertFalse(w.shouldSkipNextValue());
+		jsonReader.transferTo(w);
+		
+		TestObject des = w.toObject();
+		Assertions.assertEquals(4, des.x);
+		Assertions.assertEquals("4", des.y);
+		
+		record Point(int x, int y) {}
+		jsonReader = new JsonReader(new StringReader("{ x: 1, z: { q: [\"}\"] }, y: 2 }"));
+		ObjectWriter<Point> recordWriter = new ObjectWriter<>(Point.class);
+		jsonReader.transferTo(recordWriter);
+		Assertions.assertEquals(new Point(1, 2), recordWriter.toObject());
+	}
+	
+	public static class BigNumbers {
+		public BigInteger a;
+		public BigDecimal b;
+	}
+	
+	@Test
+	public void testBigNumberFields() throws SyntaxError, IOException {
+		ObjectWriter<BigNumbers> w = new ObjectWriter<>(BigNumbers.class);
+		new JsonReader(new StringReader("{ a: 12345, b: 1.5 }")).transferTo(w);
+		Assertions.assertEquals(BigInteger.valueOf(12345), w.toObject().a);
+		Assertions.assertEquals(new BigDecimal("1.5"), w.toObject().b);
+		
+		// Too large for a long or a double: these arrive exactly
+		ObjectWriter<BigNumbers> big = new ObjectWriter<>(BigNumbers.class);
+		new JsonReader(new StringReader("{ a: 123456789012345678901234567890, b: 1.5e400 }")).transferTo(big);
+		Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), big.toObject().a);
+		Assertions.assertEquals(new BigDecimal("1.5e400"), big.toObject().b);
+		
+		// A fraction can't be turned into a BigInteger
+		ObjectWriter<BigNumbers> fraction = new ObjectWriter<>(BigNumbers.class);
+		Exception ex = Assertions.assertThrows(Exception.class, () -> new JsonReader(new StringReader("{ a: 1.5 }")).transferTo(fraction));
+		Assertions.assertTrue(ex instanceof SyntaxError || ex.getCause() instanceof SyntaxError, ex.toString());
+	}
+	
+	@Test
+	public void testSkipValue() throws SyntaxError, IOException {
+		JsonReader jsonReader = new JsonReader(new StringReader("{ a: { b: [1, 'x'] }, c: true }"));
+		Assertions.assertEquals(StructuredData.OBJECT_START, jsonReader.next());
+		Assertions.assertEquals("a", jsonReader.next().value());
+		jsonReader.skipValue();
+		Assertions.assertEquals("c", jsonReader.next().value());
+		Assertions.assertEquals(Boolean.TRUE, jsonReader.next().value());
+		
+		JsonReader unterminated = new JsonReader(new StringReader("{ a: [1, \"2] }"));
+		unterminated.next();
+		unterminated.next();
+		Assertions.assertThrows(IOException.class, unterminated::skipValue);
+	}
+	
 	
 	
 	
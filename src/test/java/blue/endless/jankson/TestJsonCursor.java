@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.json.JsonCursor;
+import blue.endless.jankson.api.io.json.JsonCursor.Token;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.toml.TomlReader;
+
+public class TestJsonCursor {
+	private static final String DOCUMENT = "{ \"id\": 42, /* skip me */ \"ratio\": 0.5, \"tags\": [ \"a\", true, null ], \"nested\": { \"x\": [ 1 ] }, \"last\": -7 }";
+	
+	@Test
+	public void testTokens() throws IOException, SyntaxError {
+		JsonCursor cursor = new JsonCursor(new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED));
+		
+		Assertions.assertEquals(Token.START_OBJECT, cursor.nextToken());
+		Assertions.assertEquals(0, cursor.currentDepth());
+		Assertions.assertEquals(Token.KEY, cursor.nextToken());
+		Assertions.assertTrue(cursor.keyEquals("id"));
+		Assertions.assertFalse(cursor.keyEquals("i"));
+		Assertions.assertEquals(1, cursor.currentDepth());
+		Assertions.assertEquals(Token.LONG, cursor.nextToken());
+		Assertions.assertEquals(42L, cursor.longValue());
+		Assertions.assertEquals(42.0, cursor.doubleValue());
+		
+		Assertions.assertEquals(Token.KEY, cursor.nextToken());
+		Assertions.assertEquals("ratio", cursor.stringValue());
+		Assertions.assertEquals(Token.DOUBLE, cursor.nextToken());
+		Assertions.assertEquals(0.5, cursor.doubleValue());
+		Assertions.assertThrows(IllegalStateException.class, cursor::booleanValue);
+		
+		Assertions.assertEquals(Token.KEY, cursor.nextToken());
+		Assertions.assertEquals(Token.START_ARRAY, cursor.nextToken());
+		Assertions.assertEquals(Token.STRING, cursor.nextToken());
+		Assertions.assertEquals("a", cursor.stringValue());
+		Assertions.assertEquals(2, cursor.currentDepth());
+		Assertions.assertEquals(Token.BOOLEAN, cursor.nextToken());
+		Assertions.assertTrue(cursor.booleanValue());
+		Assertions.assertEquals(Token.NULL, cursor.nextToken());
+		Assertions.assertEquals(Token.END_ARRAY, cursor.nextToken());
+		Assertions.assertEquals(1, cursor.currentDepth());
+		
+		// Skip a key's value, then a whole array from its start token
+		Assertions.assertEquals(Token.KEY, cursor.nextToken());
+		cursor.skipValue();
+		Assertions.assertEquals(Token.KEY, cursor.nextToken());
+		Assertions.assertTrue(cursor.keyEquals("last"));
+		Assertions.assertEquals(Token.LONG, cursor.nextToken());
+		Assertions.assertEquals(-7L, cursor.longValue());
+		
+		Assertions.assertEquals(Token.END_OBJECT, cursor.nextToken());
+		Assertions.assertEquals(0, cursor.currentDepth());
+		Assertions.assertEquals(Token.END_DOCUMENT, cursor.nextToken());
+		Assertions.assertEquals(Token.END_DOCUMENT, cursor.nextToken());
+	}
+	
+	@Test
+	public void testSkipContainer() throws IOException, SyntaxError {
+		JsonCursor cursor = new JsonCursor(new JsonReader("[ [ 1, [ 2 ] ], { \"a\": {} }, 3 ]", JsonReaderOptions.UNSPECIFIED));
+		Assertions.assertEquals(Token.START_ARRAY, cursor.nextToken());
+		Assertions.assertEquals(Token.START_ARRAY, cursor.nextToken());
+		cursor.skipValue();
+		Assertions.assertEquals(Token.START_OBJECT, cursor.nextToken());
+		cursor.skipValue();
+		Assertions.assertEquals(Token.LONG, cursor.nextToken());
+		Assertions.assertEquals(3L, cursor.longValue());
+		Assertions.assertEquals(Token.END_ARRAY, cursor.nextToken());
+		Assertions.assertEquals(Token.END_DOCUMENT, cursor.nextToken());
+	}
+	
+	@Test
+	public void testOtherReaders() throws IOException, SyntaxError {
+		// Strict json is parsed by a different context, and toml by a different reader entirely
+		JsonReaderOptions.Access strict = JsonReaderOptions.builder().setStrict(true).build();
+		Assertions.assertEquals(summarize(new JsonCursor(new JsonReader(DOCUMENT.replace("/* skip me */", ""), strict))),
+				summarize(new JsonCursor(new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED))));
+		
+		JsonCursor toml = new JsonCursor(new TomlReader(new StringReader("title = \"example\"\ncount = 3\n")));
+		Assertions.assertEquals("START_OBJECT KEY:title STRING:example KEY:count LONG:3 END_OBJECT END_DOCUMENT", summarize(toml));
+	}
+	
+	@Test
+	public void testBigNumbers() throws IOException, SyntaxError {
+		// Numbers which fit neither a long nor a double come through exactly, from both the lenient and strict parsers
+		String subject = "[ 123456789012345678901234567890, -1e400 ]";
+		for(JsonReaderOptions.Access options : new JsonReaderOptions.Access[] { JsonReaderOptions.UNSPECIFIED, JsonReaderOptions.builder().setStrict(true).build() }) {
+			JsonCursor cursor = new JsonCursor(new JsonReader(subject, options));
+			Assertions.assertEquals(Token.START_ARRAY, cursor.nextToken());
+			Assertions.assertEquals(Token.BIG_NUMBER, cursor.nextToken());
+			Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), cursor.numberValue());
+			Assertions.assertEquals(1.2345678901234568E29, cursor.doubleValue());
+			Assertions.assertEquals(Token.BIG_NUMBER, cursor.nextToken());
+			Assertions.assertEquals(new BigDecimal("-1e400"), cursor.numberValue());
+			Assertions.assertEquals(Double.NEGATIVE_INFINITY, cursor.doubleValue());
+			Assertions.assertEquals(Token.END_ARRAY, cursor.nextToken());
+		}
+	}
+	
+	private static String summarize(JsonCursor cursor) throws IOException, SyntaxError {
+		StringBuilder result = new StringBuilder();
+		while(true) {
+			Token token = cursor.nextToken();
+			if (!result.isEmpty()) result.append(' ');
+			result.append(token.name());
+			switch(token) {
+				case KEY, STRING -> result.append(':').append(cursor.stringValue());
+				case LONG -> result.append(':').append(cursor.longValue());
+				case DOUBLE -> result.append(':').append(cursor.doubleValue());
+				case BOOLEAN -> result.append(':').append(cursor.booleanValue());
+				case END_DOCUMENT -> {
+					return result.toString();
+				}
+				default -> {}
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson;
+
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.api.io.json.JsonLinesReader;
+
+public class TestJsonLinesReader {
+	public record Point(int x, int y) {}
+	
+	private static String points(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> "{ \"x\": " + i + ", \"y\": " + (i * 2) + " }")
+			.collect(Collectors.joining("\n"));
+	}
+	
+	@Test
+	public void testSequential() {
+		String data = "{ \"a\": 1 }\n\n[ 1, 2 ]\r\n\"three\"\n";
+		try(JsonLinesReader reader = new JsonLinesReader(new StringReader(data))) {
+			List<String> values = reader.stream().map(ValueElement::toString).toList();
+			Assertions.assertEquals(3, values.size());
+			Assertions.assertEquals("\"three\"", values.get(2));
+		} catch (Exception ex) {
+			Assertions.fail(ex);
+		}
+	}
+	
+	@Test
+	public void testTyped() {
+		List<Point> points = new JsonLinesReader(new StringReader(points(3))).stream(Point.class).toList();
+		Assertions.assertEquals(List.of(new Point(0, 0), new Point(1, 2), new Point(2, 4)), points);
+	}
+	
+	@Test
+	public void testErrorHandler() {
+		String data = "{ \"x\": 1, \"y\": 1 }\n{ \"x\": \n\n{ \"x\": 3, \"y\": 3 }\n]";
+		List<Long> failedLines = new ArrayList<>();
+		List<Point> points = new JsonLinesReader(new StringReader(data))
+			.onError((line, cause) -> failedLines.add(line))
+			.stream(Point.class)
+			.toList();
+		
+		Assertions.assertEquals(List.of(new Point(1, 1), new Point(3, 3)), points);
+		Assertions.assertEquals(List.of(2L, 5L), failedLines);
+		
+		JsonLinesReader strict = new JsonLinesReader(new StringReader(data));
+		Assertions.assertThrows(UncheckedIOException.class, () -> strict.stream(Point.class).toList());
+	}
+	
+	@Test
+	public void testParallel() {
+		String data = points(1000);
+		List<Point> expected = new JsonLinesReader(new StringReader(data)).stream(Point.class).toList();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<Point> ordered = new JsonLinesReader(new StringReader(data)).parallel(pool, true).stream(Point.class).toList();
+			Assertions.assertEquals(expected, ordered);
+			
+			List<Point> unordered = new JsonLinesReader(new StringReader(data)).parallel(pool, false).stream(Point.class).toList();
+			Assertions.assertEquals(expected.size(), unordered.size());
+			Assertions.assertTrue(unordered.containsAll(expected));
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
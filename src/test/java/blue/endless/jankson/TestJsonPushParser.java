@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.json.JsonPushParser;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+
+public class TestJsonPushParser {
+	private static final String SUBJECT = """
+			{
+				// A comment
+				"name": "café 😀",
+				unquoted: [ 1, -2.5e3, true, null, { "x": Infinity } ],
+				/* block */ "empty": {},
+				"escaped": "a\\"b\\\\"
+			}
+			""";
+	
+	private static List<StructuredData> pull(String subject, JsonReaderOptions.Access options) throws IOException, SyntaxError {
+		List<StructuredData> result = new ArrayList<>();
+		JsonReader reader = new JsonReader(new StringReader(subject), options);
+		StructuredData data;
+		do {
+			data = reader.next();
+			result.add(data);
+		} while(data.type() != StructuredData.Type.EOF);
+		return result;
+	}
+	
+	private static List<StructuredData> push(byte[] subject, int chunkSize, JsonReaderOptions.Access options) throws IOException, SyntaxError {
+		List<StructuredData> result = new ArrayList<>();
+		JsonPushParser parser = new JsonPushParser(options);
+		for(int i=0; i<subject.length; i+=chunkSize) {
+			parser.feed(ByteBuffer.wrap(subject, i, Math.min(chunkSize, subject.length - i)));
+			parser.drainTo(result::add);
+			Assertions.assertTrue(parser.needsInput());
+			Assertions.assertFalse(parser.isComplete());
+		}
+		parser.endOfInput();
+		parser.drainTo(result::add);
+		Assertions.assertTrue(parser.isComplete());
+		return result;
+	}
+	
+	@Test
+	public void testChunkedBytes() throws IOException, SyntaxError {
+		byte[] bytes = SUBJECT.getBytes(StandardCharsets.UTF_8);
+		List<StructuredData> expected = pull(SUBJECT, JsonReaderOptions.UNSPECIFIED);
+		
+		// Every chunk size splits tokens and UTF-8 sequences in different places
+		for(int chunkSize : new int[] { 1, 2, 3, 7, 64, bytes.length }) {
+			Assertions.assertEquals(expected.toString(), push(bytes, chunkSize, JsonReaderOptions.UNSPECIFIED).toString(), "chunk size "+chunkSize);
+		}
+		
+		String strictSubject = "{ \"a\": [1, 2, {\"b\": \"c\"}], \"d\": false }";
+		JsonReaderOptions.Access strict = JsonReaderOptions.builder().setStrict(true).build();
+		Assertions.assertEquals(
+				pull(strictSubject, strict).toString(),
+				push(strictSubject.getBytes(StandardCharsets.UTF_8), 1, strict).toString());
+	}
+	
+	@Test
+	public void testPartialResults() throws IOException, SyntaxError {
+		JsonPushParser parser = new JsonPushParser();
+		char[] start = "[ \"first\", \"second\", \"third\", 4, 5, 6, 7, 8, 9, 10, 11, 12, 13".toCharArray();
+		parser.feed(start);
+		
+		Assertions.assertEquals(StructuredData.ARRAY_START, parser.poll());
+		Assertions.assertEquals("first", parser.poll().value());
+		
+		// Drain everything that's available. The last few tokens are held back until we know they're complete.
+		List<StructuredData> rest = new ArrayList<>();
+		parser.drainTo(rest::add);
+		Assertions.assertTrue(parser.needsInput());
+		Assertions.assertNull(parser.poll());
+		Assertions.assertTrue(rest.size() < 12);
+		
+		parser.feed(" ]".toCharArray());
+		parser.endOfInput();
+		parser.drainTo(rest::add);
+		Assertions.assertEquals(StructuredData.ARRAY_END, rest.get(rest.size()-2));
+		Assertions.assertEquals(StructuredData.EOF, rest.get(rest.size()-1));
+		Assertions.assertEquals(StructuredData.EOF, parser.poll());
+	}
+	
+	@Test
+	public void testMalformed() {
+		JsonPushParser parser = new JsonPushParser();
+		parser.feed("{ \"a\": }".toCharArray());
+		parser.endOfInput();
+		Assertions.assertThrows(IOException.class, () -> parser.drainTo((it) -> {}));
+	}
+}
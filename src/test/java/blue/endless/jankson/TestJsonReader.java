@@ -29,10 +29,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -40,9 +43,20 @@ import org.junit.jupiter.api.Test;
 import blue.endless.jankson.api.Jankson;
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.api.document.ArrayElement;
+import blue.endless.jankson.api.document.KeyValuePairElement;
+import blue.endless.jankson.api.document.ObjectElement;
 import blue.endless.jankson.api.document.PrimitiveElement;
 import blue.endless.jankson.api.document.ValueElement;
+import blue.endless.jankson.api.io.Projection;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.api.io.json.JsonReader;
 import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.json.JsonWriter;
+import blue.endless.jankson.api.io.json.JsonWriterOptions;
+import blue.endless.jankson.api.io.style.WhitespaceStyle;
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.MappedFileCodePointSource;
 
 public class TestJsonReader {
 	
@@ -156,4 +170,324 @@ public class TestJsonReader {
 		Release[] releases = Jankson.readJson(new StringReader(subject), JsonReaderOptions.UNSPECIFIED, Release[].class);
 		//System.out.println(Arrays.toString(releases));
 	}
+	
+	@Test
+	public void testUtf8Sources() throws IOException, SyntaxError {
+		String subject = "{ \"caf\u00e9\": \"\u6f22\u5b57 \uD83D\uDE00\", \"n\": 42 }";
+		byte[] bytes = subject.getBytes(StandardCharsets.UTF_8);
+		
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		
+		// Trickle one byte at a time so that every multi-byte sequence is split across reads
+		InputStream trickle = new ByteArrayInputStream(bytes) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 1));
+			}
+		};
+		
+		for(ValueElement elem : new ValueElement[] { Jankson.readJson(bytes), Jankson.readJson(direct), Jankson.readJson(trickle) }) {
+			if (elem instanceof ObjectElement obj) {
+				Assertions.assertEquals("\u6f22\u5b57 \uD83D\uDE00", obj.getPrimitive("caf\u00e9").asString().get());
+				Assertions.assertEquals(42, obj.getPrimitive("n").asInt().getAsInt());
+			} else {
+				Assertions.fail("Should parse to an ObjectElement");
+			}
+		}
+		
+		Assertions.assertEquals(0, direct.position());
+	}
+	
+	@Test
+	public void testMalformedUtf8() throws IOException, SyntaxError {
+		// Stray continuation byte, truncated three-byte sequence, and an encoded surrogate
+		byte[] bytes = { '"', 'a', (byte) 0x80, 'b', (byte) 0xE6, (byte) 0xBC, 'c', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"' };
+		
+		ValueElement elem = Jankson.readJson(bytes);
+		if (elem instanceof PrimitiveElement p) {
+			Assertions.assertEquals("a\uFFFDb\uFFFDc\uFFFD\uFFFD\uFFFD", p.asString().get());
+		} else {
+			Assertions.fail("Should parse to a PrimitiveElement");
+		}
+	}
+	
+	@Test
+	public void testMappedFile() throws IOException, SyntaxError {
+		String subject = "{ \"caf\u00e9\": \"\u6f22\u5b57 \uD83D\uDE00\", \"n\": 42 }";
+		Path file = Files.createTempFile("jankson", ".json");
+		try {
+			Files.writeString(file, subject, StandardCharsets.UTF_8);
+			
+			ObjectElement obj = (ObjectElement) Jankson.readJson(file);
+			Assertions.assertEquals("\u6f22\u5b57 \uD83D\uDE00", obj.getPrimitive("caf\u00e9").asString().get());
+			Assertions.assertEquals(42, obj.getPrimitive("n").asInt().getAsInt());
+			
+			// Tiny segments force remapping in the middle of multi-byte sequences
+			LookaheadCodePointReader reader = new LookaheadCodePointReader(MappedFileCodePointSource.open(file, 5), 16, 16);
+			StringBuilder decoded = new StringBuilder();
+			while(reader.peek() != -1) decoded.appendCodePoint(reader.read());
+			Assertions.assertEquals(subject, decoded.toString());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void testKeyCache() throws IOException, SyntaxError {
+		String subject = "[ { \"id\": 1, name: \"a\", \"caf\\u00e9\": 1 }, { \"id\": 2, name: \"b\", \"caf\\u00e9\": 2 } ]";
+		JsonReaderOptions.Access opts = JsonReaderOptions.builder().setKeyCacheSize(64).build();
+		
+		ArrayElement arr = (ArrayElement) Jankson.readJson(subject, opts);
+		ObjectElement first = (ObjectElement) arr.get(0);
+		ObjectElement second = (ObjectElement) arr.get(1);
+		
+		Iterator<KeyValuePairElement> a = first.iterator();
+		Iterator<KeyValuePairElement> b = second.iterator();
+		while(a.hasNext()) {
+			String firstKey = a.next().getKey();
+			String secondKey = b.next().getKey();
+			Assertions.assertEquals(firstKey, secondKey);
+			Assertions.assertSame(firstKey, secondKey);
+		}
+		
+		// Without the cache, every key is its own instance
+		arr = (ArrayElement) Jankson.readJson(subject);
+		Assertions.assertNotSame(((ObjectElement) arr.get(0)).iterator().next().getKey(), ((ObjectElement) arr.get(1)).iterator().next().getKey());
+	}
+	
+	@Test
+	public void testReset() throws IOException, SyntaxError {
+		JsonReaderOptions.Access opts = JsonReaderOptions.builder().setKeyCacheSize(64).build();
+		JsonReader reader = new JsonReader(new StringReader("{ \"a\": [ 1, "), opts);
+		
+		// A document that was abandoned partway, or failed, leaves nothing behind
+		reader.next();
+		reader.next();
+		
+		String[] documents = { "{ \"a\": 1 }", "[ \"x\", { \"a\": true } ]", "// comment\n\"bare\"", "{ \"a\": null }" };
+		for(int i=0; i<documents.length; i++) {
+			ValueElementWriter writer = new ValueElementWriter();
+			reader.reset(new StringReader(documents[i])).transferTo(writer);
+			Assertions.assertEquals(Jankson.readJson(documents[i]).toString(), writer.getResult().toString());
+		}
+		
+		// The key cache carries over from one document to the next
+		String[] keys = new String[2];
+		ValueElementWriter writer = new ValueElementWriter();
+		reader.reset(documents[0]).transferTo(writer);
+		keys[0] = ((ObjectElement) writer.getResult()).iterator().next().getKey();
+		writer = new ValueElementWriter();
+		reader.reset(documents[3]).transferTo(writer);
+		keys[1] = ((ObjectElement) writer.getResult()).iterator().next().getKey();
+		Assertions.assertSame(keys[0], keys[1]);
+		
+		// Errors are located relative to the new document
+		reader.reset(new StringReader("[\n  ?? ]"));
+		IOException ex = Assertions.assertThrows(IOException.class, () -> reader.transferTo(new ValueElementWriter()));
+		Assertions.assertEquals("Started at line 2, column 3; Errored at line 2, column 3", ((SyntaxError) ex.getCause()).getLineMessage());
+		
+		StringWriter out = new StringWriter();
+		JsonWriter jsonWriter = new JsonWriter(new StringWriter(), JsonWriterOptions.ONE_LINE);
+		Jankson.readJson("[ 1, 2 ]").write(jsonWriter);
+		Jankson.readJson("{ \"b\": [ 3 ] }").write(jsonWriter.reset(out));
+		Assertions.assertEquals("{ \"b\": [ 3 ] }", out.toString());
+		
+		// Dropping this thread's spares just means the next call makes new ones
+		Jankson.releaseThreadBuffers();
+		Assertions.assertEquals("[ 1, 2 ]", Jankson.toJsonString(Jankson.readJson("[ 1, 2 ]"), JsonWriterOptions.ONE_LINE));
+	}
+	
+	@Test
+	public void testOptionsEquality() {
+		JsonReaderOptions.Access rebuilt = JsonReaderOptions.builder().build();
+		Assertions.assertEquals(JsonReaderOptions.UNSPECIFIED, rebuilt);
+		Assertions.assertEquals(JsonReaderOptions.UNSPECIFIED.hashCode(), rebuilt.hashCode());
+		Assertions.assertEquals(JsonReaderOptions.UNSPECIFIED, JsonReaderOptions.UNSPECIFIED.asBuilder().build());
+		Assertions.assertNotEquals(JsonReaderOptions.UNSPECIFIED, JsonReaderOptions.builder().setStrict(true).build());
+		Assertions.assertNotEquals(JsonReaderOptions.UNSPECIFIED, JsonReaderOptions.builder().setKeyValueSeparator('=').build());
+		
+		Assertions.assertEquals(JsonWriterOptions.ONE_LINE, JsonWriterOptions.STRICT.asBuilder().setWhitespace(WhitespaceStyle.SPACES_ONLY).build());
+		Assertions.assertEquals(JsonWriterOptions.ONE_LINE.hashCode(), JsonWriterOptions.ONE_LINE.asBuilder().build().hashCode());
+		Assertions.assertNotEquals(JsonWriterOptions.ONE_LINE, JsonWriterOptions.MINIFIED);
+	}
+	
+	@Test
+	public void testDeepNesting() throws IOException, SyntaxError {
+		int depth = 20_000;
+		String subject = "{ \"a\": ".repeat(depth) + "[ 1, /* deep */ 2 ]" + " }".repeat(depth);
+		
+		JsonReader reader = new JsonReader(new StringReader(subject));
+		int maxDepth = 0;
+		int currentDepth = 0;
+		int events = 0;
+		while(reader.hasNext()) {
+			switch(reader.next().type()) {
+				case OBJECT_START, ARRAY_START -> maxDepth = Math.max(maxDepth, ++currentDepth);
+				case OBJECT_END, ARRAY_END -> currentDepth--;
+				default -> {}
+			}
+			events++;
+		}
+		Assertions.assertEquals(depth + 1, maxDepth);
+		Assertions.assertEquals(0, currentDepth);
+		Assertions.assertEquals(depth * 3 + 6, events); // Start, key, and end per object; five events for the array; EOF
+		
+		// Skipping a deep value doesn't go deep either
+		reader = new JsonReader(new StringReader("{ \"skip\": " + subject + ", \"keep\": 1 }"));
+		Assertions.assertEquals(StructuredData.Type.OBJECT_START, reader.next().type());
+		Assertions.assertEquals(StructuredData.Type.OBJECT_KEY, reader.next().type());
+		reader.skipValue();
+		Assertions.assertEquals("keep", reader.next().value());
+	}
+	
+	@Test
+	public void testLazyPrimitives() throws IOException, SyntaxError {
+		String subject = "{ \"a\": \"plain \uD83D\uDE00\", \"b\": \"tab\\there\", \"c\": -42, \"d\": 2.5e3, \"e\": 0x10, \"f\": Infinity, \"g\": [ 123456789012345678901, true, null ] }";
+		JsonReaderOptions.Access lazy = JsonReaderOptions.builder().setLazyPrimitives(true).build();
+		
+		ValueElement lazyResult = Jankson.readJson(subject, lazy);
+		ValueElement eagerResult = Jankson.readJson(subject);
+		Assertions.assertEquals(eagerResult.toString(), lazyResult.toString());
+		
+		ObjectElement obj = (ObjectElement) lazyResult;
+		Assertions.assertEquals("plain \uD83D\uDE00", obj.getPrimitive("a").asString().get());
+		Assertions.assertEquals("tab\there", obj.getPrimitive("b").asString().get());
+		Assertions.assertEquals(-42L, obj.getPrimitive("c").asLong().getAsLong());
+		Assertions.assertEquals(2500.0, obj.getPrimitive("d").asDouble().getAsDouble());
+		
+		// Lazy and eager reads decode numbers with the same parser, so they agree even at the edges
+		String edges = "[ 1e400, -1e400, 1e-400, 123456789012345678, 1234567890123456789012, 0.1, 2.2250738585072011e-308, \"esc\\u00e9\" ]";
+		ArrayElement lazyEdges = (ArrayElement) Jankson.readJson(edges, lazy);
+		ArrayElement eagerEdges = (ArrayElement) Jankson.readJson(edges);
+		for(int i=0; i<eagerEdges.size(); i++) {
+			Assertions.assertEquals(((PrimitiveElement) eagerEdges.get(i)).getValue(), ((PrimitiveElement) lazyEdges.get(i)).getValue(), "element "+i);
+		}
+		Assertions.assertEquals(Double.POSITIVE_INFINITY, lazyEdges.getPrimitive(0).asDouble().getAsDouble());
+		
+		Assertions.assertThrows(IOException.class, ()->Jankson.readJson("[ \"bad \\3 escape\" ]", lazy));
+		Assertions.assertThrows(IOException.class, ()->Jankson.readJson("[ 0foo ]", lazy));
+	}
+	
+	@Test
+	public void testLazyEscapes() throws IOException, SyntaxError {
+		String subject = "[ 'it\\'s', \"\\x41\\u0042\\uu\\xx\\v\\0\\q\\\n\\\\\\\"\", \"\\uD83D\\uDE00 \\\uD83D\uDE00\" ]";
+		JsonReaderOptions.Access lazy = JsonReaderOptions.builder().setLazyPrimitives(true).build();
+		
+		ArrayElement lazyResult = (ArrayElement) Jankson.readJson(subject, lazy);
+		ArrayElement eagerResult = (ArrayElement) Jankson.readJson(subject);
+		Assertions.assertEquals("it's", lazyResult.getPrimitive(0).asString().get());
+		Assertions.assertEquals("AB\\u\\x\u000B\u0000q\\\"", lazyResult.getPrimitive(1).asString().get());
+		Assertions.assertEquals(eagerResult.toString(), lazyResult.toString());
+	}
+	
+	@Test
+	public void testLazySources() throws IOException, SyntaxError {
+		// Sources which aren't already a String have their text recorded as it's read, so they can be lazy too
+		String subject = "[ " + "{ \"a\": \"one\\ttwo\", \"b\": [ 1.25, -7, \"\uD83D\uDE00\" ] }, ".repeat(2000) + "\"end\" ]";
+		JsonReaderOptions.Access lazy = JsonReaderOptions.builder().setLazyPrimitives(true).build();
+		String expected = Jankson.readJson(subject).toString();
+		byte[] bytes = subject.getBytes(StandardCharsets.UTF_8);
+		
+		Assertions.assertEquals(expected, read(new JsonReader(new StringReader(subject), lazy)).toString());
+		Assertions.assertEquals(expected, read(new JsonReader(bytes, lazy)).toString());
+		Assertions.assertEquals(expected, read(new JsonReader(ByteBuffer.wrap(bytes), lazy)).toString());
+		Assertions.assertEquals(expected, read(new JsonReader(new ByteArrayInputStream(bytes), lazy)).toString());
+		
+		Path file = Files.createTempFile("jankson", ".json");
+		try {
+			Files.write(file, bytes);
+			Assertions.assertEquals(expected, read(new JsonReader(file, lazy)).toString());
+		} finally {
+			Files.delete(file);
+		}
+		
+		// A reset records a new copy, so values from the first document still decode correctly
+		JsonReader reader = new JsonReader(new StringReader("[ \"first\" ]"), lazy);
+		ArrayElement first = (ArrayElement) read(reader);
+		ArrayElement second = (ArrayElement) read(reader.reset(new StringReader("[ \"other\" ]")));
+		Assertions.assertEquals("first", first.getPrimitive(0).asString().get());
+		Assertions.assertEquals("other", second.getPrimitive(0).asString().get());
+	}
+	
+	@Test
+	public void testLazyEventsArePlainValues() throws IOException, SyntaxError {
+		// Writers which aren't sinks only ever see plain java values, never the lazy elements
+		JsonReaderOptions.Access lazy = JsonReaderOptions.builder().setLazyPrimitives(true).build();
+		JsonReader reader = new JsonReader("[ \"a\\tb\", 1.5, 3 ]", lazy);
+		
+		Assertions.assertEquals(StructuredData.ARRAY_START, reader.next());
+		Assertions.assertEquals("a\tb", reader.next().value());
+		Assertions.assertEquals(1.5, reader.next().value());
+		Assertions.assertEquals(3L, reader.next().value());
+		Assertions.assertEquals(StructuredData.ARRAY_END, reader.next());
+	}
+	
+	private static ValueElement read(JsonReader reader) throws IOException, SyntaxError {
+		ValueElementWriter writer = new ValueElementWriter();
+		reader.transferTo(writer);
+		return writer.getResult();
+	}
+	
+	@Test
+	public void testStrictMode() throws IOException, SyntaxError {
+		String subject = "{\r\n\t\"a\": [1, -0.5, 2E+3, true, false, null, {}, []],\n \"b\": \"x\\u00e9\\/\\n\", \"c\": { \"d\": 123456789012345678901 } }";
+		JsonReaderOptions.Access strict = JsonReaderOptions.builder().setStrict(true).build();
+		
+		ValueElement strictResult = Jankson.readJson(subject, strict);
+		Assertions.assertEquals(Jankson.readJson(subject).toString(), strictResult.toString());
+		Assertions.assertEquals("x\u00e9/\n", ((ObjectElement) strictResult).getPrimitive("b").asString().get());
+		
+		Assertions.assertEquals("\"bare\"", Jankson.readJson(" \"bare\" ", strict).toString());
+		
+		// Skipping works in strict mode too
+		ObjectElement projected = Jankson.readJson(new StringReader(subject), strict, Projection.of("c"));
+		Assertions.assertEquals(1, projected.size());
+		Assertions.assertEquals(1, projected.getObject("c").size());
+		
+		String[] rejected = {
+				"{ a: 1 }", "{ 'a': 1 }", "[1,]", "[1 2]", "{ \"a\": 1, }", "// comment\n[]", "[ Infinity ]", "[ NaN ]",
+				"[ 0x10 ]", "[ +1 ]", "[ .5 ]", "[ 1. ]", "[ 01 ]", "[ -.5 ]", "[ \"\\x41\" ]", "[ \"tab\there\" ]",
+				"[ nulls ]", "[] []", "", "{ \"a\" 1 }", "[ \"\\u12\" ]"
+		};
+		for(String s : rejected) {
+			Assertions.assertThrows(IOException.class, ()->Jankson.readJson(s, strict), s);
+		}
+	}
+	
+	@Test
+	public void testDiscardFormatting() throws IOException, SyntaxError {
+		String subject = "/* header */\n{\n\t// first\n\t\"a\": 1, # second\n\n\t\"b\": [ 1, /* third */ 2 ]\n}\n// footer\n";
+		JsonReaderOptions.Access discard = JsonReaderOptions.builder().setDiscardFormatting(true).build();
+		
+		JsonReader reader = new JsonReader(new StringReader(subject), discard);
+		while(reader.hasNext()) {
+			StructuredData.Type type = reader.next().type();
+			Assertions.assertTrue(type != StructuredData.Type.COMMENT && type != StructuredData.Type.NEWLINE, type.name());
+		}
+		
+		Assertions.assertEquals("{ \"a\": 1, \"b\": [ 1, 2 ] }", Jankson.toJsonString(Jankson.readJson(subject, discard), JsonWriterOptions.ONE_LINE));
+		Assertions.assertTrue(Jankson.readJson(subject).toString().contains("first"));
+		
+		record Subject(int a, int[] b) {}
+		Subject result = Jankson.readJson(new StringReader(subject), JsonReaderOptions.UNSPECIFIED, Subject.class);
+		Assertions.assertEquals(1, result.a());
+		Assertions.assertArrayEquals(new int[] { 1, 2 }, result.b());
+	}
+	
+	@Test
+	public void testErrorLocations() throws IOException, SyntaxError {
+		String subject = "{\n\t\"a\": 1,\n\t\"b\": [ 1, 2, ?? ]\n}";
+		
+		IOException ex = Assertions.assertThrows(IOException.class, ()->Jankson.readJson(subject));
+		SyntaxError err = (SyntaxError) ex.getCause();
+		Assertions.assertEquals("Started at line 3, column 15; Errored at line 3, column 15", err.getLineMessage());
+		
+		JsonReaderOptions.Access untracked = JsonReaderOptions.builder().setLineTracking(false).build();
+		ex = Assertions.assertThrows(IOException.class, ()->Jankson.readJson(subject, untracked));
+		Assertions.assertEquals("", ((SyntaxError) ex.getCause()).getLineMessage());
+		
+		// Nothing else changes
+		Assertions.assertEquals(Jankson.readJson("{ \"a\": [1, \"\\u00e9\"] }").toString(), Jankson.readJson("{ \"a\": [1, \"\\u00e9\"] }", untracked).toString());
+	}
 }
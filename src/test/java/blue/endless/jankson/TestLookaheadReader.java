@@ -122,4 +122,136 @@ public class TestLookaheadReader {
 		r.peekString(3);
 		Assertions.assertThrows(IllegalArgumentException.class, ()->r.peek(9));
 	}
+	
+	@Test
+	public void chunkedSurrogateAcrossBoundary() throws IOException {
+		// The smiley's surrogate pair is split between the first and second chunk
+		String subject = "abc\uD83D\uDE00def";
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(subject), 2, 4);
+		
+		Assertions.assertEquals("abc\uD83D\uDE00def", r.readString(128));
+	}
+	
+	@Test
+	public void chunkedPeekAcrossBoundary() throws IOException {
+		StringBuilder subject = new StringBuilder();
+		for(int i=0; i<1000; i++) subject.append((char) ('a' + (i % 26)));
+		
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(subject.toString()), 16, 64);
+		StringBuilder result = new StringBuilder();
+		for(int i=0; i<1000; i++) {
+			if (i + 16 <= 1000) Assertions.assertEquals(subject.substring(i, i+16), r.peekString(16));
+			result.appendCodePoint(r.read());
+		}
+		
+		Assertions.assertEquals(-1, r.peek());
+		Assertions.assertEquals(subject.toString(), result.toString());
+	}
+	
+	@Test
+	public void peekMatches() throws IOException {
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("NaN\u2705 nul"), 8);
+		
+		Assertions.assertTrue(r.peekMatches("NaN\u2705"));
+		Assertions.assertFalse(r.peekMatches("nan"));
+		Assertions.assertTrue(r.peekMatchesIgnoreCase("nan"));
+		Assertions.assertThrows(IllegalArgumentException.class, ()->r.peekMatches("123456789"));
+		
+		Assertions.assertEquals(5, r.skip(5));
+		Assertions.assertFalse(r.peekMatches("null")); // Runs off the end of the stream
+		Assertions.assertTrue(r.peekMatches("nul"));
+		Assertions.assertEquals(3, r.skip(10));
+		Assertions.assertEquals(-1, r.peek());
+	}
+	
+	@Test
+	public void readStringWhile() throws IOException {
+		String word = "abcdefghijklmnopqrstuvwxyz".repeat(10);
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(word+" tail"), 4);
+		
+		Assertions.assertEquals(word, r.readStringWhile(Character::isLetter));
+		Assertions.assertEquals("", r.readStringWhile(Character::isLetter));
+		Assertions.assertEquals(' ', r.read());
+		Assertions.assertEquals("tail", r.readStringWhile(Character::isLetter));
+		Assertions.assertEquals(-1, r.read());
+	}
+	
+	@Test
+	public void lineAndCharacter() throws IOException {
+		// Lines longer than the window make sure that counts survive the window sliding
+		String longLine = "x".repeat(40);
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("ab\n"+longLine+"\n\uD83D\uDD22cd"), 4, 8);
+		
+		Assertions.assertEquals(0, r.getLine());
+		Assertions.assertEquals(0, r.getCharacter());
+		r.read();
+		Assertions.assertEquals(1, r.getCharacter());
+		r.skipUntil('\n', '\n', '\n');
+		Assertions.assertEquals(2, r.getCharacter());
+		r.read();
+		Assertions.assertEquals(1, r.getLine());
+		Assertions.assertEquals(0, r.getCharacter());
+		
+		Assertions.assertEquals(longLine, r.readStringUntil('\n', '\n', '\n'));
+		Assertions.assertEquals(40, r.getCharacter());
+		r.skip(2);
+		Assertions.assertEquals(2, r.getLine());
+		Assertions.assertEquals(1, r.getCharacter());
+		Assertions.assertEquals(3 + 41 + 2, r.getPosition()); // The surrogate pair is two chars
+		
+		r.setLineTracking(false);
+		Assertions.assertEquals(-1, r.getLine());
+		Assertions.assertEquals(-1, r.getCharacter());
+		Assertions.assertEquals("cd", r.readString(2));
+		Assertions.assertEquals(3 + 41 + 4, r.getPosition());
+	}
+	
+	@Test
+	public void offsetsResolveLater() throws IOException {
+		// Offsets taken at the start of each line can still be turned into lines and characters long after the window moves on
+		StringBuilder subject = new StringBuilder();
+		for(int i=0; i<50; i++) subject.append("x".repeat(i % 7)).append("\"\n");
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(subject.toString()), 4, 8);
+
+		long[] quotes = new long[50];
+		for(int i=0; i<50; i++) {
+			r.skipUntil('"', '"', '"');
+			quotes[i] = r.getOffset();
+			r.skip(2);
+		}
+		Assertions.assertEquals(-1, r.read());
+		
+		for(int i=0; i<50; i++) {
+			Assertions.assertEquals(i, r.getLine(quotes[i]));
+			Assertions.assertEquals(i % 7, r.getCharacter(quotes[i]));
+		}
+		Assertions.assertEquals(50, r.getLine());
+		Assertions.assertEquals(1, r.getCharacter()); // One read past the end
+	}
+	
+	@Test
+	public void bulkScanning() throws IOException {
+		// Runs of every length up to a few vectors wide, at every alignment, across chunk boundaries
+		for(int length=0; length<70; length++) {
+			String run = " \t\r".repeat(30).substring(0, length);
+			
+			LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(run + "\n\u000B  x"), 4, 16);
+			Assertions.assertEquals('\n', r.skipWhitespace(false));
+			Assertions.assertEquals(length, r.getPosition());
+			Assertions.assertEquals('x', r.skipWhitespace(true));
+			Assertions.assertEquals(length + 4, r.getPosition());
+			
+			r = new LookaheadCodePointReader(new StringReader(run + "\n\u000B  x"), 4, 16);
+			Assertions.assertEquals('\u000B', r.skipJsonWhitespace());
+			
+			String body = "abcdefghij".repeat(7).substring(0, length);
+			r = new LookaheadCodePointReader(new StringReader(body + "\\\"rest\""), 4, 16);
+			Assertions.assertEquals('\\', r.skipUntil('"', '\\', '\n'));
+			Assertions.assertEquals(length, r.getPosition());
+			
+			r = new LookaheadCodePointReader(new StringReader(body + "\""), 4, 16);
+			Assertions.assertEquals(body, r.readStringUntil('"', '\\', '\n'));
+			Assertions.assertEquals(-1, r.skipUntil('x', 'y', 'z'));
+		}
+	}
 }
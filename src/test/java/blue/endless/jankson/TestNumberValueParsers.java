@@ -26,11 +26,19 @@ package blue.endless.jankson;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import blue.endless.jankson.api.Jankson;
 import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ObjectElement;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
 import blue.endless.jankson.impl.io.context.NumberValueParser;
 
@@ -134,4 +142,82 @@ public class TestNumberValueParsers {
 		
 		Assertions.assertFalse(parser.canRead(r));
 	}
+	
+	@Test
+	public void testDoubleRoundTrip() throws IOException, SyntaxError {
+		String[] subjects = { "0.1", "-2.5E-3", "3.141592653589793", "1.7976931348623157e308", "4.9e-324", "123456789012345678901234.5", "2.2250738585072014E-308", "1e23", "-0.0" };
+		for(String subject : subjects) {
+			LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(subject));
+			Assertions.assertEquals(Double.parseDouble(subject), NumberValueParser.readStatic(r));
+		}
+	}
+	
+	@Test
+	public void testOverflow() throws IOException, SyntaxError {
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("-9223372036854775808"));
+		Assertions.assertEquals(Long.MIN_VALUE, NumberValueParser.readStatic(r));
+		
+		// Integers too large for a long are kept exactly
+		r = new LookaheadCodePointReader(new StringReader("123456789012345678901234567890"));
+		Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("9223372036854775808"));
+		Assertions.assertEquals(new BigInteger("9223372036854775808"), NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("-1.5e400"));
+		Assertions.assertEquals(new BigDecimal("-1.5e400"), NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("1e400"));
+		Assertions.assertEquals(new BigDecimal("1e400"), NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("1e-400"));
+		Assertions.assertEquals(0.0, NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("0xFFFFFFFFFFFFFFFFFF"));
+		Assertions.assertEquals(new BigInteger("FFFFFFFFFFFFFFFFFF", 16), NumberValueParser.readStatic(r));
+		
+		r = new LookaheadCodePointReader(new StringReader("-0x10000000000000000"));
+		Assertions.assertEquals(new BigInteger("-10000000000000000", 16), NumberValueParser.readStatic(r));
+	}
+	
+	@Test
+	public void testOverflowInDocuments() throws IOException, SyntaxError {
+		String subject = "{ a: 123456789012345678901234567890, b: 1e400, c: -1e400 }";
+		ObjectElement obj = (ObjectElement) Jankson.readJson(subject);
+		Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), obj.getPrimitive("a").asBigInteger().get());
+		Assertions.assertEquals(new BigDecimal("1e400"), obj.getPrimitive("b").asBigDecimal().get());
+		Assertions.assertEquals(new BigDecimal("-1e400"), obj.getPrimitive("c").asBigDecimal().get());
+		Assertions.assertTrue(obj.getPrimitive("a").asLong().isEmpty());
+		
+		// Numbers are written back out as numbers, never as Strings, and read back in exactly
+		StringWriter json = new StringWriter();
+		Jankson.writeJson(obj, json);
+		Assertions.assertFalse(json.toString().contains("\""), json.toString());
+		assertSameNumbers(obj, (ObjectElement) Jankson.readJson(json.toString()));
+		
+		// The strict path and the event stream hold them exactly too
+		String strictSubject = "{ \"a\": 123456789012345678901234567890, \"b\": 1e400, \"c\": -1e400 }";
+		ValueElementWriter strictResult = new ValueElementWriter();
+		new JsonReader(new StringReader(strictSubject), JsonReaderOptions.builder().setStrict(true).build()).transferTo(strictResult);
+		assertSameNumbers(obj, (ObjectElement) strictResult.getResult());
+		
+		JsonReader reader = new JsonReader(new StringReader("[ 123456789012345678901234567890 ]"));
+		reader.next();
+		Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), reader.next().value());
+	}
+	
+	private static void assertSameNumbers(ObjectElement expected, ObjectElement actual) {
+		for(String key : expected.keySet()) {
+			Assertions.assertEquals(expected.getPrimitive(key).getValue(), actual.getPrimitive(key).getValue(), key);
+		}
+	}
+	
+	@Test
+	public void testRejectMalformed() throws IOException, SyntaxError {
+		String[] subjects = { "1.2.3", "1e", "0x", "-", "1-2", "Infinit", "4e6x" };
+		for(String subject : subjects) {
+			LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader(subject));
+			Assertions.assertThrows(SyntaxError.class, ()->NumberValueParser.readStatic(r), subject);
+		}
+	}
 }
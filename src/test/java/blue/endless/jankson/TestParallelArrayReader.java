@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.Jankson;
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ArrayElement;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.json.ParallelArrayReader;
+
+public class TestParallelArrayReader {
+	public record Item(int id, String name, List<String> tags) {}
+	
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+	
+	private static String items(int count, boolean comments) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> "\t{ \"id\": " + i + ", \"name\": \"item ]" + i + "\", \"tags\": [ \"a\", \"b,\" ] }," + (comments ? " // item " + i : ""))
+			.collect(Collectors.joining("\n", "[\n", "\n]"));
+	}
+	
+	@Test
+	public void testMatchesSequential() throws IOException, SyntaxError {
+		// Comments and whitespace between elements don't belong to any element, so they aren't kept
+		String json = items(500, true);
+		ArrayElement expected = (ArrayElement) Jankson.readJson(items(500, false));
+		ArrayElement actual = ParallelArrayReader.readArray(json, JsonReaderOptions.UNSPECIFIED, pool);
+		
+		Assertions.assertEquals(expected.size(), actual.size());
+		for(int i=0; i<expected.size(); i++) {
+			Assertions.assertEquals(expected.get(i).toString().strip(), actual.get(i).toString().strip());
+		}
+		
+		List<Item> list = ParallelArrayReader.readList(new StringReader(json), JsonReaderOptions.UNSPECIFIED, Item.class, pool);
+		Assertions.assertEquals(500, list.size());
+		Assertions.assertEquals(new Item(321, "item ]321", List.of("a", "b,")), list.get(321));
+	}
+	
+	@Test
+	public void testSmallArrays() throws IOException, SyntaxError {
+		Assertions.assertEquals(0, ParallelArrayReader.readArray(" [ ] ", JsonReaderOptions.UNSPECIFIED, pool).size());
+		Assertions.assertEquals("[1, \"two\", [3]]", ParallelArrayReader.readArray("[1, 'two', [3],]", JsonReaderOptions.UNSPECIFIED, pool).toString());
+	}
+	
+	@Test
+	public void testCommalessArrays() throws IOException, SyntaxError {
+		// Jankson doesn't need commas between elements, and neither should the parallel reader
+		for(String json : new String[] { "[1\n2\n3]", "[{a:1} {b:2}]", "[ ,1,, 'two' [3] ]" }) {
+			Assertions.assertEquals(Jankson.readJson(json).toString(), ParallelArrayReader.readArray(json, JsonReaderOptions.UNSPECIFIED, pool).toString(), json);
+		}
+		
+		// Large enough to be read in parallel
+		String json = items(200, false).replace("},", "}");
+		ArrayElement expected = (ArrayElement) Jankson.readJson(json);
+		ArrayElement actual = ParallelArrayReader.readArray(json, JsonReaderOptions.UNSPECIFIED, pool);
+		Assertions.assertEquals(200, actual.size());
+		for(int i=0; i<expected.size(); i++) {
+			Assertions.assertEquals(expected.get(i).toString().strip(), actual.get(i).toString().strip());
+		}
+		
+		JsonReaderOptions.Access strict = JsonReaderOptions.builder().setStrict(true).build();
+		Assertions.assertThrows(SyntaxError.class, () -> ParallelArrayReader.readArray("[ 1 2 ]", strict, pool));
+	}
+	
+	@Test
+	public void testErrors() {
+		JsonReaderOptions.Access strict = JsonReaderOptions.builder().setStrict(true).build();
+		Assertions.assertThrows(SyntaxError.class, () -> ParallelArrayReader.readArray("{ \"a\": 1 }", JsonReaderOptions.UNSPECIFIED, pool));
+		Assertions.assertThrows(SyntaxError.class, () -> ParallelArrayReader.readArray("[ 1, 2, ] ", strict, pool));
+		Assertions.assertThrows(SyntaxError.class, () -> ParallelArrayReader.readArray("[ 1, 2 ] 3", JsonReaderOptions.UNSPECIFIED, pool));
+		
+		// The error is reported at the start of the first element which failed
+		String json = items(200, true).replace("\"id\": 150,", "\"id\": ?,").replace("\"id\": 170,", "\"id\": ?,");
+		SyntaxError err = Assertions.assertThrows(SyntaxError.class, () -> ParallelArrayReader.readList(json, JsonReaderOptions.UNSPECIFIED, Item.class, pool));
+		Assertions.assertEquals("Started at line 152, column 2; Errored at line 152, column 2", err.getLineMessage());
+	}
+}
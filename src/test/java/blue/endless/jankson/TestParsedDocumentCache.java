@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.Jankson;
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.function.CheckedFunction;
+import blue.endless.jankson.api.io.ObjectWriter;
+import blue.endless.jankson.api.io.ParsedDocumentCache;
+import blue.endless.jankson.api.io.StructuredDataReader;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+
+public class TestParsedDocumentCache {
+	private static final String DOCUMENT = "{\n\t// The point\n\tx: 1,\n\tz: { q: [ \"}\", 2.5, true, null ] },\n\ty: 2,\n}";
+	
+	private int parses = 0;
+	
+	private final CheckedFunction<InputStream, StructuredDataReader, IOException> parser = in -> {
+		parses++;
+		return new JsonReader(in, JsonReaderOptions.UNSPECIFIED);
+	};
+	
+	private static void deleteAll(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+	
+	@Test
+	public void testHitsAndMisses() throws IOException, SyntaxError {
+		Path root = Files.createTempDirectory("jankson-cache-test");
+		try {
+			Path source = root.resolve("config.json5");
+			Files.writeString(source, DOCUMENT);
+			ParsedDocumentCache cache = new ParsedDocumentCache(root.resolve("cache"), 1 << 20);
+			
+			ValueElementWriter first = new ValueElementWriter();
+			cache.transferTo(source, "json5", parser, first);
+			Assertions.assertEquals(1, parses);
+			Assertions.assertTrue(cache.size() > 0);
+			
+			ValueElementWriter second = new ValueElementWriter();
+			cache.transferTo(source, "json5", parser, second);
+			Assertions.assertEquals(1, parses);
+			Assertions.assertEquals(Jankson.readJson(DOCUMENT).toString(), second.getResult().toString());
+			Assertions.assertEquals(first.getResult().toString(), second.getResult().toString());
+			
+			// Replaying from the cache still lets an ObjectWriter skip keys it doesn't want
+			record Point(int x, int y) {}
+			ObjectWriter<Point> pointWriter = new ObjectWriter<>(Point.class);
+			cache.transferTo(source, "json5", parser, pointWriter);
+			Assertions.assertEquals(new Point(1, 2), pointWriter.toObject());
+			Assertions.assertEquals(1, parses);
+			
+			// Same size and modification time, but different contents
+			FileTime modified = Files.getLastModifiedTime(source);
+			Files.writeString(source, DOCUMENT.replace("x: 1", "x: 3"));
+			Files.setLastModifiedTime(source, modified);
+			pointWriter = new ObjectWriter<>(Point.class);
+			cache.transferTo(source, "json5", parser, pointWriter);
+			Assertions.assertEquals(new Point(3, 2), pointWriter.toObject());
+			Assertions.assertEquals(2, parses);
+			
+			cache.invalidate(source, "json5");
+			Assertions.assertEquals(0L, cache.size());
+			cache.load(source, "json5", parser);
+			Assertions.assertEquals(3, parses);
+		} finally {
+			deleteAll(root);
+		}
+	}
+	
+	@Test
+	public void testEviction() throws IOException, SyntaxError {
+		Path root = Files.createTempDirectory("jankson-cache-test");
+		try {
+			Path a = root.resolve("a.json");
+			Path b = root.resolve("b.json");
+			Files.writeString(a, DOCUMENT);
+			Files.writeString(b, DOCUMENT.replace("y: 2", "y: 4"));
+			
+			ParsedDocumentCache unbounded = new ParsedDocumentCache(root.resolve("cache"), Long.MAX_VALUE);
+			unbounded.load(a, "json5", parser);
+			long entrySize = unbounded.size();
+			unbounded.clear();
+			
+			// Room for one entry only: loading b evicts a
+			ParsedDocumentCache cache = new ParsedDocumentCache(root.resolve("cache"), entrySize + entrySize / 2);
+			cache.load(a, "json5", parser);
+			cache.load(b, "json5", parser);
+			Assertions.assertTrue(cache.size() <= entrySize + entrySize / 2);
+			Assertions.assertEquals(3, parses);
+			
+			cache.load(b, "json5", parser);
+			Assertions.assertEquals(3, parses);
+			cache.load(a, "json5", parser);
+			Assertions.assertEquals(4, parses);
+		} finally {
+			deleteAll(root);
+		}
+	}
+	
+	@Test
+	public void testNamespacesAreSeparate() throws IOException, SyntaxError {
+		Path root = Files.createTempDirectory("jankson-cache-test");
+		try {
+			Path source = root.resolve("config.json5");
+			Files.writeString(source, DOCUMENT);
+			ParsedDocumentCache cache = new ParsedDocumentCache(root.resolve("cache"), 1 << 20);
+			
+			cache.load(source, "json5", parser);
+			Assertions.assertEquals(1, parses);
+			
+			// A strict parser must not be handed the tape the loose one produced
+			CheckedFunction<InputStream, StructuredDataReader, IOException> strict = in -> {
+				parses++;
+				return new JsonReader(in, JsonReaderOptions.builder().setStrict(true).build());
+			};
+			Exception ex = Assertions.assertThrows(Exception.class, () -> cache.load(source, "strict", strict));
+			Assertions.assertTrue(ex instanceof SyntaxError || ex.getCause() instanceof SyntaxError);
+			Assertions.assertEquals(2, parses);
+			
+			cache.load(source, "json5", parser);
+			Assertions.assertEquals(2, parses);
+		} finally {
+			deleteAll(root);
+		}
+	}
+}
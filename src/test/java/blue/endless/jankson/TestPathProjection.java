@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.Jankson;
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ArrayElement;
+import blue.endless.jankson.api.document.ObjectElement;
+import blue.endless.jankson.api.io.Projection;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+
+public class TestPathProjection {
+	
+	private static final String SUBJECT = """
+			{
+				// Big payload we don't care about
+				"payload": { "blob": "x[{\\"y", "list": [1, 2, [3, { "host": "no" }]] },
+				"meta": { "version": 3, "name": "test" },
+				"servers": [
+					{ "host": "a.example", "port": 80 },
+					{ "port": 81 },
+					"not an object",
+					{ "host": "c.example", "tags": ["x", "y"] }
+				],
+				"server.name": "dotted",
+				"tags[0]": { "x": 1 }
+			}
+			""";
+	
+	private static ObjectElement project(String... paths) throws IOException, SyntaxError {
+		return Jankson.readJson(new StringReader(SUBJECT), JsonReaderOptions.UNSPECIFIED, Projection.of(paths));
+	}
+	
+	@Test
+	public void testKeysAndWildcards() throws IOException, SyntaxError {
+		ObjectElement result = project("meta.version", "servers[*].host");
+		
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertEquals(1, result.getObject("meta").size());
+		Assertions.assertEquals(3L, result.getObject("meta").getPrimitive("version").asLong().orElse(0));
+		
+		// Elements without a host are kept as empty objects; elements which can't have one are dropped
+		ArrayElement servers = result.getArray("servers");
+		Assertions.assertEquals(3, servers.size());
+		Assertions.assertEquals("a.example", servers.getObject(0).getPrimitive("host").asString().orElse(null));
+		Assertions.assertEquals(0, servers.getObject(1).size());
+		Assertions.assertEquals("c.example", servers.getObject(2).getPrimitive("host").asString().orElse(null));
+		Assertions.assertEquals(1, servers.getObject(2).size());
+	}
+	
+	@Test
+	public void testSubtreesAndIndices() throws IOException, SyntaxError {
+		ObjectElement result = project("meta", "servers[3].tags", "servers[0]", "[\"server.name\"]");
+		
+		Assertions.assertEquals(2, result.getObject("meta").size());
+		Assertions.assertEquals(2, result.getArray("servers").size());
+		Assertions.assertEquals(2, result.getArray("servers").getObject(0).size());
+		Assertions.assertEquals(1, result.getArray("servers").getObject(1).size());
+		Assertions.assertEquals("dotted", result.getPrimitive("server.name").asString().orElse(null));
+	}
+	
+	@Test
+	public void testBracketsInQuotedKeys() throws IOException, SyntaxError {
+		ObjectElement result = project("[\"tags[0]\"].x", "[ 'server.name' ]");
+		
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertEquals(1L, result.getObject("tags[0]").getPrimitive("x").asLong().orElse(0));
+		Assertions.assertEquals("dotted", result.getPrimitive("server.name").asString().orElse(null));
+	}
+	
+	@Test
+	public void testMalformedPaths() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("servers[*"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("servers[-1]"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("meta..version"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("meta."));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("[\"tags]"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Projection.of("[\"tags\"x]"));
+	}
+}
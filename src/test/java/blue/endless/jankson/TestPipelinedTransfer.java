@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.ObjectWriter;
+import blue.endless.jankson.api.io.PipelinedTransfer;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.json.JsonWriter;
+import blue.endless.jankson.api.io.json.JsonWriterOptions;
+import blue.endless.jankson.api.io.toml.TomlReader;
+
+public class TestPipelinedTransfer {
+	private static final ThreadFactory THREADS = Thread.ofVirtual().factory();
+	
+	private static String largeDocument() {
+		StringBuilder result = new StringBuilder("{ \"items\": [");
+		for(int i=0; i<500; i++) {
+			if (i > 0) result.append(", ");
+			result.append("{ \"id\": ").append(i).append(", /* comment */ \"ratio\": ").append(i * 0.5).append(", \"tags\": [ \"a\", true, null ] }");
+		}
+		return result.append("] }").toString();
+	}
+	
+	@Test
+	public void testTranscoding() throws IOException, SyntaxError {
+		String document = largeDocument();
+		StringWriter direct = new StringWriter();
+		new JsonReader(document, JsonReaderOptions.UNSPECIFIED).transferTo(new JsonWriter(direct, JsonWriterOptions.STRICT));
+		
+		StringWriter pipelined = new StringWriter();
+		new JsonReader(document, JsonReaderOptions.UNSPECIFIED).pipelinedTransferTo(new JsonWriter(pipelined, JsonWriterOptions.STRICT));
+		Assertions.assertEquals(direct.toString(), pipelined.toString());
+		
+		// Tiny batches, so that values are split between many of them
+		StringWriter small = new StringWriter();
+		PipelinedTransfer.transfer(new JsonReader(document, JsonReaderOptions.UNSPECIFIED), new JsonWriter(small, JsonWriterOptions.STRICT), 3, 2, THREADS);
+		Assertions.assertEquals(direct.toString(), small.toString());
+		
+		String toml = "title = \"pipeline\"\n[owner]\nname = \"x\"\nsizes = [ 1, 2, 3 ]\n";
+		StringWriter tomlDirect = new StringWriter();
+		new TomlReader(new StringReader(toml)).transferTo(new JsonWriter(tomlDirect, JsonWriterOptions.STRICT));
+		StringWriter tomlPipelined = new StringWriter();
+		PipelinedTransfer.transfer(new TomlReader(new StringReader(toml)), new JsonWriter(tomlPipelined, JsonWriterOptions.STRICT), 2, 2, THREADS);
+		Assertions.assertEquals(tomlDirect.toString(), tomlPipelined.toString());
+	}
+	
+	@Test
+	public void testSkippedValuesAcrossBatches() throws IOException, SyntaxError {
+		record Point(int x, int y) {}
+		String document = "{ x: 1, z: { q: [ \"}\", [ 1, 2, { a: 3 } ], 4 ], r: {} }, w: 5, y: 2 }";
+		
+		for(int batchSize = 1; batchSize < 12; batchSize++) {
+			ObjectWriter<Point> writer = new ObjectWriter<>(Point.class);
+			PipelinedTransfer.transfer(new JsonReader(document, JsonReaderOptions.UNSPECIFIED), writer, batchSize, 2, THREADS);
+			Assertions.assertEquals(new Point(1, 2), writer.toObject(), "batch size "+batchSize);
+		}
+	}
+	
+	@Test
+	public void testErrors() {
+		String broken = largeDocument().replace("\"id\": 400,", "\"id\": 400 :");
+		Exception direct = Assertions.assertThrows(Exception.class, () -> new JsonReader(broken, JsonReaderOptions.UNSPECIFIED).transferTo(new JsonWriter(new StringWriter())));
+		Exception pipelined = Assertions.assertThrows(Exception.class, () -> PipelinedTransfer.transfer(new JsonReader(broken, JsonReaderOptions.UNSPECIFIED), new JsonWriter(new StringWriter()), 16, 2, THREADS));
+		Assertions.assertEquals(direct.getClass(), pipelined.getClass());
+		Assertions.assertEquals(direct.getMessage(), pipelined.getMessage());
+		
+		// A writer which fails stops the reader, and its exception is the one reported
+		Assertions.assertThrows(IOException.class, () -> PipelinedTransfer.transfer(new JsonReader(largeDocument(), JsonReaderOptions.UNSPECIFIED), data -> {
+			if (data.type() == StructuredData.Type.OBJECT_KEY && "tags".equals(data.value())) throw new IOException("Writer failed");
+		}, 8, 2, THREADS));
+	}
+	
+	@Test
+	public void testWriterFailsWhileReaderIsBlocked() throws Exception {
+		// The source never ends, so the reader blocks partway through its first batch
+		PipedWriter source = new PipedWriter();
+		PipedReader pipe = new PipedReader(source);
+		source.write("[ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11");
+		source.flush();
+		
+		Throwable[] thrown = new Throwable[1];
+		Thread caller = new Thread(() -> {
+			try {
+				PipelinedTransfer.transfer(new JsonReader(pipe), data -> {
+					throw new IOException("Writer failed");
+				}, 8, 2, THREADS);
+			} catch (Throwable t) {
+				thrown[0] = t;
+			}
+		});
+		caller.start();
+		caller.join(10_000L);
+		
+		Assertions.assertFalse(caller.isAlive(), "Transfer did not return after the writer failed");
+		Assertions.assertTrue(thrown[0] instanceof IOException, String.valueOf(thrown[0]));
+		Assertions.assertEquals("Writer failed", thrown[0].getMessage());
+		source.close();
+	}
+}
@@ -32,6 +32,7 @@ import org.junit.jupiter.api.Test;
 
 import blue.endless.jankson.api.SyntaxError;
 import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.StringPool;
 import blue.endless.jankson.impl.io.context.StringValueParser;
 
 public class TestStringValueParser {
@@ -183,4 +184,62 @@ public class TestStringValueParser {
 		Assertions.assertTrue(parser.canRead(r));
 		Assertions.assertThrows(SyntaxError.class, ()->parser.read(r));
 	}
+	
+	@Test
+	public void testLongerThanWindow() throws IOException, SyntaxError {
+		String body = "The quick brown fox \ud83e\udd8a jumps over the lazy dog. ".repeat(20);
+		
+		// The default reader only holds a handful of code points, so the literal has to be stitched together
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("\""+body+"\" trailing"));
+		Assertions.assertEquals(body, StringValueParser.readStatic(r));
+		Assertions.assertEquals(' ', r.read());
+		
+		r = new LookaheadCodePointReader(new StringReader("'"+body+"\\t"+body+"' trailing"), 16, 64);
+		Assertions.assertEquals(body+"\t"+body, StringValueParser.readStatic(r));
+		Assertions.assertEquals(' ', r.read());
+	}
+	
+	@Test
+	public void testOnlyWholeKeysArePooled() throws IOException, SyntaxError {
+		StringPool pool = new StringPool(1024);
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("\"front\\tback\" \"plain\""));
+		r.setStringPool(pool);
+		
+		String escaped = StringValueParser.readKeyStatic(r);
+		Assertions.assertEquals("front\tback", escaped);
+		Assertions.assertSame(escaped, pool.intern(new String("front\tback")));
+		
+		// The pieces on either side of the escape never make it into the pool
+		String front = new String("front");
+		Assertions.assertSame(front, pool.intern(front));
+		String back = new String("back");
+		Assertions.assertSame(back, pool.intern(back));
+		
+		r.read();
+		String plain = StringValueParser.readKeyStatic(r);
+		Assertions.assertSame(plain, pool.intern(new String("plain")));
+	}
+	
+	@Test
+	public void testOnlyWholeStrictKeysArePooled() throws IOException, SyntaxError {
+		StringPool pool = new StringPool(1024);
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("\"front\\u0041back\""));
+		r.setStringPool(pool);
+		
+		String escaped = StringValueParser.readStrictStatic(r, true);
+		Assertions.assertEquals("frontAback", escaped);
+		Assertions.assertSame(escaped, pool.intern(new String("frontAback")));
+		
+		String front = new String("front");
+		Assertions.assertSame(front, pool.intern(front));
+	}
+	
+	@Test
+	public void testUnmatchedQuote() throws IOException, SyntaxError {
+		LookaheadCodePointReader r = new LookaheadCodePointReader(new StringReader("\"stuff\\\"")); // "stuff\"
+		StringValueParser parser = new StringValueParser();
+		
+		Assertions.assertTrue(parser.canRead(r));
+		Assertions.assertThrows(SyntaxError.class, ()->parser.read(r));
+	}
 }
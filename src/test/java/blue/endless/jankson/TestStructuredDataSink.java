@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.Jankson;
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.document.ObjectElement;
+import blue.endless.jankson.api.document.PrimitiveElement;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataSink;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.json.JsonWriter;
+import blue.endless.jankson.api.io.json.JsonWriterOptions;
+
+public class TestStructuredDataSink {
+	private static final String DOCUMENT = "{ \"a\": 12345678, \"b\": [ 1.5, true, null, \"text\" ], /* note */ \"c\": { \"d\": -3 } }";
+	
+	/**
+	 * Records each call as a short token, and fails if any scalar value arrives as StructuredData.
+	 */
+	private static class RecordingSink implements StructuredDataSink {
+		private final StringBuilder log = new StringBuilder();
+		
+		@Override
+		public void write(StructuredData data) throws SyntaxError, IOException {
+			if (data.isPrimitive()) Assertions.fail("Scalar value was sent as StructuredData: "+data);
+			StructuredDataSink.super.write(data);
+		}
+		
+		@Override public void startObject() { log.append("{ "); }
+		@Override public void endObject() { log.append("} "); }
+		@Override public void startArray() { log.append("[ "); }
+		@Override public void endArray() { log.append("] "); }
+		@Override public void objectKey(CharSequence key) { log.append("key:").append(key).append(' '); }
+		@Override public void writeString(CharSequence value) { log.append("string:").append(value).append(' '); }
+		@Override public void writeLong(long value) { log.append("long:").append(value).append(' '); }
+		@Override public void writeDouble(double value) { log.append("double:").append(value).append(' '); }
+		@Override public void writeBoolean(boolean value) { log.append("boolean:").append(value).append(' '); }
+		@Override public void writeNull() { log.append("null "); }
+	}
+	
+	@Test
+	public void testTypedCallbacks() throws IOException, SyntaxError {
+		RecordingSink sink = new RecordingSink();
+		new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED).transferTo(sink);
+		
+		Assertions.assertEquals(
+				"{ key:a long:12345678 key:b [ double:1.5 boolean:true null string:text ] key:c { key:d long:-3 } } ",
+				sink.log.toString());
+	}
+	
+	@Test
+	public void testStrictTypedCallbacks() throws IOException, SyntaxError {
+		RecordingSink sink = new RecordingSink();
+		new JsonReader(DOCUMENT.replace("/* note */", ""), JsonReaderOptions.builder().setStrict(true).build()).transferTo(sink);
+		
+		Assertions.assertEquals(
+				"{ key:a long:12345678 key:b [ double:1.5 boolean:true null string:text ] key:c { key:d long:-3 } } ",
+				sink.log.toString());
+	}
+	
+	@Test
+	public void testTranscoding() throws IOException, SyntaxError {
+		// The same document written through the sink methods, and one StructuredData at a time
+		StringWriter direct = new StringWriter();
+		new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED).transferTo(new JsonWriter(direct, JsonWriterOptions.STRICT));
+		
+		StringWriter events = new StringWriter();
+		JsonWriter eventWriter = new JsonWriter(events, JsonWriterOptions.STRICT);
+		new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED).transferTo(eventWriter::write);
+		
+		Assertions.assertEquals(events.toString(), direct.toString());
+	}
+	
+	@Test
+	public void testValueElementWriter() throws IOException, SyntaxError {
+		ValueElementWriter writer = new ValueElementWriter();
+		writer.startObject();
+		writer.objectKey("a");
+		writer.writeLong(1L);
+		writer.objectKey("b");
+		writer.startArray();
+		writer.writeDouble(2.5);
+		writer.writeString("three");
+		writer.endArray();
+		writer.endObject();
+		writer.endOfInput();
+		
+		Assertions.assertTrue(writer.isComplete());
+		Assertions.assertEquals(Jankson.readJson("{ \"a\": 1, \"b\": [ 2.5, \"three\" ] }").toString(), writer.getResult().toString());
+		Assertions.assertEquals(PrimitiveElement.of(1L), ((ObjectElement) writer.getResult()).get("a"));
+		
+		// Formatting lists are created on demand, and an empty one is the same as none at all
+		PrimitiveElement touched = PrimitiveElement.of(1L);
+		touched.getPrologue();
+		Assertions.assertEquals(PrimitiveElement.of(1L), touched);
+		Assertions.assertEquals(touched, PrimitiveElement.of(1L));
+	}
+	
+	@Test
+	public void testAdapter() throws IOException, SyntaxError {
+		ValueElementWriter target = new ValueElementWriter();
+		StructuredDataSink adapted = StructuredDataSink.of(target::write);
+		adapted.startArray();
+		adapted.writeValue(Integer.valueOf(7));
+		adapted.writeValue('x');
+		adapted.endArray();
+		adapted.endOfInput();
+		
+		Assertions.assertEquals(Jankson.readJson("[ 7, \"x\" ]").toString(), target.getResult().toString());
+		Assertions.assertEquals(7L, StructuredData.primitive(Integer.valueOf(7)).value());
+		Assertions.assertEquals(StructuredData.NULL, StructuredData.primitive((Object) null));
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package blue.endless.jankson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.api.Jankson;
+import blue.endless.jankson.api.SyntaxError;
+import blue.endless.jankson.api.io.StructuredData;
+import blue.endless.jankson.api.io.StructuredDataTape;
+import blue.endless.jankson.api.io.ValueElementReader;
+import blue.endless.jankson.api.io.ValueElementWriter;
+import blue.endless.jankson.api.io.json.JsonReader;
+import blue.endless.jankson.api.io.json.JsonReaderOptions;
+import blue.endless.jankson.api.io.json.JsonWriter;
+import blue.endless.jankson.api.io.json.JsonWriterOptions;
+
+public class TestStructuredDataTape {
+	private static final String DOCUMENT = "{ \"a\": 12345678, \"b\": [ 1.5, true, null, \"text\" ], /* note */ \"c\": { \"d\": -3 } }";
+	
+	private static String toJson(StructuredDataTape tape) throws IOException, SyntaxError {
+		StringWriter out = new StringWriter();
+		tape.replay(new JsonWriter(out, JsonWriterOptions.STRICT));
+		return out.toString();
+	}
+	
+	@Test
+	public void testReplay() throws IOException, SyntaxError {
+		StringWriter direct = new StringWriter();
+		new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED).transferTo(new JsonWriter(direct, JsonWriterOptions.STRICT));
+		
+		StructuredDataTape tape = StructuredDataTape.of(new JsonReader(DOCUMENT, JsonReaderOptions.UNSPECIFIED));
+		Assertions.assertEquals(direct.toString(), toJson(tape));
+		// A tape can be replayed any number of times
+		Assertions.assertEquals(direct.toString(), toJson(tape));
+		
+		// Replaying one event at a time gives the same result as the typed methods
+		StringWriter events = new StringWriter();
+		JsonWriter eventWriter = new JsonWriter(events, JsonWriterOptions.STRICT);
+		tape.replay(eventWriter::write);
+		Assertions.assertEquals(direct.toString(), events.toString());
+		
+		ValueElementWriter elementWriter = new ValueElementWriter();
+		tape.replay(elementWriter);
+		Assertions.assertEquals(Jankson.readJson(DOCUMENT).toString(), elementWriter.getResult().toString());
+		
+		// Converting from any reader
+		StringWriter fromElements = new StringWriter();
+		ValueElementReader.of(elementWriter.getResult()).transferTo(new JsonWriter(fromElements, JsonWriterOptions.STRICT));
+		StructuredDataTape copy = StructuredDataTape.of(ValueElementReader.of(elementWriter.getResult()));
+		Assertions.assertEquals(fromElements.toString(), toJson(copy));
+	}
+	
+	@Test
+	public void testBigNumbers() throws IOException, SyntaxError {
+		String subject = "[ 123456789012345678901234567890, 1.5e400 ]";
+		StructuredDataTape tape = StructuredDataTape.of(new JsonReader(subject, JsonReaderOptions.UNSPECIFIED));
+		Assertions.assertEquals("[123456789012345678901234567890,1.5E+400]", toJson(tape).replaceAll("\\s", ""));
+		
+		// Binary tapes keep them as numbers too
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		tape.writeTo(new DataOutputStream(bytes));
+		StructuredDataTape copy = StructuredDataTape.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+		Assertions.assertEquals(toJson(tape), toJson(copy));
+	}
+	
+	@Test
+	public void testRandomAccess() throws IOException, SyntaxError {
+		StructuredDataTape tape = new StructuredDataTape(4);
+		tape.startObject();        // 0
+		tape.objectKey("list");    // 1
+		tape.startArray();         // 2
+		tape.writeLong(-1L);       // 3
+		tape.writeDouble(0.25);    // 4
+		tape.writeBoolean(false);  // 5
+		tape.endArray();           // 6
+		tape.objectKey("name");    // 7
+		tape.writeString("tape");  // 8
+		tape.endObject();          // 9
+		tape.endOfInput();         // 10
+		
+		Assertions.assertEquals(11, tape.size());
+		Assertions.assertEquals(9, tape.endOf(0));
+		Assertions.assertEquals(6, tape.endOf(2));
+		Assertions.assertEquals(3, tape.endOf(3));
+		Assertions.assertEquals(StructuredData.Type.PRIMITIVE, tape.type(4));
+		Assertions.assertEquals(0.25, tape.get(4).value());
+		Assertions.assertEquals(-1L, tape.get(3).value());
+		Assertions.assertEquals(false, tape.get(5).value());
+		Assertions.assertEquals(StructuredData.objectKey("name"), tape.get(7));
+		Assertions.assertEquals("tape", tape.get(8).value());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tape.get(11));
+		
+		StructuredDataTape.TapeReader reader = tape.reader().seek(1);
+		Assertions.assertEquals(StructuredData.objectKey("list"), reader.next());
+		reader.skipValue();
+		Assertions.assertEquals(7, reader.position());
+		Assertions.assertEquals(StructuredData.objectKey("name"), reader.next());
+		Assertions.assertEquals("tape", reader.next().value());
+		Assertions.assertEquals(StructuredData.OBJECT_END, reader.next());
+		Assertions.assertFalse(reader.hasNext());
+		Assertions.assertEquals(StructuredData.EOF, reader.next());
+		
+		// Replaying part of a tape
+		StringWriter out = new StringWriter();
+		tape.replay(new JsonWriter(out, JsonWriterOptions.STRICT), 2, 7);
+		Assertions.assertEquals("[-1,0.25,false]", out.toString().replaceAll("\\s", ""));
+		
+		tape.clear();
+		Assertions.assertEquals(0, tape.size());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-2025 Falkreon (Isaac Ellingson)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package blue.endless.jankson;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import blue.endless.jankson.impl.io.LookaheadCodePointReader;
+import blue.endless.jankson.impl.io.context.ValueLexer;
+import blue.endless.jankson.impl.io.context.ValueLexer.Token;
+
+public class TestValueLexer {
+	
+	private static Token classify(String s, boolean dates) throws IOException {
+		return ValueLexer.classify(new LookaheadCodePointReader(new StringReader(s)), dates);
+	}
+	
+	@Test
+	public void testJsonTokens() throws IOException {
+		Assertions.assertEquals(Token.OBJECT_START, classify("{ }", false));
+		Assertions.assertEquals(Token.ARRAY_START, classify("[ ]", false));
+		Assertions.assertEquals(Token.STRING, classify("\"a\"", false));
+		Assertions.assertEquals(Token.STRING, classify("'a'", false));
+		Assertions.assertEquals(Token.TRIPLE_QUOTED_STRING, classify("\"\"\"a\"\"\"", false));
+		Assertions.assertEquals(Token.NUMBER, classify("-12", false));
+		Assertions.assertEquals(Token.NUMBER, classify(".5", false));
+		Assertions.assertEquals(Token.NUMBER, classify("Infinity", false));
+		Assertions.assertEquals(Token.NUMBER, classify("NaN", false));
+		Assertions.assertEquals(Token.NUMBER, classify("nan", false));
+		Assertions.assertEquals(Token.BOOLEAN, classify("true", false));
+		Assertions.assertEquals(Token.BOOLEAN, classify("false", false));
+		Assertions.assertEquals(Token.NULL, classify("null,", false));
+		Assertions.assertEquals(Token.COMMENT, classify("// hi", false));
+		Assertions.assertEquals(Token.COMMENT, classify("# hi", false));
+		Assertions.assertEquals(Token.NEWLINE, classify("\n", false));
+		Assertions.assertEquals(Token.EOF, classify("", false));
+	}
+	
+	@Test
+	public void testNearMisses() throws IOException {
+		Assertions.assertEquals(Token.UNKNOWN, classify("nullable", false));
+		Assertions.assertEquals(Token.UNKNOWN, classify("tru", false));
+		Assertions.assertEquals(Token.UNKNOWN, classify("/ 2", false));
+		Assertions.assertEquals(Token.UNKNOWN, classify("stuff", false));
+		Assertions.assertEquals(Token.UNKNOWN, classify("é", false));
+	}
+	
+	@Test
+	public void testDates() throws IOException {
+		Assertions.assertEquals(Token.DATE, classify("1979-05-27T07:32:00Z", true));
+		Assertions.assertEquals(Token.DATE, classify("07:32:00", true));
+		Assertions.assertEquals(Token.NUMBER, classify("1979-05-27", false));
+		Assertions.assertEquals(Token.NUMBER, classify("1979", true));
+	}
+}